@@ -0,0 +1,124 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.RestaurantRatingAggregate;
+import com.foodcritic.model.City;
+import com.foodcritic.model.Restaurant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog search filters: the entity-stream path searchCityRestaurants used
+ * to take against the column store's bitmap indexes and columns, over the
+ * same synthetic city. Run with {@code mvn -P benchmarks test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestaurantFilterBenchmark {
+
+    private static final String[] CUISINES = {
+        "Mexican", "Italian", "Japanese", "Thai", "American", "Seafood", "Vietnamese", "Indian", "Mediterranean", "Korean"
+    };
+
+    private static final String[] NEIGHBORHOODS = {
+        "Downtown", "La Jolla", "Gaslamp", "Pacific Beach", "Hillcrest", "North Park", "Mission Valley"
+    };
+
+    @Param({"1000", "10000", "100000"})
+    private int restaurants;
+
+    // "cuisine" is the common single-filter search; "combined" adds price and rating
+    @Param({"cuisine", "combined"})
+    private String query;
+
+    private List<Restaurant> entities;
+    private Map<String, RestaurantRatingAggregate> aggregates;
+    private RestaurantColumnStore.Columns columns;
+    private RestaurantColumnStore.Filter filter;
+    private int[] matches;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        entities = new ArrayList<>(restaurants);
+        aggregates = new HashMap<>();
+        for (int i = 0; i < restaurants; i++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + i, CUISINES[random.nextInt(CUISINES.length)], "San Diego");
+            restaurant.setId("place-" + i);
+            restaurant.setAddress(random.nextInt(9000) + " Main St, " + NEIGHBORHOODS[random.nextInt(NEIGHBORHOODS.length)] + ", San Diego, CA");
+            restaurant.setPriceLevel(random.nextInt(5) == 0 ? null : 1 + random.nextInt(4));
+            restaurant.setLatitude(32.6 + random.nextDouble() * 0.4);
+            restaurant.setLongitude(-117.3 + random.nextDouble() * 0.3);
+            entities.add(restaurant);
+            long reviews = random.nextInt(50);
+            aggregates.put(restaurant.getId(), new RestaurantRatingAggregate(restaurant.getId(), reviews,
+                    reviews * (1 + random.nextInt(5))));
+        }
+        City city = new City("san-diego", "San Diego", "America/Los_Angeles",
+                List.of(new double[] {32.5, -117.4}, new double[] {33.1, -117.4}, new double[] {33.1, -116.9}, new double[] {32.5, -116.9}),
+                List.of(NEIGHBORHOODS));
+        columns = RestaurantColumnStore.Columns.build(new ArrayList<>(entities), this::aggregate, city::neighborhoodOf);
+        filter = "combined".equals(query)
+                ? new RestaurantColumnStore.Filter(null, "thai", null, null, 2, 3.5, null, null, null)
+                : new RestaurantColumnStore.Filter(null, "thai", null, null, null, null, null, null, null);
+        matches = new int[columns.size()];
+    }
+
+    @Benchmark
+    public List<Restaurant> entityStream() {
+        String cuisine = filter.cuisine().toLowerCase();
+        List<Restaurant> result = entities.stream()
+                .filter(r -> r.getCuisine() != null && r.getCuisine().toLowerCase().contains(cuisine))
+                .toList();
+        if (filter.priceLevel() != null) {
+            result = result.stream()
+                    .filter(r -> filter.priceLevel().equals(r.getPriceLevel()))
+                    .toList();
+        }
+        if (filter.minRating() != null) {
+            result = result.stream()
+                    .filter(r -> aggregate(r.getId()).getAverageRating() >= filter.minRating())
+                    .toList();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int columnScan() {
+        return columns.filter(filter, null, matches);
+    }
+
+    @Benchmark
+    public List<Restaurant> columnScanMaterialized() {
+        int count = columns.filter(filter, null, matches);
+        List<Restaurant> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(columns.restaurant(matches[i]));
+        }
+        return result;
+    }
+
+    private RestaurantRatingAggregate aggregate(String restaurantId) {
+        RestaurantRatingAggregate aggregate = aggregates.get(restaurantId);
+        return aggregate != null ? aggregate : RestaurantRatingAggregate.empty(restaurantId);
+    }
+}
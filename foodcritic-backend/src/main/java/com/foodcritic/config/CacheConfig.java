@@ -0,0 +1,10 @@
+package com.foodcritic.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache manager and specs come from spring.cache.* in application.yml
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
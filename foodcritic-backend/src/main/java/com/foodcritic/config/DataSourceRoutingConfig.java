@@ -0,0 +1,99 @@
+package com.foodcritic.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Primary/replica routing, enabled with app.datasource.routing.enabled=true.
+ *
+ * Writes and read-write transactions use the primary from spring.datasource.
+ * Read-only transactions (@Transactional(readOnly = true), and Spring Data
+ * repository reads outside a transaction) go to a replica from
+ * app.datasource.replica-urls, unless the user wrote recently and no replica
+ * has caught up yet.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${app.datasource.replica-urls}")
+    private String[] replicaUrls;
+
+    @Value("${app.datasource.replica-username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica-password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica-max-lag-ms:5000}")
+    private long maxLagMs;
+
+    @Value("${app.datasource.read-your-writes-window-ms:30000}")
+    private long readYourWritesWindowMs;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public Map<String, DataSource> replicaDataSources(DataSourceProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(replicaUrls[i].trim())
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.put("replica-" + i, replica);
+        }
+        return replicas;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(Map<String, DataSource> replicaDataSources) {
+        return new ReplicaLagMonitor(replicaDataSources, Duration.ofMillis(maxLagMs));
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(HikariDataSource primaryDataSource) {
+        return new ReadYourWritesTracker(primaryDataSource, Duration.ofMillis(readYourWritesWindowMs));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, Map<String, DataSource> replicaDataSources,
+                                 ReplicaLagMonitor replicaLagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        Map<Object, Object> targets = new HashMap<>(replicaDataSources);
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaLagMonitor, readYourWritesTracker);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        // Defers fetching a physical connection until the first statement, when the read-only flag is set
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
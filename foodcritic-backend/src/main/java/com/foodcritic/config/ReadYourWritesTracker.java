@@ -0,0 +1,69 @@
+package com.foodcritic.config;
+
+import com.foodcritic.event.ReviewEvent;
+import com.foodcritic.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Remembers the primary's WAL position after each user's last committed
+ * write, so their own reads are only routed to replicas that have replayed
+ * at least that far.
+ */
+public class ReadYourWritesTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadYourWritesTracker.class);
+
+    // Taken after commit, so it is at or past the commit record of the write
+    private static final String CURRENT_LSN = "SELECT (pg_current_wal_lsn() - '0/0'::pg_lsn)::bigint";
+
+    private final JdbcTemplate primary;
+    private final Cache<Long, Long> lastWrites;
+
+    public ReadYourWritesTracker(DataSource primaryDataSource, Duration window) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.lastWrites = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @TransactionalEventListener
+    public void onReviewCommitted(ReviewEvent event) {
+        recordWrite(event.getUserId());
+    }
+
+    public void recordWrite(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        try {
+            lastWrites.put(userId, primary.queryForObject(CURRENT_LSN, Long.class));
+        } catch (Exception e) {
+            // Without a position no replica can be proven current; pin the user to the primary
+            logger.warn("Could not read the primary's WAL position for user {}: {}", userId, e.getMessage());
+            lastWrites.put(userId, Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * WAL position a replica must have replayed to serve the current user,
+     * or null when they have not written within the window.
+     */
+    public Long lastWriteOfCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return lastWrites.getIfPresent(user.getId());
+        }
+        return null;
+    }
+}
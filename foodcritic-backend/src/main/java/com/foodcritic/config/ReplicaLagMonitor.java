@@ -0,0 +1,90 @@
+package com.foodcritic.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls each replica for its replay lag and the WAL position it has
+ * replayed up to. Replicas that fail the check or fall too far behind are
+ * taken out of rotation until they recover; read-your-writes routing
+ * compares the replayed position with the user's last write on the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Lag is zero when the replica has replayed everything it received (an idle primary otherwise
+    // looks "late"); it says nothing about WAL not yet received, which the replayed position covers
+    private static final String LAG_QUERY =
+            "SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END, 0) AS lag_seconds, " +
+            "(pg_last_wal_replay_lsn() - '0/0'::pg_lsn)::bigint AS replayed_lsn";
+
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final Duration maxLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    // Replayed WAL position of each healthy replica as of the last check
+    private volatile Map<String, Long> replayedUpTo = Map.of();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicaDataSources, Duration maxLag) {
+        replicaDataSources.forEach((key, dataSource) -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout(2);
+            replicas.put(key, jdbcTemplate);
+        });
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica-lag-check-ms:1000}")
+    public void checkLag() {
+        Map<String, Long> healthy = new LinkedHashMap<>();
+        replicas.forEach((key, jdbcTemplate) -> {
+            try {
+                jdbcTemplate.query(LAG_QUERY, rs -> {
+                    Duration lag = Duration.ofMillis(Math.round(rs.getDouble("lag_seconds") * 1000));
+                    long replayed = rs.getLong("replayed_lsn");
+                    if (rs.wasNull()) {
+                        logger.warn("Replica {} is not in recovery, leaving it out of rotation", key);
+                    } else if (lag.compareTo(maxLag) <= 0) {
+                        healthy.put(key, replayed);
+                    } else {
+                        logger.warn("Replica {} is {} ms behind, routing reads to other nodes", key, lag.toMillis());
+                    }
+                });
+            } catch (Exception e) {
+                logger.warn("Replica {} failed its lag check: {}", key, e.getMessage());
+            }
+        });
+        replayedUpTo = healthy;
+    }
+
+    /**
+     * Round-robins over healthy replicas that have replayed at least up to
+     * the given WAL position. Returns null when none qualifies and the
+     * primary must serve.
+     */
+    public String pickReplica(Long mustReachLsn) {
+        Map<String, Long> current = replayedUpTo;
+        List<String> candidates = new ArrayList<>(current.size());
+        current.forEach((key, replayed) -> {
+            if (mustReachLsn == null || replayed >= mustReachLsn) {
+                candidates.add(key);
+            }
+        });
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+}
@@ -2,6 +2,7 @@ package com.foodcritic.config;
 
 import com.foodcritic.security.JwtAuthenticationEntryPoint;
 import com.foodcritic.security.JwtRequestFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,6 +50,10 @@ public class SecurityConfig {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
+                // Streamed responses are authorized on the original request; the async re-dispatch
+                // that writes them (and any error dispatch) runs without the JWT filter
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/uploads/**").permitAll()
@@ -57,6 +62,7 @@ public class SecurityConfig {
                 
                 // Public GET endpoints - allow everyone to view restaurants and reviews
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/restaurants/**").permitAll()
+                .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/restaurants/batch").permitAll()
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/reviews/**").permitAll()
                 
                 // Google Places API endpoints - public access for searching
@@ -1,7 +1,9 @@
 package com.foodcritic.config;
 
+import com.foodcritic.timing.TimingCallableInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -21,4 +23,10 @@ public class WebConfig implements WebMvcConfigurer {
             .addResourceLocations("file:" + uploadPath + "/")
             .setCachePeriod(3600); // Cache for 1 hour
     }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Streaming responses run their queries off the request thread; keep them in the request's Server-Timing
+        configurer.registerCallableInterceptors(new TimingCallableInterceptor());
+    }
 }
\ No newline at end of file
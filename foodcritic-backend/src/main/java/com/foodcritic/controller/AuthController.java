@@ -2,76 +2,128 @@ package com.foodcritic.controller;
 
 import com.foodcritic.dto.AuthRequest;
 import com.foodcritic.dto.AuthResponse;
+import com.foodcritic.dto.AvailabilityResponse;
 import com.foodcritic.dto.RegisterRequest;
 import com.foodcritic.model.User;
 import com.foodcritic.security.JwtTokenUtil;
+import com.foodcritic.security.PasswordHashingService;
+import com.foodcritic.service.UserAvailabilityService;
 import com.foodcritic.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin
 public class AuthController {
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserAvailabilityService userAvailabilityService;
+
+    private final AccountStatusUserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+
+    // One user lookup, then BCrypt on the hashing pool; the servlet thread is released while it runs
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody AuthRequest authRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody AuthRequest authRequest) {
+        User user = userService.findByUsername(authRequest.getUsername()).orElse(null);
+
+        CompletableFuture<Boolean> matches;
         try {
-            authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                    authRequest.getUsername(), 
-                    authRequest.getPassword())
-            );
-        } catch (BadCredentialsException e) {
-            throw new RuntimeException("Invalid credentials", e);
+            matches = passwordHashingService.matches(authRequest.getPassword(), user != null ? user.getPassword() : null);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(overloaded());
         }
 
-        final UserDetails userDetails = userService.loadUserByUsername(authRequest.getUsername());
-        final String token = jwtTokenUtil.generateToken(userDetails);
-        
-        User user = userService.findByUsername(authRequest.getUsername()).get();
+        return matches.handle((valid, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                if (cause instanceof RejectedExecutionException) {
+                    return overloaded();
+                }
+                throw new RuntimeException("Login failed", cause);
+            }
+            if (!valid) {
+                throw new RuntimeException("Invalid credentials");
+            }
+            accountStatusChecker.check(user);
 
-        return ResponseEntity.ok(new AuthResponse(token, user.getUsername(), user.getEmail(), user.getId()));
+            final String token = jwtTokenUtil.generateToken(user);
+            return ResponseEntity.ok(new AuthResponse(token, user.getUsername(), user.getEmail(), user.getId()));
+        });
     }
 
+    // Like login, the password is hashed on the hashing pool rather than on the servlet thread
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest registerRequest) {
+        User.Role role;
         try {
             // Default to USER role if not specified
-            User.Role role = (registerRequest.getRole() != null) ? 
+            role = (registerRequest.getRole() != null) ? 
                 User.Role.valueOf(registerRequest.getRole().toUpperCase()) : 
                 User.Role.USER;
-                
-            User user = userService.createUser(
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Invalid role specified"));
+        }
+
+        CompletableFuture<User> created;
+        try {
+            created = userService.createUser(
                 registerRequest.getUsername(),
                 registerRequest.getEmail(),
                 registerRequest.getPassword(),
                 role
             );
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(overloaded());
+        }
 
-            final UserDetails userDetails = userService.loadUserByUsername(user.getUsername());
-            final String token = jwtTokenUtil.generateToken(userDetails);
+        return created.handle((user, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                if (cause instanceof RejectedExecutionException) {
+                    return overloaded();
+                }
+                return ResponseEntity.badRequest().body(cause.getMessage());
+            }
+
+            final String token = jwtTokenUtil.generateToken(user);
 
             return ResponseEntity.ok(new AuthResponse(token, user.getUsername(), user.getEmail(), user.getId()));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body("Invalid role specified");
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
-        }
+        });
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        return ResponseEntity.ok(userAvailabilityService.check(username, email));
+    }
+
+    private static ResponseEntity<?> overloaded() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Too many login or registration attempts in progress, please retry");
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 }
\ No newline at end of file
@@ -2,9 +2,13 @@ package com.foodcritic.controller;
 
 import com.foodcritic.model.Review;
 import com.foodcritic.service.ReviewService;
+import com.foodcritic.service.ReviewStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,6 +20,9 @@ public class GlobalReviewController {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private ReviewStreamService reviewStreamService;
+
     @GetMapping("/recent")
     public ResponseEntity<List<Review>> getRecentReviews(
             @RequestParam(defaultValue = "50") int limit) {
@@ -24,4 +31,16 @@ public class GlobalReviewController {
         List<Review> recentReviews = reviewService.getRecentReviews(limit);
         return ResponseEntity.ok(recentReviews);
     }
-}
\ No newline at end of file
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamReviews(
+            @RequestParam(required = false) String restaurantId) {
+        
+        // Pushes created/updated/deleted reviews as they commit; optionally scoped to one restaurant
+        try {
+            return ResponseEntity.ok(reviewStreamService.subscribe(restaurantId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
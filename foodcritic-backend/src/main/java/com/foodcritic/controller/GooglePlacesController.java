@@ -5,13 +5,16 @@ import com.foodcritic.dto.GooglePlacesSearchRequest;
 import com.foodcritic.dto.GooglePlacesSearchResponse;
 import com.foodcritic.dto.GooglePlacesSuggestionsRequest;
 import com.foodcritic.dto.GooglePlacesSuggestionsResponse;
+import com.foodcritic.dto.PlaceDetailsBatchRequest;
 import com.foodcritic.service.GooglePlacesService;
+import com.foodcritic.service.PlaceDetailsBatchService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/google-places")
@@ -23,6 +26,9 @@ public class GooglePlacesController {
     @Autowired
     private GooglePlacesService googlePlacesService;
 
+    @Autowired
+    private PlaceDetailsBatchService placeDetailsBatchService;
+
     @PostMapping("/search")
     public ResponseEntity<GooglePlacesSearchResponse> searchRestaurants(
             @Valid @RequestBody GooglePlacesSearchRequest request) {
@@ -70,6 +76,24 @@ public class GooglePlacesController {
         }
     }
 
+    @PostMapping("/details/batch")
+    public Mono<ResponseEntity<?>> getRestaurantDetailsBatch(
+            @Valid @RequestBody PlaceDetailsBatchRequest request) {
+        
+        if (request.getPlaceIds().size() > placeDetailsBatchService.getMaxIds()) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body("At most " + placeDetailsBatchService.getMaxIds() + " place ids per request"));
+        }
+        
+        // Spring MVC finishes the request asynchronously when the Mono completes
+        return Mono.defer(() -> placeDetailsBatchService.getDetails(request.getPlaceIds()))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    logger.error("Error getting batch restaurant details for {} place ids", request.getPlaceIds().size(), e);
+                    return Mono.just(ResponseEntity.internalServerError().body("Internal server error"));
+                });
+    }
+
     @GetMapping("/photo")
     public ResponseEntity<?> getPhoto(
             @RequestParam String photoReference,
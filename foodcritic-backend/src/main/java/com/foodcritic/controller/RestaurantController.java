@@ -1,63 +1,196 @@
 package com.foodcritic.controller;
 
-import com.foodcritic.model.Restaurant;
-import com.foodcritic.model.Review;
-import com.foodcritic.model.User;
+import com.foodcritic.dto.LeaderboardEntry;
+import com.foodcritic.dto.RestaurantBatchRequest;
+import com.foodcritic.dto.RestaurantFacets;
+import com.foodcritic.dto.RestaurantPage;
+import com.foodcritic.dto.RestaurantRecommendation;
+import com.foodcritic.dto.RestaurantSearchResponse;
+import com.foodcritic.dto.RestaurantSummary;
+import com.foodcritic.model.City;
+import com.foodcritic.service.CityRegistry;
+import com.foodcritic.service.LeaderboardService;
+import com.foodcritic.service.RecommendationService;
+import com.foodcritic.service.RestaurantService;
+import com.foodcritic.service.SimilarRestaurantIndex;
 
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.UUID;
-import java.util.Arrays;
-import java.util.ArrayList;
-import java.time.LocalDateTime;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/restaurants")
 @CrossOrigin
 public class RestaurantController {
-    
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 500;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CityRegistry cityRegistry;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private SimilarRestaurantIndex similarRestaurantIndex;
+
+    @GetMapping("/cities")
+    public ResponseEntity<List<City>> getCities() {
+        return ResponseEntity.ok(List.copyOf(cityRegistry.getCities()));
+    }
+
     @GetMapping
-    public ResponseEntity<List<Restaurant>> getAllRestaurants() {
-        // Return 5 fake restaurants for now
-        List<Restaurant> fakeRestaurants = Arrays.asList(
-            createFakeRestaurant("The Garden Bistro", "American", "Downtown", 4.2, 127),
-            createFakeRestaurant("Ocean View Seafood", "Seafood", "Harbor District", 4.6, 89),
-            createFakeRestaurant("Modern Kitchen", "Contemporary", "Arts Quarter", 4.4, 156),
-            createFakeRestaurant("Taco House", "Mexican", "Market Street", 4.3, 203),
-            createFakeRestaurant("Prime Cut Steakhouse", "Steakhouse", "Business District", 4.5, 98)
-        );
-        
-        return ResponseEntity.ok(fakeRestaurants);
-    }
-    
-    private Restaurant createFakeRestaurant(String name, String cuisine, String location, double rating, int reviewCount) {
-        Restaurant restaurant = new Restaurant();
-        restaurant.setId(UUID.randomUUID().toString());
-        restaurant.setName(name);
-        restaurant.setCuisine(cuisine);
-        restaurant.setAddress(location);
-        restaurant.setPriceLevel(2); // Default to moderate pricing
-        
-        // Create fake reviews to generate the rating
-        List<Review> fakeReviews = new ArrayList<>();
-        User fakeUser = new User();
-        fakeUser.setId(1L);
-        fakeUser.setUsername("foodlover");
-        
-        for (int i = 0; i < reviewCount; i++) {
-            Review review = new Review();
-            review.setId((long) i);
-            review.setUser(fakeUser);
-            review.setRestaurant(restaurant);
-            review.setRating((int) Math.round(rating)); // Convert to integer rating
-            review.setComment("Great food!");
-            review.setCreatedAt(LocalDateTime.now().minusDays(i));
-            fakeReviews.add(review);
+    public ResponseEntity<RestaurantPage> getAllRestaurants(
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(restaurantService.withOpenNow(
+                restaurantService.listCityRestaurants(cityId(city), Math.max(0, page), pageSize)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<RestaurantSearchResponse> searchRestaurants(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Integer priceLevel,
+            @RequestParam(required = false) Boolean openNow,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant openAt,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String sortBy) {
+
+        return ResponseEntity.ok(restaurantService.withOpenNow(restaurantService.searchCityRestaurantSummaries(
+                cityId(city), name, cuisine, location, priceLevel, openNow, openAt, minRating, sortBy)));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<RestaurantSummary>> getNearbyRestaurants(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "5") Double radiusKm) {
+
+        return ResponseEntity.ok(restaurantService.toSummaries(
+                restaurantService.searchNearby(latitude, longitude, radiusKm)));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<Map<String, Object>>> getAutocomplete(
+            @RequestParam(required = false) String city,
+            @RequestParam String input,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(restaurantService.suggestionsWithOpenNow(
+                restaurantService.getRestaurantAutocomplete(cityId(city), input, Math.max(1, Math.min(limit, 50)))));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRestaurants(@RequestParam(required = false) String city) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(restaurantService.streamCitySummaries(cityId(city)));
+    }
+
+    @GetMapping("/cuisines")
+    public ResponseEntity<List<String>> getCuisines(@RequestParam(required = false) String city) {
+        return ResponseEntity.ok(restaurantService.getCityCuisines(cityId(city)));
+    }
+
+    @GetMapping("/neighborhoods")
+    public ResponseEntity<List<String>> getNeighborhoods(@RequestParam(required = false) String city) {
+        return ResponseEntity.ok(restaurantService.getCityNeighborhoods(cityId(city)));
+    }
+
+    @GetMapping("/neighborhoods/{neighborhood}")
+    public ResponseEntity<List<RestaurantSummary>> getRestaurantsByNeighborhood(
+            @PathVariable String neighborhood,
+            @RequestParam(required = false) String city) {
+        return ResponseEntity.ok(restaurantService.toSummaries(restaurantService.searchByNeighborhood(cityId(city), neighborhood)));
+    }
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) String neighborhood,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(leaderboardService.getTop(cityId(city), cuisine, neighborhood, Math.max(1, limit)));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<RestaurantFacets> getFacets(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String neighborhood,
+            @RequestParam(required = false) Integer priceLevel,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Boolean openNow,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant openAt) {
+
+        return ResponseEntity.ok(restaurantService.getCityFacets(cityId(city), name, cuisine, location,
+                neighborhood, priceLevel, minRating, openNow, openAt));
+    }
+
+    // POST so hundreds of place ids don't run into URL length limits
+    @PostMapping("/batch")
+    public ResponseEntity<?> getRestaurantsBatch(@Valid @RequestBody RestaurantBatchRequest request) {
+        if (request.getIds().size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("At most " + MAX_BATCH_SIZE + " ids per request");
         }
-        
-        restaurant.setReviews(fakeReviews);
-        return restaurant;
+        return ResponseEntity.ok(restaurantService.getRestaurantSummaries(request.getIds()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RestaurantSummary> getRestaurant(@PathVariable String id) {
+        return restaurantService.getRestaurantSummary(id)
+                .map(restaurantService::withOpenNow)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // "People who liked this also liked"
+    @GetMapping("/{id}/recommendations")
+    public ResponseEntity<List<RestaurantRecommendation>> getRecommendations(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(recommendationService.getSimilar(id, Math.max(1, Math.min(limit, 50))));
+    }
+
+    // Same-city restaurants close in cuisine, price, rating and location
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<RestaurantRecommendation>> getSimilar(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "5") double maxDistanceKm,
+            @RequestParam(defaultValue = "false") boolean openNow) {
+
+        return ResponseEntity.ok(similarRestaurantIndex.findSimilar(id, Math.max(1, Math.min(limit, 50)),
+                Math.max(0.1, Math.min(maxDistanceKm, 50)), openNow));
+    }
+
+    // Missing city means the default one; an unknown id is a 404
+    private String cityId(String city) {
+        return cityRegistry.resolve(city).getId();
     }
-}
\ No newline at end of file
+}
@@ -2,15 +2,18 @@ package com.foodcritic.controller;
 
 import com.foodcritic.model.Review;
 import com.foodcritic.model.User;
+import com.foodcritic.service.HelpfulVoteService;
 import com.foodcritic.service.ReviewService;
 import com.foodcritic.dto.ReviewRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/restaurants/{restaurantId}/reviews")
@@ -20,10 +23,53 @@ public class ReviewController {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private HelpfulVoteService helpfulVoteService;
+
+    // sort=helpful orders by helpful votes, otherwise newest first
     @GetMapping
-    public ResponseEntity<List<Review>> getReviewsByRestaurant(@PathVariable String restaurantId) {
-        List<Review> reviews = reviewService.getReviewsByRestaurant(restaurantId);
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<StreamingResponseBody> getReviewsByRestaurant(
+            @PathVariable String restaurantId,
+            @RequestParam(defaultValue = "recent") String sort) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("helpful".equalsIgnoreCase(sort)
+                        ? reviewService.streamReviewsByRestaurantByHelpfulness(restaurantId)
+                        : reviewService.streamReviewsByRestaurant(restaurantId));
+    }
+
+    @GetMapping("/my-helpful-votes")
+    public ResponseEntity<Set<Long>> getMyHelpfulVotes(
+            @PathVariable String restaurantId,
+            Authentication authentication) {
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            return ResponseEntity.ok(Set.of());
+        }
+        return ResponseEntity.ok(helpfulVoteService.getVotedReviewIds(user.getId(), restaurantId));
+    }
+
+    // Votes are taken in memory and written in batches, hence 202; counts catch up within the flush interval
+    @PutMapping("/{reviewId}/helpful")
+    public ResponseEntity<Void> markHelpful(
+            @PathVariable String restaurantId,
+            @PathVariable Long reviewId,
+            Authentication authentication) {
+
+        User user = (User) authentication.getPrincipal();
+        helpfulVoteService.vote(reviewId, user.getId(), true);
+        return ResponseEntity.accepted().build();
+    }
+
+    @DeleteMapping("/{reviewId}/helpful")
+    public ResponseEntity<Void> unmarkHelpful(
+            @PathVariable String restaurantId,
+            @PathVariable Long reviewId,
+            Authentication authentication) {
+
+        User user = (User) authentication.getPrincipal();
+        helpfulVoteService.vote(reviewId, user.getId(), false);
+        return ResponseEntity.accepted().build();
     }
 
     @PostMapping
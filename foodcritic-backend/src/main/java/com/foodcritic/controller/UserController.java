@@ -1,14 +1,23 @@
 package com.foodcritic.controller;
 
-import com.foodcritic.model.Review;
+import com.foodcritic.dto.FeedPage;
+import com.foodcritic.dto.RestaurantRecommendation;
+import com.foodcritic.dto.UserStatsResponse;
 import com.foodcritic.model.User;
+import com.foodcritic.service.FeedService;
+import com.foodcritic.service.RecommendationService;
 import com.foodcritic.service.ReviewService;
 import com.foodcritic.service.UserService;
+import com.foodcritic.service.UserStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +31,15 @@ public class UserController {
     
     @Autowired
     private UserService userService;
+    
+    @Autowired
+    private UserStatsService userStatsService;
+    
+    @Autowired
+    private RecommendationService recommendationService;
+    
+    @Autowired
+    private FeedService feedService;
 
     @GetMapping("/profile")
     public ResponseEntity<User> getUserProfile(Authentication authentication) {
@@ -30,10 +48,61 @@ public class UserController {
     }
 
     @GetMapping("/my-reviews")
-    public ResponseEntity<List<Review>> getUserReviews(Authentication authentication) {
+    public ResponseEntity<StreamingResponseBody> getUserReviews(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(reviewService.streamReviewsByUser(user.getId()));
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<UserStatsResponse> getUserStats(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(userStatsService.getStats(user.getId()));
+    }
+    
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<RestaurantRecommendation>> getRecommendations(
+            Authentication authentication,
+            @RequestParam(defaultValue = "10") int limit) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(recommendationService.getForUser(user.getId(), Math.max(1, Math.min(limit, 50))));
+    }
+    
+    // Keyset pagination: pass the previous page's nextBefore / nextBeforeId to continue
+    @GetMapping("/feed")
+    public ResponseEntity<FeedPage> getFeed(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(feedService.getFeed(user.getId(), before, beforeId, Math.max(1, Math.min(size, 100))));
+    }
+    
+    // Ids of the users the caller follows, for follow buttons
+    @GetMapping("/following")
+    public ResponseEntity<List<Long>> getFollowing(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(feedService.getFollowing(user.getId()));
+    }
+    
+    @PostMapping("/{userId}/follow")
+    public ResponseEntity<?> follow(@PathVariable Long userId, Authentication authentication) {
+        try {
+            User user = (User) authentication.getPrincipal();
+            feedService.follow(user.getId(), userId);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @DeleteMapping("/{userId}/follow")
+    public ResponseEntity<?> unfollow(@PathVariable Long userId, Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        List<Review> reviews = reviewService.getReviewsByUser(user.getId());
-        return ResponseEntity.ok(reviews);
+        feedService.unfollow(user.getId(), userId);
+        return ResponseEntity.ok().build();
     }
     
     @PutMapping("/profile/photo")
@@ -0,0 +1,21 @@
+package com.foodcritic.dto;
+
+public class AvailabilityResponse {
+    
+    // Null when the value was not asked about
+    private Boolean usernameAvailable;
+    private Boolean emailAvailable;
+    
+    public AvailabilityResponse() {}
+    
+    public AvailabilityResponse(Boolean usernameAvailable, Boolean emailAvailable) {
+        this.usernameAvailable = usernameAvailable;
+        this.emailAvailable = emailAvailable;
+    }
+    
+    public Boolean getUsernameAvailable() { return usernameAvailable; }
+    public void setUsernameAvailable(Boolean usernameAvailable) { this.usernameAvailable = usernameAvailable; }
+    
+    public Boolean getEmailAvailable() { return emailAvailable; }
+    public void setEmailAvailable(Boolean emailAvailable) { this.emailAvailable = emailAvailable; }
+}
@@ -0,0 +1,32 @@
+package com.foodcritic.dto;
+
+import com.foodcritic.model.Review;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class FeedPage {
+    
+    private List<Review> reviews;
+    
+    // Cursor for the next page; both null on the last page
+    private LocalDateTime nextBefore;
+    private Long nextBeforeId;
+    
+    public FeedPage() {}
+    
+    public FeedPage(List<Review> reviews, LocalDateTime nextBefore, Long nextBeforeId) {
+        this.reviews = reviews;
+        this.nextBefore = nextBefore;
+        this.nextBeforeId = nextBeforeId;
+    }
+    
+    public List<Review> getReviews() { return reviews; }
+    public void setReviews(List<Review> reviews) { this.reviews = reviews; }
+    
+    public LocalDateTime getNextBefore() { return nextBefore; }
+    public void setNextBefore(LocalDateTime nextBefore) { this.nextBefore = nextBefore; }
+    
+    public Long getNextBeforeId() { return nextBeforeId; }
+    public void setNextBeforeId(Long nextBeforeId) { this.nextBeforeId = nextBeforeId; }
+}
@@ -0,0 +1,58 @@
+package com.foodcritic.dto;
+
+public class LeaderboardEntry {
+    
+    private final String restaurantId;
+    private final String cityId;
+    private final String name;
+    private final String cuisine;
+    private final String neighborhood;
+    private final long reviewCount;
+    private final double averageRating;
+    private final double score;
+    
+    public LeaderboardEntry(String restaurantId, String cityId, String name, String cuisine, String neighborhood,
+                            long reviewCount, double averageRating, double score) {
+        this.restaurantId = restaurantId;
+        this.cityId = cityId;
+        this.name = name;
+        this.cuisine = cuisine;
+        this.neighborhood = neighborhood;
+        this.reviewCount = reviewCount;
+        this.averageRating = averageRating;
+        this.score = score;
+    }
+    
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public String getCityId() {
+        return cityId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getCuisine() {
+        return cuisine;
+    }
+    
+    public String getNeighborhood() {
+        return neighborhood;
+    }
+    
+    public long getReviewCount() {
+        return reviewCount;
+    }
+    
+    public double getAverageRating() {
+        return averageRating;
+    }
+    
+    // Bayesian-smoothed rating used for ranking
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,21 @@
+package com.foodcritic.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class PlaceDetailsBatchRequest {
+    
+    @NotEmpty
+    private List<String> placeIds;
+    
+    public PlaceDetailsBatchRequest() {}
+    
+    public List<String> getPlaceIds() {
+        return placeIds;
+    }
+    
+    public void setPlaceIds(List<String> placeIds) {
+        this.placeIds = placeIds;
+    }
+}
@@ -0,0 +1,56 @@
+package com.foodcritic.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Details for a batch of place ids, keyed by place id in request order.
+ * Ids that could not be answered are listed in errors with a Google-style
+ * status (NOT_FOUND, ERROR, TIMEOUT, ...); partial is set when the deadline
+ * cut off outstanding Google calls.
+ */
+public class PlaceDetailsBatchResponse {
+    
+    private Map<String, GooglePlaceDetailsResponse.GooglePlaceDetails> results = new LinkedHashMap<>();
+    
+    // Where each result came from: "local", "cache" or "google"
+    private Map<String, String> sources = new LinkedHashMap<>();
+    
+    private Map<String, String> errors = new LinkedHashMap<>();
+    
+    private boolean partial;
+    
+    public PlaceDetailsBatchResponse() {}
+    
+    public Map<String, GooglePlaceDetailsResponse.GooglePlaceDetails> getResults() {
+        return results;
+    }
+    
+    public void setResults(Map<String, GooglePlaceDetailsResponse.GooglePlaceDetails> results) {
+        this.results = results;
+    }
+    
+    public Map<String, String> getSources() {
+        return sources;
+    }
+    
+    public void setSources(Map<String, String> sources) {
+        this.sources = sources;
+    }
+    
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+    
+    public boolean isPartial() {
+        return partial;
+    }
+    
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+}
@@ -0,0 +1,21 @@
+package com.foodcritic.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class RestaurantBatchRequest {
+    
+    @NotNull
+    private List<String> ids;
+    
+    public RestaurantBatchRequest() {}
+    
+    public List<String> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
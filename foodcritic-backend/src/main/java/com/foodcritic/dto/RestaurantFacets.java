@@ -0,0 +1,53 @@
+package com.foodcritic.dto;
+
+import java.util.Map;
+
+public class RestaurantFacets {
+    
+    private Map<String, Integer> cuisines;
+    private Map<String, Integer> neighborhoods;
+    private Map<String, Integer> priceLevels;
+    private Map<String, Integer> ratings;
+    
+    public RestaurantFacets() {}
+    
+    public RestaurantFacets(Map<String, Integer> cuisines, Map<String, Integer> neighborhoods,
+                            Map<String, Integer> priceLevels, Map<String, Integer> ratings) {
+        this.cuisines = cuisines;
+        this.neighborhoods = neighborhoods;
+        this.priceLevels = priceLevels;
+        this.ratings = ratings;
+    }
+    
+    public Map<String, Integer> getCuisines() {
+        return cuisines;
+    }
+    
+    public void setCuisines(Map<String, Integer> cuisines) {
+        this.cuisines = cuisines;
+    }
+    
+    public Map<String, Integer> getNeighborhoods() {
+        return neighborhoods;
+    }
+    
+    public void setNeighborhoods(Map<String, Integer> neighborhoods) {
+        this.neighborhoods = neighborhoods;
+    }
+    
+    public Map<String, Integer> getPriceLevels() {
+        return priceLevels;
+    }
+    
+    public void setPriceLevels(Map<String, Integer> priceLevels) {
+        this.priceLevels = priceLevels;
+    }
+    
+    public Map<String, Integer> getRatings() {
+        return ratings;
+    }
+    
+    public void setRatings(Map<String, Integer> ratings) {
+        this.ratings = ratings;
+    }
+}
@@ -0,0 +1,34 @@
+package com.foodcritic.dto;
+
+public class RestaurantRatingAggregate {
+    
+    private final String restaurantId;
+    private final long reviewCount;
+    private final long ratingSum;
+    
+    public RestaurantRatingAggregate(String restaurantId, Long reviewCount, Long ratingSum) {
+        this.restaurantId = restaurantId;
+        this.reviewCount = reviewCount != null ? reviewCount : 0L;
+        this.ratingSum = ratingSum != null ? ratingSum : 0L;
+    }
+    
+    public static RestaurantRatingAggregate empty(String restaurantId) {
+        return new RestaurantRatingAggregate(restaurantId, 0L, 0L);
+    }
+    
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public long getReviewCount() {
+        return reviewCount;
+    }
+    
+    public long getRatingSum() {
+        return ratingSum;
+    }
+    
+    public double getAverageRating() {
+        return reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.foodcritic.dto;
+
+public class RestaurantRecommendation {
+    
+    private RestaurantSummary restaurant;
+    
+    // Relative strength of the recommendation; only comparable within one list
+    private double score;
+    
+    public RestaurantRecommendation() {}
+    
+    public RestaurantRecommendation(RestaurantSummary restaurant, double score) {
+        this.restaurant = restaurant;
+        this.score = score;
+    }
+    
+    public RestaurantSummary getRestaurant() { return restaurant; }
+    public void setRestaurant(RestaurantSummary restaurant) { this.restaurant = restaurant; }
+    
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,27 @@
+package com.foodcritic.dto;
+
+import java.util.List;
+
+public class RestaurantSearchResponse {
+    
+    private List<RestaurantSummary> results;
+    private int total;
+    private RestaurantFacets facets;
+    
+    public RestaurantSearchResponse() {}
+    
+    public RestaurantSearchResponse(List<RestaurantSummary> results, RestaurantFacets facets) {
+        this.results = results;
+        this.total = results.size();
+        this.facets = facets;
+    }
+    
+    public List<RestaurantSummary> getResults() { return results; }
+    public void setResults(List<RestaurantSummary> results) { this.results = results; }
+    
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    
+    public RestaurantFacets getFacets() { return facets; }
+    public void setFacets(RestaurantFacets facets) { this.facets = facets; }
+}
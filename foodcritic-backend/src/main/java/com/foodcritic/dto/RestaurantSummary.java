@@ -0,0 +1,121 @@
+package com.foodcritic.dto;
+
+import com.foodcritic.model.Restaurant;
+
+/**
+ * Restaurant as returned by the listing and search APIs. Rating fields come
+ * from the precomputed aggregates, so serializing it never loads reviews.
+ */
+public class RestaurantSummary {
+    
+    private String id;
+    private String name;
+    private String cuisine;
+    private String location;
+    private String address;
+    private String neighborhood;
+    private String phoneNumber;
+    private String website;
+    private Integer userRatingsTotal;
+    private Integer priceLevel;
+    private String imageUrl;
+    private Double latitude;
+    private Double longitude;
+    private Boolean openNow;
+    private double averageRating;
+    private long reviewCount;
+    
+    public RestaurantSummary() {}
+    
+    public static RestaurantSummary from(Restaurant restaurant, String neighborhood,
+                                         RestaurantRatingAggregate aggregate, Boolean openNow) {
+        RestaurantSummary summary = new RestaurantSummary();
+        summary.id = restaurant.getId();
+        summary.name = restaurant.getName();
+        summary.cuisine = restaurant.getCuisine();
+        summary.location = restaurant.getLocation();
+        summary.address = restaurant.getAddress();
+        summary.neighborhood = neighborhood;
+        summary.phoneNumber = restaurant.getPhoneNumber();
+        summary.website = restaurant.getWebsite();
+        summary.userRatingsTotal = restaurant.getUserRatingsTotal();
+        summary.priceLevel = restaurant.getPriceLevel();
+        summary.imageUrl = restaurant.getImageUrl();
+        summary.latitude = restaurant.getLatitude();
+        summary.longitude = restaurant.getLongitude();
+        summary.openNow = openNow;
+        summary.averageRating = aggregate.getAverageRating();
+        summary.reviewCount = aggregate.getReviewCount();
+        return summary;
+    }
+    
+    // A copy with openNow replaced, so a cached summary is never modified
+    public RestaurantSummary withOpenNow(Boolean openNow) {
+        RestaurantSummary copy = new RestaurantSummary();
+        copy.id = id;
+        copy.name = name;
+        copy.cuisine = cuisine;
+        copy.location = location;
+        copy.address = address;
+        copy.neighborhood = neighborhood;
+        copy.phoneNumber = phoneNumber;
+        copy.website = website;
+        copy.userRatingsTotal = userRatingsTotal;
+        copy.priceLevel = priceLevel;
+        copy.imageUrl = imageUrl;
+        copy.latitude = latitude;
+        copy.longitude = longitude;
+        copy.openNow = openNow;
+        copy.averageRating = averageRating;
+        copy.reviewCount = reviewCount;
+        return copy;
+    }
+    
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getCuisine() { return cuisine; }
+    public void setCuisine(String cuisine) { this.cuisine = cuisine; }
+    
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+    
+    public String getNeighborhood() { return neighborhood; }
+    public void setNeighborhood(String neighborhood) { this.neighborhood = neighborhood; }
+    
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    
+    public String getWebsite() { return website; }
+    public void setWebsite(String website) { this.website = website; }
+    
+    public Integer getUserRatingsTotal() { return userRatingsTotal; }
+    public void setUserRatingsTotal(Integer userRatingsTotal) { this.userRatingsTotal = userRatingsTotal; }
+    
+    public Integer getPriceLevel() { return priceLevel; }
+    public void setPriceLevel(Integer priceLevel) { this.priceLevel = priceLevel; }
+    
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
+    public Boolean getOpenNow() { return openNow; }
+    public void setOpenNow(Boolean openNow) { this.openNow = openNow; }
+    
+    public double getAverageRating() { return averageRating; }
+    public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+    
+    public long getReviewCount() { return reviewCount; }
+    public void setReviewCount(long reviewCount) { this.reviewCount = reviewCount; }
+}
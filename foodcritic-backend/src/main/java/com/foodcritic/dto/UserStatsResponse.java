@@ -0,0 +1,54 @@
+package com.foodcritic.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class UserStatsResponse {
+    
+    private long reviewCount;
+    private double averageRating;
+    // Rating (1-5) to number of reviews given with it
+    private Map<Integer, Integer> ratingDistribution;
+    private List<CuisineCount> topCuisines;
+    private LocalDateTime firstReviewAt;
+    private LocalDateTime lastReviewAt;
+    
+    public UserStatsResponse() {}
+    
+    public long getReviewCount() { return reviewCount; }
+    public void setReviewCount(long reviewCount) { this.reviewCount = reviewCount; }
+    
+    public double getAverageRating() { return averageRating; }
+    public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+    
+    public Map<Integer, Integer> getRatingDistribution() { return ratingDistribution; }
+    public void setRatingDistribution(Map<Integer, Integer> ratingDistribution) { this.ratingDistribution = ratingDistribution; }
+    
+    public List<CuisineCount> getTopCuisines() { return topCuisines; }
+    public void setTopCuisines(List<CuisineCount> topCuisines) { this.topCuisines = topCuisines; }
+    
+    public LocalDateTime getFirstReviewAt() { return firstReviewAt; }
+    public void setFirstReviewAt(LocalDateTime firstReviewAt) { this.firstReviewAt = firstReviewAt; }
+    
+    public LocalDateTime getLastReviewAt() { return lastReviewAt; }
+    public void setLastReviewAt(LocalDateTime lastReviewAt) { this.lastReviewAt = lastReviewAt; }
+    
+    public static class CuisineCount {
+        private String cuisine;
+        private long count;
+        
+        public CuisineCount() {}
+        
+        public CuisineCount(String cuisine, long count) {
+            this.cuisine = cuisine;
+            this.count = count;
+        }
+        
+        public String getCuisine() { return cuisine; }
+        public void setCuisine(String cuisine) { this.cuisine = cuisine; }
+        
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+    }
+}
@@ -0,0 +1,28 @@
+package com.foodcritic.event;
+
+import com.foodcritic.dto.RestaurantRatingAggregate;
+
+import java.util.List;
+
+/**
+ * Published in-process after rating aggregates were refreshed from the database.
+ * A full reload replaces every aggregate; otherwise only the listed restaurants changed.
+ */
+public class RatingAggregatesChangedEvent {
+    
+    private final List<RestaurantRatingAggregate> aggregates;
+    private final boolean fullReload;
+    
+    public RatingAggregatesChangedEvent(List<RestaurantRatingAggregate> aggregates, boolean fullReload) {
+        this.aggregates = aggregates;
+        this.fullReload = fullReload;
+    }
+    
+    public List<RestaurantRatingAggregate> getAggregates() {
+        return aggregates;
+    }
+    
+    public boolean isFullReload() {
+        return fullReload;
+    }
+}
@@ -0,0 +1,30 @@
+package com.foodcritic.event;
+
+import com.foodcritic.model.Restaurant;
+
+/**
+ * Published in-process when a restaurant row is saved or deleted.
+ * The restaurant is null for deletions.
+ */
+public class RestaurantChangedEvent {
+    
+    private final String restaurantId;
+    private final Restaurant restaurant;
+    
+    public RestaurantChangedEvent(String restaurantId, Restaurant restaurant) {
+        this.restaurantId = restaurantId;
+        this.restaurant = restaurant;
+    }
+    
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public Restaurant getRestaurant() {
+        return restaurant;
+    }
+    
+    public boolean isDeleted() {
+        return restaurant == null;
+    }
+}
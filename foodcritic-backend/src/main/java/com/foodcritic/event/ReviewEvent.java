@@ -0,0 +1,164 @@
+package com.foodcritic.event;
+
+import com.foodcritic.model.Review;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a review change, taken inside the writing transaction so that
+ * listeners running after commit never touch lazy associations.
+ */
+public class ReviewEvent {
+    
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+    
+    private Long eventId;
+    private Type type;
+    private Long reviewId;
+    private String restaurantId;
+    private String restaurantName;
+    private Long userId;
+    private String username;
+    private Integer rating;
+    private Integer previousRating;
+    private String comment;
+    private String imageUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime occurredAt;
+    
+    public ReviewEvent() {}
+    
+    public static ReviewEvent of(Type type, Review review, Integer previousRating) {
+        ReviewEvent event = new ReviewEvent();
+        event.type = type;
+        event.reviewId = review.getId();
+        event.restaurantId = review.getRestaurant().getId();
+        event.restaurantName = review.getRestaurant().getName();
+        event.userId = review.getUser().getId();
+        event.username = review.getUser().getUsername();
+        event.rating = review.getRating();
+        event.previousRating = previousRating;
+        event.comment = review.getComment();
+        event.imageUrl = review.getImageUrl();
+        event.createdAt = review.getCreatedAt();
+        event.updatedAt = review.getUpdatedAt();
+        event.occurredAt = LocalDateTime.now();
+        return event;
+    }
+    
+    // Outbox sequence number; only set on events delivered through the outbox
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public void setType(Type type) {
+        this.type = type;
+    }
+    
+    public Long getReviewId() {
+        return reviewId;
+    }
+    
+    public void setReviewId(Long reviewId) {
+        this.reviewId = reviewId;
+    }
+    
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+    
+    public void setRestaurantId(String restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+    
+    public String getRestaurantName() {
+        return restaurantName;
+    }
+    
+    public void setRestaurantName(String restaurantName) {
+        this.restaurantName = restaurantName;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public Integer getRating() {
+        return rating;
+    }
+    
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+    
+    public Integer getPreviousRating() {
+        return previousRating;
+    }
+    
+    public void setPreviousRating(Integer previousRating) {
+        this.previousRating = previousRating;
+    }
+    
+    public String getComment() {
+        return comment;
+    }
+    
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+    
+    public String getImageUrl() {
+        return imageUrl;
+    }
+    
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,15 @@
+package com.foodcritic.event;
+
+import java.util.List;
+
+/**
+ * Asynchronous consumer of review changes delivered from the outbox.
+ *
+ * Events arrive in batches, in commit order per restaurant. Delivery is
+ * at-least-once: a batch is redelivered if any consumer fails it, so
+ * implementations must tolerate seeing the same event more than once.
+ */
+public interface ReviewEventConsumer {
+    
+    void onEvents(List<ReviewEvent> events);
+}
@@ -0,0 +1,137 @@
+package com.foodcritic.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * A metro the catalog is partitioned by. The boundary is a simple polygon
+ * of (latitude, longitude) vertices; containment is a bounding-box check
+ * followed by ray casting, so it is cheap enough to run on every save.
+ *
+ * Neighborhoods are the names an address is matched against, in order;
+ * an address naming none of them is filed under the city itself.
+ */
+public final class City {
+    
+    private final String id;
+    private final String name;
+    private final String timeZone;
+    private final List<String> neighborhoods;
+    private final String[] neighborhoodTerms;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+    
+    public City(String id, String name, String timeZone, List<double[]> polygon, List<String> neighborhoods) {
+        if (polygon == null || polygon.size() < 3) {
+            throw new IllegalArgumentException("City " + id + " needs a polygon of at least 3 points");
+        }
+        this.id = id;
+        this.name = name;
+        this.timeZone = timeZone;
+        this.neighborhoods = neighborhoods != null ? List.copyOf(neighborhoods) : List.of();
+        this.neighborhoodTerms = this.neighborhoods.stream().map(String::toLowerCase).toArray(String[]::new);
+        this.latitudes = new double[polygon.size()];
+        this.longitudes = new double[polygon.size()];
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        double minLng = Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+        for (int i = 0; i < polygon.size(); i++) {
+            double[] point = polygon.get(i);
+            latitudes[i] = point[0];
+            longitudes[i] = point[1];
+            minLat = Math.min(minLat, point[0]);
+            maxLat = Math.max(maxLat, point[0]);
+            minLng = Math.min(minLng, point[1]);
+            maxLng = Math.max(maxLng, point[1]);
+        }
+        this.minLatitude = minLat;
+        this.maxLatitude = maxLat;
+        this.minLongitude = minLng;
+        this.maxLongitude = maxLng;
+    }
+    
+    public boolean contains(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null
+                || latitude < minLatitude || latitude > maxLatitude
+                || longitude < minLongitude || longitude > maxLongitude) {
+            return false;
+        }
+        // Points on the bounding box edge count as inside, matching the old BETWEEN bounds
+        if (latitudes.length == 4 && isAxisAlignedRectangle()) {
+            return true;
+        }
+        boolean inside = false;
+        for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+            if ((latitudes[i] > latitude) != (latitudes[j] > latitude)
+                    && longitude < (longitudes[j] - longitudes[i]) * (latitude - latitudes[i])
+                                   / (latitudes[j] - latitudes[i]) + longitudes[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+    
+    // The first neighborhood the address mentions, else the city's own name
+    public String neighborhoodOf(String address) {
+        if (address != null) {
+            String lowerAddress = address.toLowerCase();
+            for (int i = 0; i < neighborhoodTerms.length; i++) {
+                if (lowerAddress.contains(neighborhoodTerms[i])) {
+                    return neighborhoods.get(i);
+                }
+            }
+        }
+        return name;
+    }
+    
+    private boolean isAxisAlignedRectangle() {
+        for (int i = 0; i < 4; i++) {
+            boolean latOnEdge = latitudes[i] == minLatitude || latitudes[i] == maxLatitude;
+            boolean lngOnEdge = longitudes[i] == minLongitude || longitudes[i] == maxLongitude;
+            if (!latOnEdge || !lngOnEdge) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getTimeZone() {
+        return timeZone;
+    }
+    
+    public List<String> getNeighborhoods() {
+        return neighborhoods;
+    }
+    
+    @JsonIgnore
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+    
+    @JsonIgnore
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+    
+    @JsonIgnore
+    public double getMinLongitude() {
+        return minLongitude;
+    }
+    
+    @JsonIgnore
+    public double getMaxLongitude() {
+        return maxLongitude;
+    }
+}
@@ -0,0 +1,78 @@
+package com.foodcritic.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A review on one reader's precomputed timeline. Rows are written only by
+ * FeedEntryRepository's native statements; the entity is read-only from
+ * JPA's side.
+ */
+@Entity
+@Table(name = "feed_entries")
+public class FeedEntry {
+    
+    @EmbeddedId
+    private Key id;
+    
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+    
+    // The review's creation time, copied so timelines page without a join
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public FeedEntry() {}
+    
+    public Key getId() {
+        return id;
+    }
+    
+    public Long getAuthorId() {
+        return authorId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    @Embeddable
+    public static class Key implements Serializable {
+        
+        @Column(name = "user_id")
+        private Long userId;
+        
+        @Column(name = "review_id")
+        private Long reviewId;
+        
+        public Key() {}
+        
+        public Key(Long userId, Long reviewId) {
+            this.userId = userId;
+            this.reviewId = reviewId;
+        }
+        
+        public Long getUserId() {
+            return userId;
+        }
+        
+        public Long getReviewId() {
+            return reviewId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(reviewId, key.reviewId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, reviewId);
+        }
+    }
+}
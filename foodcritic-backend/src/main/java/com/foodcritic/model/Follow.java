@@ -0,0 +1,69 @@
+package com.foodcritic.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One edge of the follow graph. Rows are written only by FollowRepository's
+ * native statements; the entity is read-only from JPA's side.
+ */
+@Entity
+@Table(name = "follows")
+public class Follow {
+    
+    @EmbeddedId
+    private Key id;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public Follow() {}
+    
+    public Key getId() {
+        return id;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    @Embeddable
+    public static class Key implements Serializable {
+        
+        @Column(name = "follower_id")
+        private Long followerId;
+        
+        @Column(name = "followee_id")
+        private Long followeeId;
+        
+        public Key() {}
+        
+        public Key(Long followerId, Long followeeId) {
+            this.followerId = followerId;
+            this.followeeId = followeeId;
+        }
+        
+        public Long getFollowerId() {
+            return followerId;
+        }
+        
+        public Long getFolloweeId() {
+            return followeeId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(followerId, key.followerId) && Objects.equals(followeeId, key.followeeId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(followerId, followeeId);
+        }
+    }
+}
@@ -4,11 +4,15 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "restaurants")
 @Table(name = "restaurants")
 public class Restaurant {
     
@@ -61,6 +65,18 @@ public class Restaurant {
     @Column(name = "opening_hours", length = 2000)
     private String openingHoursJson;
     
+    // Compact WeeklySchedule encoding of Google's opening_hours.periods, in local time
+    @Column(name = "opening_periods", length = 1000)
+    @JsonIgnore
+    private String openingPeriods;
+    
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+    
+    // CityRegistry id of the polygon this restaurant falls in; null outside every city
+    @Column(name = "city_id", length = 64)
+    private String cityId;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -220,4 +236,28 @@ public class Restaurant {
     public void setOpeningHoursJson(String openingHoursJson) {
         this.openingHoursJson = openingHoursJson;
     }
-}
\ No newline at end of file
+    
+    public String getOpeningPeriods() {
+        return openingPeriods;
+    }
+    
+    public void setOpeningPeriods(String openingPeriods) {
+        this.openingPeriods = openingPeriods;
+    }
+    
+    public String getTimeZone() {
+        return timeZone;
+    }
+    
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+    
+    public String getCityId() {
+        return cityId;
+    }
+    
+    public void setCityId(String cityId) {
+        this.cityId = cityId;
+    }
+}
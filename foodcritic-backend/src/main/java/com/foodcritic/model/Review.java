@@ -43,6 +43,10 @@ public class Review {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Maintained in batches by HelpfulVoteService; never written through the entity
+    @Column(name = "helpful_count", insertable = false, updatable = false)
+    private int helpfulCount;
+    
     public Review() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -125,6 +129,10 @@ public class Review {
         this.updatedAt = updatedAt;
     }
     
+    public int getHelpfulCount() {
+        return helpfulCount;
+    }
+    
     // Helper method to get restaurant ID for JSON serialization
     public String getRestaurantId() {
         return restaurant != null ? restaurant.getId() : null;
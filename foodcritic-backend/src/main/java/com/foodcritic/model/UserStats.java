@@ -0,0 +1,89 @@
+package com.foodcritic.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Materialized review statistics for one user. Rows are written only by
+ * UserStatsRepository.upsert; the entity is read-only from JPA's side.
+ */
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "review_count", nullable = false)
+    private int reviewCount;
+    
+    @Column(name = "rating_sum", nullable = false)
+    private int ratingSum;
+    
+    @Column(name = "rating_1", nullable = false)
+    private int rating1;
+    
+    @Column(name = "rating_2", nullable = false)
+    private int rating2;
+    
+    @Column(name = "rating_3", nullable = false)
+    private int rating3;
+    
+    @Column(name = "rating_4", nullable = false)
+    private int rating4;
+    
+    @Column(name = "rating_5", nullable = false)
+    private int rating5;
+    
+    @Column(name = "top_cuisines", nullable = false, columnDefinition = "TEXT")
+    private String topCuisines;
+    
+    @Column(name = "first_review_at")
+    private LocalDateTime firstReviewAt;
+    
+    @Column(name = "last_review_at")
+    private LocalDateTime lastReviewAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public UserStats() {}
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public int getReviewCount() { return reviewCount; }
+    public void setReviewCount(int reviewCount) { this.reviewCount = reviewCount; }
+    
+    public int getRatingSum() { return ratingSum; }
+    public void setRatingSum(int ratingSum) { this.ratingSum = ratingSum; }
+    
+    public int getRating1() { return rating1; }
+    public void setRating1(int rating1) { this.rating1 = rating1; }
+    
+    public int getRating2() { return rating2; }
+    public void setRating2(int rating2) { this.rating2 = rating2; }
+    
+    public int getRating3() { return rating3; }
+    public void setRating3(int rating3) { this.rating3 = rating3; }
+    
+    public int getRating4() { return rating4; }
+    public void setRating4(int rating4) { this.rating4 = rating4; }
+    
+    public int getRating5() { return rating5; }
+    public void setRating5(int rating5) { this.rating5 = rating5; }
+    
+    public String getTopCuisines() { return topCuisines; }
+    public void setTopCuisines(String topCuisines) { this.topCuisines = topCuisines; }
+    
+    public LocalDateTime getFirstReviewAt() { return firstReviewAt; }
+    public void setFirstReviewAt(LocalDateTime firstReviewAt) { this.firstReviewAt = firstReviewAt; }
+    
+    public LocalDateTime getLastReviewAt() { return lastReviewAt; }
+    public void setLastReviewAt(LocalDateTime lastReviewAt) { this.lastReviewAt = lastReviewAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
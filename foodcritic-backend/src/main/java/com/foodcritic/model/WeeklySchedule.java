@@ -0,0 +1,154 @@
+package com.foodcritic.model;
+
+import com.foodcritic.dto.GooglePlaceDetailsResponse;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Opening hours as sorted, non-overlapping [open, close) intervals in
+ * minutes since Sunday 00:00 local time, stored flat in an int array.
+ * Intervals that run past the end of the week are split at the boundary,
+ * so a lookup is a binary search over at most a few dozen ints.
+ */
+public final class WeeklySchedule {
+    
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    
+    private final int[] intervals;
+    
+    private WeeklySchedule(int[] intervals) {
+        this.intervals = intervals;
+    }
+    
+    public static WeeklySchedule fromPeriods(List<GooglePlaceDetailsResponse.Period> periods) {
+        if (periods == null || periods.isEmpty()) {
+            return null;
+        }
+        if (periods.size() == 1 && isOpenAllWeek(periods.get(0))) {
+            return new WeeklySchedule(new int[] {0, MINUTES_PER_WEEK});
+        }
+        
+        List<int[]> ranges = new ArrayList<>();
+        for (GooglePlaceDetailsResponse.Period period : periods) {
+            // Periods without a valid open and close can't be placed in the week, so they're skipped
+            int open = period.getOpen() != null ? minuteOfWeek(period.getOpen()) : -1;
+            int close = period.getClose() != null ? minuteOfWeek(period.getClose()) : -1;
+            if (open < 0 || close < 0) {
+                continue;
+            }
+            if (close <= open) {
+                close += MINUTES_PER_WEEK;
+            }
+            if (close > MINUTES_PER_WEEK) {
+                ranges.add(new int[] {open, MINUTES_PER_WEEK});
+                ranges.add(new int[] {0, close - MINUTES_PER_WEEK});
+            } else {
+                ranges.add(new int[] {open, close});
+            }
+        }
+        return ranges.isEmpty() ? null : new WeeklySchedule(merge(ranges));
+    }
+    
+    public static WeeklySchedule decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+        String[] parts = encoded.split(",");
+        int[] intervals = new int[parts.length * 2];
+        for (int i = 0; i < parts.length; i++) {
+            int dash = parts[i].indexOf('-');
+            intervals[2 * i] = Integer.parseInt(parts[i], 0, dash, 10);
+            intervals[2 * i + 1] = Integer.parseInt(parts[i], dash + 1, parts[i].length(), 10);
+        }
+        return new WeeklySchedule(intervals);
+    }
+    
+    public String encode() {
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < intervals.length; i += 2) {
+            if (i > 0) {
+                encoded.append(',');
+            }
+            encoded.append(intervals[i]).append('-').append(intervals[i + 1]);
+        }
+        return encoded.toString();
+    }
+    
+    public boolean isOpenAt(int minuteOfWeek) {
+        // Find the last interval starting at or before the given minute
+        int low = 0;
+        int high = intervals.length / 2 - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (intervals[2 * mid] <= minuteOfWeek) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return candidate >= 0 && minuteOfWeek < intervals[2 * candidate + 1];
+    }
+    
+    public static int minuteOfWeek(ZonedDateTime localTime) {
+        int day = localTime.getDayOfWeek().getValue() % 7; // Sunday = 0, as in Google's periods
+        return day * MINUTES_PER_DAY + localTime.getHour() * 60 + localTime.getMinute();
+    }
+    
+    // Google's encoding for "open 24 hours": one period opening on day 0 at 0000 that never closes
+    private static boolean isOpenAllWeek(GooglePlaceDetailsResponse.Period period) {
+        return period.getClose() == null && period.getOpen() != null
+                && Integer.valueOf(0).equals(period.getOpen().getDay()) && "0000".equals(period.getOpen().getTime());
+    }
+    
+    // Minutes since Sunday 00:00, or -1 unless the day is 0-6 and the time is a valid HHMM
+    private static int minuteOfWeek(GooglePlaceDetailsResponse.TimeOfWeek time) {
+        Integer day = time.getDay();
+        String hhmm = time.getTime();
+        if (day == null || day < 0 || day > 6 || hhmm == null || hhmm.length() != 4
+                || !Character.isDigit(hhmm.charAt(0)) || !Character.isDigit(hhmm.charAt(1))
+                || !Character.isDigit(hhmm.charAt(2)) || !Character.isDigit(hhmm.charAt(3))) {
+            return -1;
+        }
+        int hours = Integer.parseInt(hhmm, 0, 2, 10);
+        int minutes = Integer.parseInt(hhmm, 2, 4, 10);
+        if (hours > 24 || minutes > 59 || (hours == 24 && minutes > 0)) {
+            return -1;
+        }
+        return day * MINUTES_PER_DAY + hours * 60 + minutes;
+    }
+    
+    private static int[] merge(List<int[]> ranges) {
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+        List<int[]> merged = new ArrayList<>();
+        for (int[] range : ranges) {
+            int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] <= last[1]) {
+                last[1] = Math.max(last[1], range[1]);
+            } else {
+                merged.add(range);
+            }
+        }
+        int[] flat = new int[merged.size() * 2];
+        for (int i = 0; i < merged.size(); i++) {
+            flat[2 * i] = merged.get(i)[0];
+            flat[2 * i + 1] = merged.get(i)[1];
+        }
+        return flat;
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof WeeklySchedule schedule && Arrays.equals(intervals, schedule.intervals);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(intervals);
+    }
+}
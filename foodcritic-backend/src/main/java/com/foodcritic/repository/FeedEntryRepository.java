@@ -0,0 +1,73 @@
+package com.foodcritic.repository;
+
+import com.foodcritic.model.FeedEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FeedEntryRepository extends JpaRepository<FeedEntry, FeedEntry.Key> {
+    
+    // Fan-out on write: one statement puts the review on every follower's timeline; idempotent under redelivery.
+    // A review deleted before its event arrives matches no row, and the key-share lock keeps a concurrent
+    // delete from slipping in between, so the insert never trips the review_id foreign key
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "feed_entries"))
+    @Query(value = "INSERT INTO feed_entries (user_id, review_id, author_id, created_at) " +
+                   "SELECT f.follower_id, r.id, :authorId, :createdAt FROM follows f " +
+                   "JOIN reviews r ON r.id = :reviewId WHERE f.followee_id = :authorId " +
+                   "FOR KEY SHARE OF r " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int fanOut(@Param("authorId") Long authorId, @Param("reviewId") Long reviewId, @Param("createdAt") LocalDateTime createdAt);
+    
+    // Seeds a new follower's timeline with the followee's latest reviews
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "feed_entries"))
+    @Query(value = "INSERT INTO feed_entries (user_id, review_id, author_id, created_at) " +
+                   "SELECT :userId, r.id, r.user_id, r.created_at FROM reviews r WHERE r.user_id = :authorId " +
+                   "ORDER BY r.created_at DESC LIMIT :limit " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int backfill(@Param("userId") Long userId, @Param("authorId") Long authorId, @Param("limit") int limit);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "feed_entries"))
+    @Query(value = "DELETE FROM feed_entries WHERE review_id IN :reviewIds", nativeQuery = true)
+    int deleteByReviewIds(@Param("reviewIds") Collection<Long> reviewIds);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "feed_entries"))
+    @Query(value = "DELETE FROM feed_entries WHERE user_id = :userId AND author_id = :authorId", nativeQuery = true)
+    int deleteByUserAndAuthor(@Param("userId") Long userId, @Param("authorId") Long authorId);
+    
+    // Cuts each given timeline back to its newest :max entries; the lateral probe reads max + 1 index entries per user
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "feed_entries"))
+    @Query(value = "DELETE FROM feed_entries e USING (" +
+                   "  SELECT u.id AS user_id, cutoff.created_at, cutoff.review_id FROM users u " +
+                   "  CROSS JOIN LATERAL (SELECT c.created_at, c.review_id FROM feed_entries c WHERE c.user_id = u.id " +
+                   "                      ORDER BY c.created_at DESC, c.review_id DESC OFFSET :max LIMIT 1) cutoff " +
+                   "  WHERE u.id IN :userIds" +
+                   ") t " +
+                   "WHERE e.user_id = t.user_id AND (e.created_at, e.review_id) <= (t.created_at, t.review_id)",
+           nativeQuery = true)
+    int trim(@Param("userIds") Collection<Long> userIds, @Param("max") int max);
+    
+    // One page of a timeline, newest first, strictly before the (createdAt, reviewId) cursor
+    @Query(value = "SELECT review_id FROM feed_entries WHERE user_id = :userId " +
+                   "AND (created_at, review_id) < (:before, :beforeId) " +
+                   "ORDER BY created_at DESC, review_id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findPage(@Param("userId") Long userId, @Param("before") LocalDateTime before,
+                        @Param("beforeId") Long beforeId, @Param("limit") int limit);
+}
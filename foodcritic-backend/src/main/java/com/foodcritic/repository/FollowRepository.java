@@ -0,0 +1,56 @@
+package com.foodcritic.repository;
+
+import com.foodcritic.model.Follow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FollowRepository extends JpaRepository<Follow, Follow.Key> {
+    
+    // Returns 0 when the edge already exists, so the follower count is only bumped once
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "follows"))
+    @Query(value = "INSERT INTO follows (follower_id, followee_id, created_at) VALUES (:followerId, :followeeId, now()) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertFollow(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "follows"))
+    @Query(value = "DELETE FROM follows WHERE follower_id = :followerId AND followee_id = :followeeId", nativeQuery = true)
+    int deleteFollow(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
+    
+    // follower_count is not mapped on User, so the users cache region needs no invalidation
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "follows"))
+    @Query(value = "UPDATE users SET follower_count = follower_count + :delta WHERE id = :userId", nativeQuery = true)
+    void adjustFollowerCount(@Param("userId") Long userId, @Param("delta") int delta);
+    
+    @Query(value = "SELECT follower_count FROM users WHERE id = :userId", nativeQuery = true)
+    Integer findFollowerCount(@Param("userId") Long userId);
+    
+    // (user id, follower count) for each of the given users
+    @Query(value = "SELECT id, follower_count FROM users WHERE id IN :userIds", nativeQuery = true)
+    List<Object[]> findFollowerCounts(@Param("userIds") Collection<Long> userIds);
+    
+    @Query(value = "SELECT followee_id FROM follows WHERE follower_id = :followerId", nativeQuery = true)
+    List<Long> findFolloweeIds(@Param("followerId") Long followerId);
+    
+    @Query(value = "SELECT follower_id FROM follows WHERE followee_id = :followeeId", nativeQuery = true)
+    List<Long> findFollowerIds(@Param("followeeId") Long followeeId);
+    
+    // Followed accounts whose reviews are merged in at read time instead of fanned out
+    @Query(value = "SELECT f.followee_id FROM follows f JOIN users u ON u.id = f.followee_id " +
+                   "WHERE f.follower_id = :followerId AND u.follower_count > :threshold",
+           nativeQuery = true)
+    List<Long> findHeavilyFollowedFollowees(@Param("followerId") Long followerId, @Param("threshold") int threshold);
+}
@@ -0,0 +1,76 @@
+package com.foodcritic.repository;
+
+import com.foodcritic.model.OutboxEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    /**
+     * Serializes claims across instances until the calling transaction ends.
+     * Taken in its own statement before claimDue, so the claim's snapshot
+     * already includes the leases the previous claimer committed. Uses the
+     * two-key advisory lock space, apart from the per-user stats locks.
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(hashtext('outbox_events'), 0)) l", nativeQuery = true)
+    long lockClaims();
+    
+    /**
+     * Claims up to limit due events in id order by leasing them for
+     * leaseSeconds. An event is skipped while an earlier pending event of
+     * the same aggregate is leased or backing off, so per-aggregate order
+     * holds across retries. Order across instances needs the claim to run
+     * after lockClaims in the same transaction (see OutboxService.claim):
+     * otherwise a concurrent claimer can skip a row another has leased but
+     * not yet committed and claim the aggregate's next event.
+     */
+    @Transactional
+    @Query(value = "UPDATE outbox_events SET next_attempt_at = now() + :leaseSeconds * INTERVAL '1 second' " +
+                   "WHERE id IN (" +
+                   "  SELECT e.id FROM outbox_events e " +
+                   "  WHERE e.status = 'PENDING' AND e.next_attempt_at <= now() " +
+                   "  AND NOT EXISTS (SELECT 1 FROM outbox_events b WHERE b.aggregate_id = e.aggregate_id " +
+                   "    AND b.status = 'PENDING' AND b.id < e.id AND b.next_attempt_at > now()) " +
+                   "  ORDER BY e.id LIMIT :limit " +
+                   "  FOR UPDATE SKIP LOCKED" +
+                   ") RETURNING *",
+           nativeQuery = true)
+    List<OutboxEvent> claimDue(@Param("limit") int limit, @Param("leaseSeconds") long leaseSeconds);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = com.foodcritic.model.OutboxEvent.Status.PROCESSED, " +
+           "e.processedAt = :processedAt WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+    
+    // Failed events stay PENDING for redelivery, after an exponential backoff, until they run out of attempts
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox_events"))
+    @Query(value = "UPDATE outbox_events SET attempts = attempts + 1, last_error = :error, " +
+                   "status = CASE WHEN attempts + 1 >= :maxAttempts THEN 'FAILED' ELSE status END, " +
+                   "next_attempt_at = now() + LEAST(:maxBackoffMs, :backoffMs * power(2, attempts)) * INTERVAL '1 millisecond' " +
+                   "WHERE id IN (:ids)",
+           nativeQuery = true)
+    int recordFailure(@Param("ids") Collection<Long> ids, @Param("error") String error,
+                      @Param("maxAttempts") int maxAttempts, @Param("backoffMs") long backoffMs,
+                      @Param("maxBackoffMs") long maxBackoffMs);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.foodcritic.model.OutboxEvent.Status.PROCESSED " +
+           "AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
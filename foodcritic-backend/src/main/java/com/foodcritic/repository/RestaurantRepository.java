@@ -1,20 +1,29 @@
 package com.foodcritic.repository;
 
 import com.foodcritic.model.Restaurant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, String> {
     
-    List<Restaurant> findByCuisineContainingIgnoreCase(String cuisine);
+    // LOWER rather than the UPPER a derived IgnoreCase query uses, so idx_restaurants_*_trgm can serve them
+    @Query("SELECT r FROM Restaurant r WHERE LOWER(r.cuisine) LIKE LOWER(CONCAT('%', :cuisine, '%'))")
+    List<Restaurant> findByCuisineContainingIgnoreCase(@Param("cuisine") String cuisine);
     
-    List<Restaurant> findByNameContainingIgnoreCase(String name);
+    @Query("SELECT r FROM Restaurant r WHERE LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<Restaurant> findByNameContainingIgnoreCase(@Param("name") String name);
     
     Optional<Restaurant> findByNameAndLocation(String name, String location);
     
@@ -26,33 +35,38 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, String>
            "(SELECT AVG(rev.rating) FROM Review rev WHERE rev.restaurant = r) DESC NULLS LAST")
     List<Restaurant> findAllOrderByAverageRatingDesc();
     
-    // San Diego specific searches - constrain to San Diego county bounds
-    @Query("SELECT r FROM Restaurant r WHERE " +
-           "r.latitude BETWEEN 32.534156 AND 33.114249 AND " +
-           "r.longitude BETWEEN -117.608643 AND -116.908707 " +
-           "ORDER BY r.name ASC")
-    List<Restaurant> findAllInSanDiego();
+    // City-scoped searches; every query leads with city_id (idx_restaurants_city_*)
+    @Query("SELECT r FROM Restaurant r WHERE r.cityId = :cityId ORDER BY r.name ASC")
+    List<Restaurant> findAllInCity(@Param("cityId") String cityId);
     
-    // Simple paginated San Diego restaurants (no filters to avoid type conflicts)
-    @Query("SELECT r FROM Restaurant r WHERE " +
-           "r.latitude BETWEEN 32.534156 AND 33.114249 AND " +
-           "r.longitude BETWEEN -117.608643 AND -116.908707 " +
-           "ORDER BY r.name ASC")
-    org.springframework.data.domain.Page<Restaurant> findAllInSanDiegoPaginated(
+    // Same rows as findAllInCity, read through a cursor; must be consumed inside a transaction
+    @Query("SELECT r FROM Restaurant r WHERE r.cityId = :cityId ORDER BY r.name ASC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        // A full scan would otherwise evict the hot entries from the restaurants region
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET")
+    })
+    Stream<Restaurant> streamAllInCity(@Param("cityId") String cityId);
+    
+    // Simple paginated city restaurants (no filters to avoid type conflicts)
+    @Query("SELECT r FROM Restaurant r WHERE r.cityId = :cityId ORDER BY r.name ASC")
+    org.springframework.data.domain.Page<Restaurant> findAllInCityPaginated(
+        @Param("cityId") String cityId,
         org.springframework.data.domain.Pageable pageable
     );
     
-    // Advanced search with multiple filters for San Diego area
+    // Advanced search with multiple filters within a city
     @Query("SELECT r FROM Restaurant r WHERE " +
-           "r.latitude BETWEEN 32.534156 AND 33.114249 AND " +
-           "r.longitude BETWEEN -117.608643 AND -116.908707 AND " +
+           "r.cityId = :cityId AND " +
            "(:name IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
            "(:cuisine IS NULL OR LOWER(r.cuisine) LIKE LOWER(CONCAT('%', :cuisine, '%'))) AND " +
            "(:location IS NULL OR LOWER(r.address) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
            "(:priceLevel IS NULL OR r.priceLevel = :priceLevel) AND " +
            "(:openNow IS NULL OR r.openNow = :openNow) AND " +
            "(:minRating IS NULL OR (SELECT AVG(rev.rating) FROM Review rev WHERE rev.restaurant = r) >= :minRating)")
-    List<Restaurant> findInSanDiegoWithFilters(
+    List<Restaurant> findInCityWithFilters(
+        @Param("cityId") String cityId,
         @Param("name") String name,
         @Param("cuisine") String cuisine,
         @Param("location") String location,
@@ -61,58 +75,29 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, String>
         @Param("minRating") Double minRating
     );
     
-    // Search by neighborhood/area within San Diego
+    // Search by neighborhood/area within a city
     @Query("SELECT r FROM Restaurant r WHERE " +
-           "r.latitude BETWEEN 32.534156 AND 33.114249 AND " +
-           "r.longitude BETWEEN -117.608643 AND -116.908707 AND " +
+           "r.cityId = :cityId AND " +
            "LOWER(r.address) LIKE LOWER(CONCAT('%', :neighborhood, '%'))")
-    List<Restaurant> findByNeighborhoodInSanDiego(@Param("neighborhood") String neighborhood);
+    List<Restaurant> findByNeighborhoodInCity(@Param("cityId") String cityId, @Param("neighborhood") String neighborhood);
     
-    // Get all distinct cuisines in San Diego
+    // Get all distinct cuisines in a city
     @Query("SELECT DISTINCT r.cuisine FROM Restaurant r WHERE " +
-           "r.latitude BETWEEN 32.534156 AND 33.114249 AND " +
-           "r.longitude BETWEEN -117.608643 AND -116.908707 AND " +
+           "r.cityId = :cityId AND " +
            "r.cuisine IS NOT NULL " +
            "ORDER BY r.cuisine")
-    List<String> findDistinctCuisinesInSanDiego();
+    List<String> findDistinctCuisinesInCity(@Param("cityId") String cityId);
     
-    // Get all distinct neighborhoods/areas in San Diego
-    @Query("SELECT DISTINCT CASE " +
-           "WHEN LOWER(r.address) LIKE '%downtown%' THEN 'Downtown San Diego' " +
-           "WHEN LOWER(r.address) LIKE '%la jolla%' THEN 'La Jolla' " +
-           "WHEN LOWER(r.address) LIKE '%gaslamp%' THEN 'Gaslamp Quarter' " +
-           "WHEN LOWER(r.address) LIKE '%mission beach%' THEN 'Mission Beach' " +
-           "WHEN LOWER(r.address) LIKE '%pacific beach%' THEN 'Pacific Beach' " +
-           "WHEN LOWER(r.address) LIKE '%hillcrest%' THEN 'Hillcrest' " +
-           "WHEN LOWER(r.address) LIKE '%north park%' THEN 'North Park' " +
-           "WHEN LOWER(r.address) LIKE '%south park%' THEN 'South Park' " +
-           "WHEN LOWER(r.address) LIKE '%mission valley%' THEN 'Mission Valley' " +
-           "WHEN LOWER(r.address) LIKE '%little italy%' THEN 'Little Italy' " +
-           "WHEN LOWER(r.address) LIKE '%coronado%' THEN 'Coronado' " +
-           "WHEN LOWER(r.address) LIKE '%del mar%' THEN 'Del Mar' " +
-           "WHEN LOWER(r.address) LIKE '%encinitas%' THEN 'Encinitas' " +
-           "WHEN LOWER(r.address) LIKE '%carlsbad%' THEN 'Carlsbad' " +
-           "ELSE 'Other San Diego Areas' " +
-           "END as neighborhood " +
-           "FROM Restaurant r WHERE " +
-           "r.latitude BETWEEN 32.534156 AND 33.114249 AND " +
-           "r.longitude BETWEEN -117.608643 AND -116.908707")
-    List<String> findDistinctNeighborhoodsInSanDiego();
+    // Located restaurants not yet assigned to a city, for the startup backfill
+    @Query("SELECT r FROM Restaurant r WHERE r.cityId IS NULL AND r.latitude IS NOT NULL AND r.longitude IS NOT NULL")
+    List<Restaurant> findUnassignedToCity();
     
-    // Location-based search with distance calculation
-    @Query("SELECT r FROM Restaurant r WHERE " +
-           "r.latitude BETWEEN 32.534156 AND 33.114249 AND " +
-           "r.longitude BETWEEN -117.608643 AND -116.908707 AND " +
-           "(6371 * acos(cos(radians(:latitude)) * cos(radians(r.latitude)) * " +
-           "cos(radians(r.longitude) - radians(:longitude)) + sin(radians(:latitude)) * " +
-           "sin(radians(r.latitude)))) <= :radiusKm " +
-           "ORDER BY " +
-           "(6371 * acos(cos(radians(:latitude)) * cos(radians(r.latitude)) * " +
-           "cos(radians(r.longitude) - radians(:longitude)) + sin(radians(:latitude)) * " +
-           "sin(radians(r.latitude))))")
-    List<Restaurant> findNearbyInSanDiego(
-        @Param("latitude") Double latitude,
-        @Param("longitude") Double longitude,
-        @Param("radiusKm") Double radiusKm
-    );
+    @Modifying
+    @Query("UPDATE Restaurant r SET r.cityId = :cityId WHERE r.id IN :ids")
+    int assignCity(@Param("cityId") String cityId, @Param("ids") Collection<String> ids);
+    
+    // Restaurants with their review count and rating sum, one grouped query for the whole id set
+    @Query("SELECT r, COUNT(rv), SUM(rv.rating) FROM Restaurant r LEFT JOIN r.reviews rv " +
+           "WHERE r.id IN :ids GROUP BY r")
+    List<Object[]> findWithRatingAggregates(@Param("ids") Collection<String> ids);
 }
\ No newline at end of file
@@ -1,14 +1,21 @@
 package com.foodcritic.repository;
 
+import com.foodcritic.dto.RestaurantRatingAggregate;
 import com.foodcritic.model.Review;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -19,6 +26,29 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.restaurant WHERE r.user.id = :userId ORDER BY r.createdAt DESC")
     List<Review> findByUser_IdOrderByCreatedAtDesc(@Param("userId") Long userId);
     
+    // Cursor-backed variants of the two lists above, for streaming responses; consume inside a transaction
+    @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.restaurant WHERE r.restaurant.id = :restaurantId ORDER BY r.createdAt DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Review> streamByRestaurantId(@Param("restaurantId") String restaurantId);
+    
+    @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.restaurant WHERE r.restaurant.id = :restaurantId " +
+           "ORDER BY r.helpfulCount DESC, r.createdAt DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Review> streamByRestaurantIdOrderByHelpful(@Param("restaurantId") String restaurantId);
+    
+    @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.restaurant WHERE r.user.id = :userId ORDER BY r.createdAt DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Review> streamByUserId(@Param("userId") Long userId);
+    
     @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.restaurant WHERE r.user.id = :userId AND r.restaurant.id = :restaurantId")
     Optional<Review> findByUser_IdAndRestaurant_Id(@Param("userId") Long userId, @Param("restaurantId") String restaurantId);
     
@@ -30,4 +60,45 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     default List<Review> findRecentReviews(int limit) {
         return findRecentReviews(org.springframework.data.domain.PageRequest.of(0, limit));
     }
-}
\ No newline at end of file
+    
+    @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.restaurant WHERE r.id IN :ids")
+    List<Review> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(value = "SELECT v.review_id FROM review_votes v JOIN reviews r ON r.id = v.review_id " +
+                   "WHERE v.user_id = :userId AND r.restaurant_id = :restaurantId",
+           nativeQuery = true)
+    List<Long> findHelpfulVotedReviewIds(@Param("userId") Long userId, @Param("restaurantId") String restaurantId);
+    
+    // Newest reviews by any of the given authors strictly before the (createdAt, id) cursor; the feed's read-time merge
+    @Query(value = "SELECT id FROM reviews WHERE user_id IN :userIds AND (created_at, id) < (:before, :beforeId) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findIdsByAuthorsBefore(@Param("userIds") Collection<Long> userIds, @Param("before") LocalDateTime before,
+                                      @Param("beforeId") Long beforeId, @Param("limit") int limit);
+    
+    @Query("SELECT new com.foodcritic.dto.RestaurantRatingAggregate(r.restaurant.id, COUNT(r), SUM(r.rating)) " +
+           "FROM Review r WHERE r.restaurant.id IN :restaurantIds GROUP BY r.restaurant.id")
+    List<RestaurantRatingAggregate> findRatingAggregates(@Param("restaurantIds") Collection<String> restaurantIds);
+    
+    @Query("SELECT new com.foodcritic.dto.RestaurantRatingAggregate(r.restaurant.id, COUNT(r), SUM(r.rating)) " +
+           "FROM Review r GROUP BY r.restaurant.id")
+    List<RestaurantRatingAggregate> findAllRatingAggregates();
+    
+    // (user id, restaurant id, rating) for every review; the recommendation matrices are built from these rows
+    @Query("SELECT r.user.id, r.restaurant.id, r.rating FROM Review r")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamRatings();
+    
+    // Per (user, rating): count and first/last review time; user statistics are folded from these rows
+    @Query("SELECT r.user.id, r.rating, COUNT(r), MIN(r.createdAt), MAX(r.createdAt) " +
+           "FROM Review r WHERE r.user.id IN :userIds GROUP BY r.user.id, r.rating")
+    List<Object[]> findUserRatingBreakdown(@Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT r.user.id, r.restaurant.cuisine, COUNT(r) " +
+           "FROM Review r WHERE r.user.id IN :userIds AND r.restaurant.cuisine IS NOT NULL " +
+           "GROUP BY r.user.id, r.restaurant.cuisine")
+    List<Object[]> findUserCuisineCounts(@Param("userIds") Collection<Long> userIds);
+}
@@ -1,14 +1,24 @@
 package com.foodcritic.repository;
 
 import com.foodcritic.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Hit on every authenticated request; result is invalidated whenever the users table changes
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "userQueries")
+    })
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
@@ -16,4 +26,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+    
+    // (username, email) pairs for rebuilding the availability filters; consume inside a transaction
+    @Query("SELECT u.username, u.email FROM User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamUsernamesAndEmails();
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.foodcritic.repository;
+
+import com.foodcritic.model.UserStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+    
+    // Native upsert so concurrent outbox partitions can't race on the insert;
+    // the query space keeps Hibernate from flushing every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_stats"))
+    @Query(value = "INSERT INTO user_stats (user_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, " +
+                   "rating_5, top_cuisines, first_review_at, last_review_at, updated_at) " +
+                   "VALUES (:userId, :reviewCount, :ratingSum, :rating1, :rating2, :rating3, :rating4, :rating5, " +
+                   ":topCuisines, :firstReviewAt, :lastReviewAt, now()) " +
+                   "ON CONFLICT (user_id) DO UPDATE SET review_count = EXCLUDED.review_count, " +
+                   "rating_sum = EXCLUDED.rating_sum, rating_1 = EXCLUDED.rating_1, rating_2 = EXCLUDED.rating_2, " +
+                   "rating_3 = EXCLUDED.rating_3, rating_4 = EXCLUDED.rating_4, rating_5 = EXCLUDED.rating_5, " +
+                   "top_cuisines = EXCLUDED.top_cuisines, first_review_at = EXCLUDED.first_review_at, " +
+                   "last_review_at = EXCLUDED.last_review_at, updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    void upsert(@Param("userId") Long userId,
+                @Param("reviewCount") int reviewCount,
+                @Param("ratingSum") int ratingSum,
+                @Param("rating1") int rating1,
+                @Param("rating2") int rating2,
+                @Param("rating3") int rating3,
+                @Param("rating4") int rating4,
+                @Param("rating5") int rating5,
+                @Param("topCuisines") String topCuisines,
+                @Param("firstReviewAt") LocalDateTime firstReviewAt,
+                @Param("lastReviewAt") LocalDateTime lastReviewAt);
+    
+    // Transaction-scoped advisory lock on the user's stats, released at commit or rollback
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(:userId)) l", nativeQuery = true)
+    long lockUser(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM UserStats s WHERE s.userId IN :userIds")
+    void deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+}
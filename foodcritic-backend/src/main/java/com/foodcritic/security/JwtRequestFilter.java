@@ -1,6 +1,7 @@
 package com.foodcritic.security;
 
 import com.foodcritic.service.UserService;
+import com.foodcritic.timing.RequestTiming;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -38,6 +39,16 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             return;
         }
 
+        boolean timed = RequestTiming.start(RequestTiming.Phase.AUTH);
+        try {
+            authenticate(request, requestTokenHeader);
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.AUTH, timed);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request, String requestTokenHeader) {
         String username = null;
         String jwtToken = null;
 
@@ -71,7 +82,6 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 logger.error("Error setting authentication: " + e.getMessage());
             }
         }
-        chain.doFilter(request, response);
     }
 
     private boolean isPublicEndpoint(String requestURI) {
@@ -0,0 +1,100 @@
+package com.foodcritic.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small dedicated pool instead of on servlet threads.
+ *
+ * BCrypt is deliberately expensive, so a login storm or registration burst
+ * on servlet threads would take CPU and threads from every other endpoint.
+ * Here at most app.auth.hashing.threads hashes run at once and a bounded
+ * queue holds the rest. Work that cannot be queued, or that waited longer than
+ * max-queue-wait-ms (its client has likely given up), fails with
+ * RejectedExecutionException so callers can shed it. Queue depth and pool
+ * activity are published as executor.* metrics tagged name=password-hashing.
+ */
+@Component
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Counter shed;
+
+    private final long maxQueueWaitNanos;
+
+    // Verified against when the username is unknown, so a miss costs as much as a wrong password
+    private final String unknownUserHash;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                                  @Value("${app.auth.hashing.threads:0}") int threads,
+                                  @Value("${app.auth.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.auth.hashing.max-queue-wait-ms:2000}") long maxQueueWaitMs) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs);
+        this.unknownUserHash = passwordEncoder.encode("unknown-user-placeholder");
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+        this.shed = Counter.builder("auth.password.hashing.shed")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks a password against a stored hash, or against a placeholder
+     * hash when encodedPassword is null. Throws RejectedExecutionException
+     * immediately when the queue is full.
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        String hash = encodedPassword != null ? encodedPassword : unknownUserHash;
+        return submit(() -> passwordEncoder.matches(rawPassword, hash) && encodedPassword != null);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (System.nanoTime() - queuedAt > maxQueueWaitNanos) {
+                    shed.increment();
+                    throw new RejectedExecutionException("Password hashing request waited too long in the queue");
+                }
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            shed.increment();
+            throw e;
+        }
+    }
+}
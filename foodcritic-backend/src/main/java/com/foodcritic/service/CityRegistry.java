@@ -0,0 +1,97 @@
+package com.foodcritic.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodcritic.model.City;
+import com.foodcritic.model.Restaurant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The cities the catalog is partitioned by, loaded from cities.json.
+ *
+ * Launching a metro is a new entry in that file, with its polygon and
+ * neighborhood names: at startup restaurants without a city are assigned
+ * to the polygon they fall in, and from then on each city's queries and
+ * in-memory indexes only see its own rows.
+ * Requests that name no city get app.cities.default.
+ */
+@Service
+public class CityRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CityRegistry.class);
+    
+    private final Map<String, City> cities = new LinkedHashMap<>();
+    
+    private final City defaultCity;
+    
+    public CityRegistry(ObjectMapper objectMapper,
+                        @Value("${app.cities.location:classpath:cities.json}") Resource location,
+                        @Value("${app.cities.default:san-diego}") String defaultCityId) throws IOException {
+        try (InputStream in = location.getInputStream()) {
+            for (JsonNode node : objectMapper.readTree(in)) {
+                List<double[]> polygon = new ArrayList<>();
+                node.path("polygon").forEach(point -> polygon.add(new double[] {point.get(0).asDouble(), point.get(1).asDouble()}));
+                List<String> neighborhoods = new ArrayList<>();
+                node.path("neighborhoods").forEach(neighborhood -> neighborhoods.add(neighborhood.asText()));
+                City city = new City(node.path("id").asText(), node.path("name").asText(),
+                        node.path("timeZone").asText(null), polygon, neighborhoods);
+                cities.put(city.getId(), city);
+            }
+        }
+        this.defaultCity = cities.get(defaultCityId);
+        if (defaultCity == null) {
+            throw new IllegalStateException("Default city " + defaultCityId + " is not in " + location);
+        }
+        logger.info("Loaded {} cities from {} (default: {})", cities.size(), location, defaultCityId);
+    }
+    
+    public Collection<City> getCities() {
+        return cities.values();
+    }
+    
+    public City getDefault() {
+        return defaultCity;
+    }
+    
+    public Optional<City> find(String id) {
+        return Optional.ofNullable(id != null ? cities.get(id) : null);
+    }
+    
+    // A request's city parameter: blank means the default, anything unknown is a 404
+    public City resolve(String id) {
+        if (id == null || id.isBlank()) {
+            return defaultCity;
+        }
+        return find(id.trim().toLowerCase())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown city: " + id));
+    }
+    
+    // Null for a restaurant outside every city
+    public String neighborhoodOf(Restaurant restaurant) {
+        return find(restaurant.getCityId()).map(city -> city.neighborhoodOf(restaurant.getAddress())).orElse(null);
+    }
+    
+    public Optional<City> locate(Double latitude, Double longitude) {
+        for (City city : cities.values()) {
+            if (city.contains(latitude, longitude)) {
+                return Optional.of(city);
+            }
+        }
+        return Optional.empty();
+    }
+}
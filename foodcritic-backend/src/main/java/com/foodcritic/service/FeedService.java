@@ -0,0 +1,203 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.FeedPage;
+import com.foodcritic.event.ReviewEvent;
+import com.foodcritic.event.ReviewEventConsumer;
+import com.foodcritic.model.Review;
+import com.foodcritic.repository.FeedEntryRepository;
+import com.foodcritic.repository.FollowRepository;
+import com.foodcritic.repository.ReviewRepository;
+import com.foodcritic.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Follow graph and the personal feed of followed reviewers.
+ *
+ * New reviews are fanned out from the outbox onto each follower's
+ * timeline in feed_entries, so a feed page is one index range scan. Authors
+ * with more than celebrity-threshold followers are not fanned out; their
+ * reviews are merged in at read time from the reviews table instead, which
+ * bounds the write cost of a single review. Timelines are trimmed back to
+ * max-entries on a short schedule rather than on every write, so a busy
+ * reader is trimmed once per interval however many reviews arrive.
+ */
+@Service
+public class FeedService implements ReviewEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedService.class);
+
+    // Cursor start for the first page: later than any review
+    private static final LocalDateTime NEWEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private static final int TRIM_BATCH_SIZE = 500;
+
+    private static final Comparator<Review> NEWEST_FIRST = Comparator
+            .comparing(Review::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Review::getId, Comparator.reverseOrder());
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private FeedEntryRepository feedEntryRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.feed.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${app.feed.celebrity-threshold:10000}")
+    private int celebrityThreshold;
+
+    // Authors fanned out to, and readers backfilled, since the last trim
+    private final Set<Long> pendingAuthors = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingReaders = ConcurrentHashMap.newKeySet();
+
+    @Transactional
+    public void follow(Long followerId, Long followeeId) {
+        if (followerId.equals(followeeId)) {
+            throw new RuntimeException("You cannot follow yourself");
+        }
+        if (!userRepository.existsById(followeeId)) {
+            throw new RuntimeException("User not found");
+        }
+        if (followRepository.insertFollow(followerId, followeeId) == 0) {
+            return;
+        }
+        followRepository.adjustFollowerCount(followeeId, 1);
+        if (!isCelebrity(followRepository.findFollowerCount(followeeId))) {
+            feedEntryRepository.backfill(followerId, followeeId, maxEntries);
+            pendingReaders.add(followerId);
+        }
+    }
+
+    @Transactional
+    public void unfollow(Long followerId, Long followeeId) {
+        if (followRepository.deleteFollow(followerId, followeeId) == 0) {
+            return;
+        }
+        followRepository.adjustFollowerCount(followeeId, -1);
+        feedEntryRepository.deleteByUserAndAuthor(followerId, followeeId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> getFollowing(Long followerId) {
+        return followRepository.findFolloweeIds(followerId);
+    }
+
+    /**
+     * One page of the user's feed, newest first. The precomputed timeline
+     * and the followed heavy authors each contribute at most one page, and
+     * the merged result is cut back to size.
+     */
+    @Transactional(readOnly = true)
+    public FeedPage getFeed(Long userId, LocalDateTime before, Long beforeId, int size) {
+        LocalDateTime cursor = before != null ? before : NEWEST;
+        Long cursorId = beforeId != null ? beforeId : Long.MAX_VALUE;
+
+        Set<Long> reviewIds = new LinkedHashSet<>(feedEntryRepository.findPage(userId, cursor, cursorId, size));
+        List<Long> heavyAuthors = followRepository.findHeavilyFollowedFollowees(userId, celebrityThreshold);
+        if (!heavyAuthors.isEmpty()) {
+            reviewIds.addAll(reviewRepository.findIdsByAuthorsBefore(heavyAuthors, cursor, cursorId, size));
+        }
+        if (reviewIds.isEmpty()) {
+            return new FeedPage(List.of(), null, null);
+        }
+
+        List<Review> reviews = new ArrayList<>(reviewRepository.findAllWithDetailsByIdIn(reviewIds));
+        reviews.sort(NEWEST_FIRST);
+        if (reviews.size() > size) {
+            reviews = new ArrayList<>(reviews.subList(0, size));
+        }
+
+        // Fewer than a full page from both sources means there is nothing older
+        if (reviewIds.size() < size || reviews.isEmpty()) {
+            return new FeedPage(reviews, null, null);
+        }
+        Review last = reviews.get(reviews.size() - 1);
+        return new FeedPage(reviews, last.getCreatedAt(), last.getId());
+    }
+
+    @Override
+    @Transactional
+    public void onEvents(List<ReviewEvent> events) {
+        Map<Long, List<ReviewEvent>> createdByAuthor = new HashMap<>();
+        List<Long> deleted = new ArrayList<>();
+        for (ReviewEvent event : events) {
+            if (event.getType() == ReviewEvent.Type.CREATED) {
+                createdByAuthor.computeIfAbsent(event.getUserId(), id -> new ArrayList<>()).add(event);
+            } else if (event.getType() == ReviewEvent.Type.DELETED) {
+                deleted.add(event.getReviewId());
+            }
+        }
+
+        if (!createdByAuthor.isEmpty()) {
+            Map<Long, Integer> followerCounts = new HashMap<>();
+            for (Object[] row : followRepository.findFollowerCounts(createdByAuthor.keySet())) {
+                followerCounts.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+            }
+            createdByAuthor.forEach((authorId, created) -> {
+                int followers = followerCounts.getOrDefault(authorId, 0);
+                if (followers == 0 || isCelebrity(followers)) {
+                    return;
+                }
+                created.forEach(event -> feedEntryRepository.fanOut(authorId, event.getReviewId(), event.getCreatedAt()));
+                pendingAuthors.add(authorId);
+            });
+        }
+        if (!deleted.isEmpty()) {
+            feedEntryRepository.deleteByReviewIds(deleted);
+        }
+    }
+
+    // Followers of every author written to since the last run, plus backfilled readers
+    @Scheduled(fixedDelayString = "${app.feed.trim-interval-ms:60000}")
+    @Transactional
+    public void trimTimelines() {
+        if (pendingAuthors.isEmpty() && pendingReaders.isEmpty()) {
+            return;
+        }
+        Set<Long> readers = new LinkedHashSet<>();
+        readers.addAll(drain(pendingReaders));
+        for (Long authorId : drain(pendingAuthors)) {
+            readers.addAll(followRepository.findFollowerIds(authorId));
+        }
+
+        List<Long> ids = new ArrayList<>(readers);
+        int removed = 0;
+        for (int from = 0; from < ids.size(); from += TRIM_BATCH_SIZE) {
+            removed += feedEntryRepository.trim(ids.subList(from, Math.min(ids.size(), from + TRIM_BATCH_SIZE)), maxEntries);
+        }
+        logger.debug("Trimmed {} feed entries across {} timelines", removed, ids.size());
+    }
+
+    private boolean isCelebrity(Integer followerCount) {
+        return followerCount != null && followerCount > celebrityThreshold;
+    }
+
+    private static List<Long> drain(Set<Long> pending) {
+        List<Long> drained = new ArrayList<>(pending);
+        pending.removeAll(drained);
+        return drained;
+    }
+}
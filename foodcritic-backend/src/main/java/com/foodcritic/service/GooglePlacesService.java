@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -98,6 +99,21 @@ public class GooglePlacesService {
         }
     }
 
+    // Non-blocking variant for fan-out; failures come back as an ERROR response rather than an error signal
+    public Mono<GooglePlaceDetailsResponse> getRestaurantDetailsAsync(String placeId) {
+        return webClient.get()
+                .uri(buildDetailsUri(placeId))
+                .retrieve()
+                .bodyToMono(GooglePlaceDetailsResponse.class)
+                .onErrorResume(e -> {
+                    logger.warn("Error calling Google Places Details API for place_id {}: {}", placeId, e.getMessage());
+                    GooglePlaceDetailsResponse errorResponse = new GooglePlaceDetailsResponse();
+                    errorResponse.setStatus("ERROR");
+                    errorResponse.setErrorMessage("Failed to fetch restaurant details: " + e.getMessage());
+                    return Mono.just(errorResponse);
+                });
+    }
+
     public String getPhotoUrl(String photoReference, int maxWidth) {
         return String.format("%s/photo?photoreference=%s&maxwidth=%d&key=%s",
                 baseUrl, photoReference, maxWidth, apiKey);
@@ -196,28 +212,32 @@ public class GooglePlacesService {
             return null;
         }
         
+        // Unbox and lower-case the criteria once rather than per result
+        double minRating = request.getMinRating() != null ? request.getMinRating() : Double.NEGATIVE_INFINITY;
+        int minPriceLevel = request.getMinPriceLevel() != null ? request.getMinPriceLevel() : Integer.MIN_VALUE;
+        int maxPriceLevel = request.getMaxPriceLevel() != null ? request.getMaxPriceLevel() : Integer.MAX_VALUE;
+        String cuisineKeyword = request.getCuisine() != null && !request.getCuisine().trim().isEmpty()
+                ? request.getCuisine().toLowerCase() : null;
+        
         return results.stream()
                 .filter(result -> {
                     // Filter by minimum rating
                     if (request.getMinRating() != null) {
-                        if (result.getRating() == null || result.getRating() < request.getMinRating()) {
+                        if (result.getRating() == null || result.getRating() < minRating) {
                             return false;
                         }
                     }
                     
                     // Filter by price level range
                     if (result.getPriceLevel() != null) {
-                        if (request.getMinPriceLevel() != null && result.getPriceLevel() < request.getMinPriceLevel()) {
-                            return false;
-                        }
-                        if (request.getMaxPriceLevel() != null && result.getPriceLevel() > request.getMaxPriceLevel()) {
+                        int priceLevel = result.getPriceLevel();
+                        if (priceLevel < minPriceLevel || priceLevel > maxPriceLevel) {
                             return false;
                         }
                     }
                     
                     // Filter by cuisine (check if any type contains the cuisine keyword)
-                    if (request.getCuisine() != null && !request.getCuisine().trim().isEmpty()) {
-                        String cuisineKeyword = request.getCuisine().toLowerCase();
+                    if (cuisineKeyword != null) {
                         boolean matchesCuisine = result.getTypes() != null && 
                             result.getTypes().stream()
                                 .anyMatch(type -> type.toLowerCase().contains(cuisineKeyword));
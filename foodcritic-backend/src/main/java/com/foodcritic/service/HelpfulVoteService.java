@@ -0,0 +1,175 @@
+package com.foodcritic.service;
+
+import com.foodcritic.repository.ReviewRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Helpful" votes on reviews, taken in memory and written in batches.
+ *
+ * Votes land in a map keyed by (review, stripe of the voter), so a burst on
+ * one popular review spreads over several map bins instead of queueing on
+ * a single lock, and a voter always hits the same stripe so their latest
+ * action wins. Every flush writes the vote rows and applies the per-review
+ * count changes in one statement each way, so reviews.helpful_count is
+ * updated at most once per review per interval. Duplicate votes are
+ * dropped by the review_votes primary key, and only rows that actually
+ * changed move the count. Counts lag intake by at most one flush interval.
+ */
+@Service
+public class HelpfulVoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HelpfulVoteService.class);
+
+    // Reviews or users deleted since the vote was taken are dropped by the joins
+    private static final String ADD_VOTES =
+            "WITH input AS (" +
+            "  SELECT v.review_id, v.user_id FROM unnest(CAST(? AS BIGINT[]), CAST(? AS BIGINT[])) AS v (review_id, user_id) " +
+            "  JOIN reviews r ON r.id = v.review_id JOIN users u ON u.id = v.user_id" +
+            "), changed AS (" +
+            "  INSERT INTO review_votes (review_id, user_id, created_at) SELECT review_id, user_id, now() FROM input " +
+            "  ON CONFLICT DO NOTHING RETURNING review_id" +
+            ") " +
+            "UPDATE reviews r SET helpful_count = r.helpful_count + c.votes " +
+            "FROM (SELECT review_id, COUNT(*) AS votes FROM changed GROUP BY review_id) c WHERE r.id = c.review_id";
+
+    private static final String REMOVE_VOTES =
+            "WITH input AS (" +
+            "  SELECT v.review_id, v.user_id FROM unnest(CAST(? AS BIGINT[]), CAST(? AS BIGINT[])) AS v (review_id, user_id)" +
+            "), changed AS (" +
+            "  DELETE FROM review_votes rv USING input i WHERE rv.review_id = i.review_id AND rv.user_id = i.user_id " +
+            "  RETURNING rv.review_id" +
+            ") " +
+            "UPDATE reviews r SET helpful_count = GREATEST(0, r.helpful_count - c.votes) " +
+            "FROM (SELECT review_id, COUNT(*) AS votes FROM changed GROUP BY review_id) c WHERE r.id = c.review_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int stripes;
+
+    // Latest action per voter (true = helpful, false = withdrawn) since the last flush
+    private final Map<StripeKey, Map<Long, Boolean>> pending = new ConcurrentHashMap<>();
+
+    public HelpfulVoteService(PlatformTransactionManager transactionManager,
+                              @Value("${app.reviews.votes.stripes:16}") int stripes) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = Math.max(1, stripes);
+    }
+
+    public void vote(Long reviewId, Long userId, boolean helpful) {
+        StripeKey key = new StripeKey(reviewId, (int) Math.floorMod(userId, (long) stripes));
+        pending.compute(key, (k, votes) -> {
+            Map<Long, Boolean> updated = votes != null ? votes : new HashMap<>();
+            updated.put(userId, helpful);
+            return updated;
+        });
+    }
+
+    /**
+     * Reviews of the restaurant the user has marked helpful, including votes
+     * not yet flushed.
+     */
+    public Set<Long> getVotedReviewIds(Long userId, String restaurantId) {
+        Set<Long> voted = new LinkedHashSet<>(reviewRepository.findHelpfulVotedReviewIds(userId, restaurantId));
+        int stripe = (int) Math.floorMod(userId, (long) stripes);
+        for (StripeKey key : pending.keySet()) {
+            if (key.stripe() != stripe) {
+                continue;
+            }
+            // Read under the bin lock; the vote maps are only ever touched inside compute calls
+            pending.computeIfPresent(key, (k, votes) -> {
+                Boolean helpful = votes.get(userId);
+                if (Boolean.TRUE.equals(helpful)) {
+                    voted.add(k.reviewId());
+                } else if (Boolean.FALSE.equals(helpful)) {
+                    voted.remove(k.reviewId());
+                }
+                return votes;
+            });
+        }
+        return voted;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reviews.votes.flush-interval-ms:2000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Removing a key hands its map over whole; later votes start a fresh one
+        Map<StripeKey, Map<Long, Boolean>> drained = new HashMap<>();
+        for (StripeKey key : pending.keySet()) {
+            Map<Long, Boolean> votes = pending.remove(key);
+            if (votes != null) {
+                drained.put(key, votes);
+            }
+        }
+
+        List<Long> addReviews = new ArrayList<>();
+        List<Long> addUsers = new ArrayList<>();
+        List<Long> removeReviews = new ArrayList<>();
+        List<Long> removeUsers = new ArrayList<>();
+        drained.forEach((key, votes) -> votes.forEach((userId, helpful) -> {
+            (helpful ? addReviews : removeReviews).add(key.reviewId());
+            (helpful ? addUsers : removeUsers).add(userId);
+        }));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!addReviews.isEmpty()) {
+                    apply(ADD_VOTES, addReviews, addUsers);
+                }
+                if (!removeReviews.isEmpty()) {
+                    apply(REMOVE_VOTES, removeReviews, removeUsers);
+                }
+            });
+            logger.debug("Flushed {} helpful votes and {} withdrawals", addReviews.size(), removeReviews.size());
+        } catch (RuntimeException e) {
+            // Put the batch back under anything newer so the next flush retries it
+            drained.forEach((key, votes) -> pending.merge(key, votes, (newer, older) -> {
+                older.putAll(newer);
+                return older;
+            }));
+            logger.warn("Flushing {} helpful votes failed, will retry: {}", addReviews.size() + removeReviews.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void apply(String sql, List<Long> reviewIds, List<Long> userIds) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("bigint", reviewIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint", userIds.toArray()));
+            return statement;
+        });
+    }
+
+    private record StripeKey(long reviewId, int stripe) {}
+}
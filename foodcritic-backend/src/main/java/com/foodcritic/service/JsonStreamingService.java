@@ -0,0 +1,87 @@
+package com.foodcritic.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes query results to the response as a JSON array, one row at a time.
+ *
+ * The rows come from a cursor-backed repository Stream opened inside a
+ * read-only transaction on the response thread. Every flushEvery rows the
+ * persistence context is cleared and the buffered JSON is flushed, so heap
+ * use is bounded by that batch rather than by the size of the result.
+ *
+ * A failure part-way through leaves the array unterminated on purpose: the
+ * status has already been sent, and a truncated body must not parse as a
+ * complete one.
+ */
+@Service
+public class JsonStreamingService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectWriter writer;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.streaming.flush-every:500}")
+    private int flushEvery;
+
+    public JsonStreamingService(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        // The default flushes after every value, which turns each row into its own socket write
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> StreamingResponseBody writeArray(Supplier<Stream<T>> rows) {
+        return writeArray(rows, Function.identity());
+    }
+
+    public <T, R> StreamingResponseBody writeArray(Supplier<Stream<T>> rows, Function<? super T, R> mapper) {
+        return out -> {
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<T> stream = rows.get();
+                         JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+                        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+                        generator.writeStartArray();
+                        long written = 0;
+                        Iterator<T> iterator = stream.iterator();
+                        while (iterator.hasNext()) {
+                            writer.writeValue(generator, mapper.apply(iterator.next()));
+                            if (++written % flushEvery == 0) {
+                                entityManager.clear();
+                                generator.flush();
+                            }
+                        }
+                        generator.writeEndArray();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
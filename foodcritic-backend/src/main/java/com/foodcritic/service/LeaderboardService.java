@@ -0,0 +1,252 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.LeaderboardEntry;
+import com.foodcritic.dto.RestaurantRatingAggregate;
+import com.foodcritic.event.RatingAggregatesChangedEvent;
+import com.foodcritic.event.RestaurantChangedEvent;
+import com.foodcritic.model.Restaurant;
+import com.foodcritic.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Top-N restaurants per city: overall, per cuisine, per neighborhood and
+ * per cuisine within a neighborhood.
+ *
+ * Every reviewed restaurant sits in up to four sorted sets of its city ranked
+ * by a Bayesian-smoothed rating, so a rating change is a remove and an
+ * insert, O(log n) each. After each update the affected boards republish an
+ * immutable top-N list, which is what readers get back. Entries are always
+ * built from the restaurant as currently saved, so a renamed or
+ * re-categorized restaurant moves to its new boards.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final String OVERALL = "overall";
+
+    // Ids per findAllById call, to keep bind-parameter lists short on full rebuilds
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final Comparator<LeaderboardEntry> RANKING = Comparator
+            .comparingDouble(LeaderboardEntry::getScore).reversed()
+            .thenComparing(Comparator.comparingLong(LeaderboardEntry::getReviewCount).reversed())
+            .thenComparing(LeaderboardEntry::getRestaurantId);
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private CityRegistry cityRegistry;
+
+    @Value("${app.leaderboard.size:50}")
+    private int boardSize;
+
+    // Weight of the prior, in "virtual reviews" at the prior mean
+    @Value("${app.leaderboard.prior-weight:10}")
+    private double priorWeight;
+
+    private volatile double priorMean = 3.5;
+
+    private final Map<String, LeaderboardEntry> entries = new HashMap<>();
+    private final Map<String, NavigableSet<LeaderboardEntry>> boards = new HashMap<>();
+    private final Map<String, List<LeaderboardEntry>> snapshots = new ConcurrentHashMap<>();
+
+    public List<LeaderboardEntry> getTop(String cityId, String cuisine, String neighborhood, int limit) {
+        List<LeaderboardEntry> board;
+        if (cuisine != null && !cuisine.isBlank() && neighborhood != null && !neighborhood.isBlank()) {
+            board = snapshots.getOrDefault(cuisineNeighborhoodKey(cityId, cuisine, neighborhood), List.of());
+        } else if (cuisine != null && !cuisine.isBlank()) {
+            board = snapshots.getOrDefault(cuisineKey(cityId, cuisine), List.of());
+        } else if (neighborhood != null && !neighborhood.isBlank()) {
+            board = snapshots.getOrDefault(neighborhoodKey(cityId, neighborhood), List.of());
+        } else {
+            board = snapshots.getOrDefault(overallKey(cityId), List.of());
+        }
+        return limit < board.size() ? board.subList(0, limit) : board;
+    }
+
+    @EventListener
+    public synchronized void onRatingAggregatesChanged(RatingAggregatesChangedEvent event) {
+        if (event.isFullReload()) {
+            rebuild(event.getAggregates());
+            return;
+        }
+
+        Map<String, Restaurant> restaurants = loadRestaurants(event.getAggregates());
+        Set<String> touched = new HashSet<>();
+        for (RestaurantRatingAggregate aggregate : event.getAggregates()) {
+            remove(aggregate.getRestaurantId(), touched);
+            if (aggregate.getReviewCount() == 0) {
+                continue;
+            }
+
+            LeaderboardEntry entry = toEntry(restaurants.get(aggregate.getRestaurantId()), aggregate);
+            if (entry != null) {
+                insert(entry);
+                touched.addAll(boardKeys(entry));
+            }
+        }
+        touched.forEach(this::publish);
+    }
+
+    // Moves a ranked restaurant to the boards its saved name, cuisine, address and city put it on
+    @EventListener
+    public synchronized void onRestaurantChanged(RestaurantChangedEvent event) {
+        Set<String> touched = new HashSet<>();
+        LeaderboardEntry previous = remove(event.getRestaurantId(), touched);
+        if (previous != null && !event.isDeleted()) {
+            LeaderboardEntry entry = toEntry(event.getRestaurant(), previous.getReviewCount(),
+                    previous.getAverageRating(), previous.getScore());
+            if (entry != null) {
+                insert(entry);
+                touched.addAll(boardKeys(entry));
+            }
+        }
+        touched.forEach(this::publish);
+    }
+
+    private void rebuild(List<RestaurantRatingAggregate> aggregates) {
+        long reviews = 0;
+        long ratingSum = 0;
+        for (RestaurantRatingAggregate aggregate : aggregates) {
+            reviews += aggregate.getReviewCount();
+            ratingSum += aggregate.getRatingSum();
+        }
+        // Recalibrate the prior to the current global mean; only done on full rebuilds so ranks stay stable in between
+        if (reviews > 0) {
+            priorMean = (double) ratingSum / reviews;
+        }
+
+        Map<String, Restaurant> restaurants = loadRestaurants(aggregates);
+        entries.clear();
+        boards.clear();
+        for (RestaurantRatingAggregate aggregate : aggregates) {
+            LeaderboardEntry entry = aggregate.getReviewCount() > 0
+                    ? toEntry(restaurants.get(aggregate.getRestaurantId()), aggregate)
+                    : null;
+            if (entry != null) {
+                insert(entry);
+            }
+        }
+
+        snapshots.keySet().retainAll(boards.keySet());
+        new ArrayList<>(boards.keySet()).forEach(this::publish);
+        logger.info("Rebuilt leaderboards for {} restaurants across {} boards (prior mean {})",
+                entries.size(), boards.size(), String.format("%.2f", priorMean));
+    }
+
+    // The reviewed restaurants among the aggregates, as currently saved
+    private Map<String, Restaurant> loadRestaurants(List<RestaurantRatingAggregate> aggregates) {
+        List<String> ids = aggregates.stream()
+                .filter(aggregate -> aggregate.getReviewCount() > 0)
+                .map(RestaurantRatingAggregate::getRestaurantId)
+                .toList();
+        Map<String, Restaurant> restaurants = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+            restaurantRepository.findAllById(ids.subList(from, Math.min(from + LOAD_BATCH_SIZE, ids.size())))
+                    .forEach(restaurant -> restaurants.put(restaurant.getId(), restaurant));
+        }
+        return restaurants;
+    }
+
+    // Takes the restaurant's entry off its boards, noting them in touched
+    private LeaderboardEntry remove(String restaurantId, Set<String> touched) {
+        LeaderboardEntry previous = entries.remove(restaurantId);
+        if (previous != null) {
+            boardKeys(previous).forEach(key -> {
+                boards.get(key).remove(previous);
+                touched.add(key);
+            });
+        }
+        return previous;
+    }
+
+    private void insert(LeaderboardEntry entry) {
+        entries.put(entry.getRestaurantId(), entry);
+        boardKeys(entry).forEach(key -> boards.computeIfAbsent(key, k -> new TreeSet<>(RANKING)).add(entry));
+    }
+
+    private void publish(String key) {
+        NavigableSet<LeaderboardEntry> board = boards.get(key);
+        if (board == null || board.isEmpty()) {
+            boards.remove(key);
+            snapshots.remove(key);
+            return;
+        }
+        List<LeaderboardEntry> top = new ArrayList<>(Math.min(boardSize, board.size()));
+        for (LeaderboardEntry entry : board) {
+            if (top.size() == boardSize) {
+                break;
+            }
+            top.add(entry);
+        }
+        snapshots.put(key, List.copyOf(top));
+    }
+
+    // Restaurants outside every city have no board to go on
+    private LeaderboardEntry toEntry(Restaurant restaurant, RestaurantRatingAggregate aggregate) {
+        return toEntry(restaurant, aggregate.getReviewCount(), aggregate.getAverageRating(), score(aggregate));
+    }
+
+    private LeaderboardEntry toEntry(Restaurant restaurant, long reviewCount, double averageRating, double score) {
+        if (restaurant == null || restaurant.getCityId() == null) {
+            return null;
+        }
+        return new LeaderboardEntry(restaurant.getId(), restaurant.getCityId(), restaurant.getName(), restaurant.getCuisine(),
+                cityRegistry.neighborhoodOf(restaurant), reviewCount, averageRating, score);
+    }
+
+    private double score(RestaurantRatingAggregate aggregate) {
+        return (priorWeight * priorMean + aggregate.getRatingSum()) / (priorWeight + aggregate.getReviewCount());
+    }
+
+    private List<String> boardKeys(LeaderboardEntry entry) {
+        List<String> keys = new ArrayList<>(4);
+        keys.add(overallKey(entry.getCityId()));
+        if (entry.getCuisine() != null) {
+            keys.add(cuisineKey(entry.getCityId(), entry.getCuisine()));
+        }
+        if (entry.getNeighborhood() != null) {
+            keys.add(neighborhoodKey(entry.getCityId(), entry.getNeighborhood()));
+        }
+        if (entry.getCuisine() != null && entry.getNeighborhood() != null) {
+            keys.add(cuisineNeighborhoodKey(entry.getCityId(), entry.getCuisine(), entry.getNeighborhood()));
+        }
+        return keys;
+    }
+
+    // Board keys are scoped by city so each city's boards only ever hold its own restaurants
+    private static String overallKey(String cityId) {
+        return cityId + ":" + OVERALL;
+    }
+
+    private static String cuisineKey(String cityId, String cuisine) {
+        return cityId + ":cuisine:" + cuisine.trim().toLowerCase();
+    }
+
+    private static String neighborhoodKey(String cityId, String neighborhood) {
+        return cityId + ":neighborhood:" + neighborhood.trim().toLowerCase();
+    }
+
+    private static String cuisineNeighborhoodKey(String cityId, String cuisine, String neighborhood) {
+        return cuisineKey(cityId, cuisine) + ":neighborhood:" + neighborhood.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,97 @@
+package com.foodcritic.service;
+
+import com.foodcritic.event.RestaurantChangedEvent;
+import com.foodcritic.model.Restaurant;
+import com.foodcritic.model.WeeklySchedule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Decoded weekly schedules keyed by restaurant id, so open-now and
+ * open-at-time checks are an in-memory binary search with no re-fetch from
+ * Google and no parsing on the request path.
+ */
+@Service
+public class OpeningHoursIndex {
+    
+    @Value("${app.restaurants.default-time-zone:America/Los_Angeles}")
+    private String defaultTimeZone;
+    
+    private final Map<String, Compiled> schedules = new ConcurrentHashMap<>();
+    
+    @EventListener
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.isDeleted()) {
+            schedules.remove(event.getRestaurantId());
+        } else {
+            schedules.put(event.getRestaurantId(), compile(event.getRestaurant()));
+        }
+    }
+    
+    /**
+     * Whether the restaurant is open at the given instant. Falls back to the
+     * open_now flag captured at ingest when no schedule is known.
+     */
+    public Optional<Boolean> isOpenAt(Restaurant restaurant, Instant instant) {
+        return isOpenAt(schedules.computeIfAbsent(restaurant.getId(), id -> compile(restaurant)), instant);
+    }
+    
+    /**
+     * The same check by id, for summaries served from a cache; empty when
+     * the restaurant was never indexed (see {@link #index}).
+     */
+    public Optional<Boolean> isOpenAt(String restaurantId, Instant instant) {
+        Compiled compiled = schedules.get(restaurantId);
+        return compiled != null ? isOpenAt(compiled, instant) : Optional.empty();
+    }
+    
+    // Makes sure the restaurant's schedule can be looked up by id later
+    public void index(Restaurant restaurant) {
+        schedules.computeIfAbsent(restaurant.getId(), id -> compile(restaurant));
+    }
+    
+    /**
+     * Predicate for filtering many restaurants at one instant; the local
+     * minute of the week is computed once per time zone.
+     */
+    public Predicate<Restaurant> openAt(Instant instant) {
+        Map<ZoneId, Integer> minuteByZone = new HashMap<>();
+        return restaurant -> {
+            Compiled compiled = schedules.computeIfAbsent(restaurant.getId(), id -> compile(restaurant));
+            if (compiled.schedule == null) {
+                return Boolean.TRUE.equals(compiled.openNow);
+            }
+            int minute = minuteByZone.computeIfAbsent(compiled.zone,
+                    zone -> WeeklySchedule.minuteOfWeek(instant.atZone(zone)));
+            return compiled.schedule.isOpenAt(minute);
+        };
+    }
+    
+    public ZoneId zoneOf(Restaurant restaurant) {
+        return restaurant.getTimeZone() != null ? ZoneId.of(restaurant.getTimeZone()) : ZoneId.of(defaultTimeZone);
+    }
+    
+    private static Optional<Boolean> isOpenAt(Compiled compiled, Instant instant) {
+        if (compiled.schedule == null) {
+            return Optional.ofNullable(compiled.openNow);
+        }
+        return Optional.of(compiled.schedule.isOpenAt(WeeklySchedule.minuteOfWeek(instant.atZone(compiled.zone))));
+    }
+    
+    // Restaurants without usable hours keep the open_now flag captured at ingest instead
+    private Compiled compile(Restaurant restaurant) {
+        WeeklySchedule schedule = WeeklySchedule.decode(restaurant.getOpeningPeriods());
+        return schedule != null ? new Compiled(schedule, zoneOf(restaurant), null) : new Compiled(null, null, restaurant.getOpenNow());
+    }
+    
+    private record Compiled(WeeklySchedule schedule, ZoneId zone, Boolean openNow) {}
+}
@@ -0,0 +1,184 @@
+package com.foodcritic.service;
+
+import com.foodcritic.event.ReviewEvent;
+import com.foodcritic.event.ReviewEventConsumer;
+import com.foodcritic.model.OutboxEvent;
+import com.foodcritic.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers outbox events to {@link ReviewEventConsumer}s off the request thread.
+ *
+ * Events are hashed by restaurant onto single-threaded partitions, so each
+ * restaurant's events are seen in order while different restaurants proceed
+ * in parallel. A partition's events are marked processed only after every
+ * consumer accepted them; otherwise they are redelivered after an
+ * exponential backoff, and parked as FAILED once they run out of attempts.
+ *
+ * Events are claimed with a lease (see OutboxService.claim), so several
+ * instances may run the dispatcher: claims are serialized by an advisory
+ * lock, each claims different rows, and a restaurant's later events wait
+ * while an earlier one is leased or backing off. An instance that dies mid-delivery leaves its rows to be
+ * claimed again when the lease runs out.
+ */
+@Service
+public class OutboxDispatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired(required = false)
+    private List<ReviewEventConsumer> consumers = List.of();
+    
+    @Value("${app.outbox.dispatcher-enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${app.outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+    
+    @Value("${app.outbox.max-retry-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+    
+    @Value("${app.outbox.lease-seconds:60}")
+    private long leaseSeconds;
+    
+    @Value("${app.outbox.retention-hours:24}")
+    private long retentionHours;
+    
+    private final ExecutorService[] partitions;
+    private final ExecutorService trigger;
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    private final AtomicBoolean rerunRequested = new AtomicBoolean();
+    
+    public OutboxDispatcher(@Value("${app.outbox.partitions:4}") int partitionCount) {
+        this.partitions = new ExecutorService[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            final String name = "outbox-partition-" + i;
+            partitions[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.trigger = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-trigger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    // Kick off delivery as soon as a review write commits instead of waiting for the next poll
+    @TransactionalEventListener
+    public void onReviewCommitted(ReviewEvent event) {
+        if (enabled) {
+            trigger.execute(this::dispatch);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        if (!dispatchLock.tryLock()) {
+            rerunRequested.set(true);
+            return;
+        }
+        try {
+            do {
+                rerunRequested.set(false);
+                while (dispatchBatch() == batchSize) {
+                    // Keep draining while there is a backlog; failed events are out of reach until their backoff ends
+                }
+            } while (rerunRequested.get());
+        } catch (Exception e) {
+            logger.error("Outbox dispatch failed", e);
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+    
+    @Scheduled(fixedRateString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purgeProcessed() {
+        int deleted = outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            logger.info("Purged {} processed outbox events", deleted);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        trigger.shutdownNow();
+        for (ExecutorService partition : partitions) {
+            partition.shutdownNow();
+        }
+    }
+    
+    private int dispatchBatch() {
+        List<OutboxEvent> batch = new ArrayList<>(outboxService.claim(batchSize, leaseSeconds));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batch.sort(Comparator.comparing(OutboxEvent::getId));
+        
+        // Group by partition while keeping id (commit) order inside each group
+        Map<Integer, List<OutboxEvent>> byPartition = new LinkedHashMap<>();
+        for (OutboxEvent outboxEvent : batch) {
+            int partition = Math.floorMod(outboxEvent.getAggregateId().hashCode(), partitions.length);
+            byPartition.computeIfAbsent(partition, p -> new ArrayList<>()).add(outboxEvent);
+        }
+        
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        byPartition.forEach((partition, events) ->
+                deliveries.add(CompletableFuture.runAsync(() -> deliver(events), partitions[partition])));
+        CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        
+        return batch.size();
+    }
+    
+    private void deliver(List<OutboxEvent> outboxEvents) {
+        List<Long> ids = outboxEvents.stream().map(OutboxEvent::getId).toList();
+        try {
+            List<ReviewEvent> events = outboxEvents.stream().map(outboxService::read).toList();
+            for (ReviewEventConsumer consumer : consumers) {
+                consumer.onEvents(events);
+            }
+            outboxEventRepository.markProcessed(ids, LocalDateTime.now());
+        } catch (Exception e) {
+            logger.warn("Delivery of {} outbox events failed, will retry: {}", ids.size(), e.getMessage());
+            String error = e.getMessage() != null && e.getMessage().length() > 1000
+                    ? e.getMessage().substring(0, 1000) : e.getMessage();
+            outboxEventRepository.recordFailure(ids, error, maxAttempts, retryBackoffMs, maxRetryBackoffMs);
+        }
+    }
+}
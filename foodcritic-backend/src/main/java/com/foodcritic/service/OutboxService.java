@@ -0,0 +1,51 @@
+package com.foodcritic.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodcritic.event.ReviewEvent;
+import com.foodcritic.model.OutboxEvent;
+import com.foodcritic.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class OutboxService {
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Must join the caller's transaction so the event commits (or rolls back) with the review write
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(ReviewEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            outboxEventRepository.save(new OutboxEvent(event.getRestaurantId(), event.getType().name(), payload));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize review event", e);
+        }
+    }
+    
+    // One claimer at a time, so an aggregate's next event is never claimed while an earlier one is being leased
+    @Transactional
+    public List<OutboxEvent> claim(int limit, long leaseSeconds) {
+        outboxEventRepository.lockClaims();
+        return outboxEventRepository.claimDue(limit, leaseSeconds);
+    }
+    
+    public ReviewEvent read(OutboxEvent outboxEvent) {
+        try {
+            ReviewEvent event = objectMapper.readValue(outboxEvent.getPayload(), ReviewEvent.class);
+            event.setEventId(outboxEvent.getId());
+            return event;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to deserialize outbox event " + outboxEvent.getId(), e);
+        }
+    }
+}
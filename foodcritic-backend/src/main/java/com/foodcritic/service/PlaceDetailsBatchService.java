@@ -0,0 +1,185 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.GooglePlaceDetailsResponse;
+import com.foodcritic.dto.GooglePlacesSearchResponse;
+import com.foodcritic.dto.PlaceDetailsBatchResponse;
+import com.foodcritic.model.Restaurant;
+import com.foodcritic.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves place details for many ids at once.
+ *
+ * Ids already in the restaurants table are answered locally, then recent
+ * Google responses from the placeDetails cache. The rest are fetched from
+ * Google concurrently, at most maxConcurrency at a time, until the deadline;
+ * whatever has not arrived by then is reported as TIMEOUT.
+ */
+@Service
+public class PlaceDetailsBatchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PlaceDetailsBatchService.class);
+    
+    private static final String CACHE = "placeDetails";
+    
+    @Autowired
+    private GooglePlacesService googlePlacesService;
+    
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+    
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Value("${app.google.places.batch.max-ids:50}")
+    private int maxIds;
+    
+    @Value("${app.google.places.batch.max-concurrency:8}")
+    private int maxConcurrency;
+    
+    @Value("${app.google.places.batch.deadline-ms:2500}")
+    private long deadlineMs;
+    
+    public int getMaxIds() {
+        return maxIds;
+    }
+    
+    /**
+     * The local and cached lookups run on the calling thread; the returned
+     * Mono completes once the Google fetches finish or the deadline passes.
+     */
+    public Mono<PlaceDetailsBatchResponse> getDetails(Collection<String> placeIds) {
+        Set<String> ids = new LinkedHashSet<>();
+        placeIds.stream().filter(id -> id != null && !id.isBlank()).map(String::trim).forEach(ids::add);
+        
+        Map<String, GooglePlaceDetailsResponse.GooglePlaceDetails> found = new HashMap<>();
+        Map<String, String> sources = new HashMap<>();
+        
+        // One IN query for everything we already store; placeholder rows without an address don't count
+        Instant now = Instant.now();
+        for (Restaurant restaurant : restaurantRepository.findAllById(ids)) {
+            if (restaurant.getAddress() != null) {
+                found.put(restaurant.getId(), toDetails(restaurant, now));
+                sources.put(restaurant.getId(), "local");
+            }
+        }
+        
+        Cache cache = cacheManager.getCache(CACHE);
+        List<String> remote = new ArrayList<>();
+        for (String id : ids) {
+            if (found.containsKey(id)) {
+                continue;
+            }
+            GooglePlaceDetailsResponse.GooglePlaceDetails cached = cache != null
+                    ? cache.get(id, GooglePlaceDetailsResponse.GooglePlaceDetails.class)
+                    : null;
+            if (cached != null) {
+                found.put(id, cached);
+                sources.put(id, "cache");
+            } else {
+                remote.add(id);
+            }
+        }
+        
+        if (remote.isEmpty()) {
+            return Mono.just(toResponse(ids, found, sources, Map.of()));
+        }
+        
+        // Google calls stay on the WebClient's event loop; the request thread is released until they finish
+        return Flux.fromIterable(remote)
+                .flatMap(id -> googlePlacesService.getRestaurantDetailsAsync(id).map(response -> Map.entry(id, response)),
+                        maxConcurrency)
+                .takeUntilOther(Mono.delay(Duration.ofMillis(deadlineMs)))
+                .collectList()
+                .map(fetched -> {
+                    Map<String, String> errors = new HashMap<>();
+                    for (Map.Entry<String, GooglePlaceDetailsResponse> entry : fetched) {
+                        GooglePlaceDetailsResponse response = entry.getValue();
+                        if ("OK".equals(response.getStatus()) && response.getResult() != null) {
+                            found.put(entry.getKey(), response.getResult());
+                            sources.put(entry.getKey(), "google");
+                            if (cache != null) {
+                                cache.put(entry.getKey(), response.getResult());
+                            }
+                        } else {
+                            errors.put(entry.getKey(), response.getStatus() != null ? response.getStatus() : "ERROR");
+                        }
+                    }
+                    return toResponse(ids, found, sources, errors);
+                });
+    }
+    
+    private PlaceDetailsBatchResponse toResponse(Set<String> ids,
+                                                 Map<String, GooglePlaceDetailsResponse.GooglePlaceDetails> found,
+                                                 Map<String, String> sources, Map<String, String> errors) {
+        PlaceDetailsBatchResponse batch = new PlaceDetailsBatchResponse();
+        for (String id : ids) {
+            if (found.containsKey(id)) {
+                batch.getResults().put(id, found.get(id));
+                batch.getSources().put(id, sources.get(id));
+            } else if (errors.containsKey(id)) {
+                batch.getErrors().put(id, errors.get(id));
+            } else {
+                batch.getErrors().put(id, "TIMEOUT");
+                batch.setPartial(true);
+            }
+        }
+        
+        logger.info("Place details batch of {}: {} local, {} cached, {} from Google, {} failed{}",
+                ids.size(), count(batch.getSources(), "local"), count(batch.getSources(), "cache"),
+                count(batch.getSources(), "google"), batch.getErrors().size(),
+                batch.isPartial() ? " (deadline reached)" : "");
+        return batch;
+    }
+    
+    private static long count(Map<String, String> sources, String source) {
+        return sources.values().stream().filter(source::equals).count();
+    }
+    
+    private GooglePlaceDetailsResponse.GooglePlaceDetails toDetails(Restaurant restaurant, Instant now) {
+        GooglePlaceDetailsResponse.GooglePlaceDetails details = new GooglePlaceDetailsResponse.GooglePlaceDetails();
+        details.setPlaceId(restaurant.getId());
+        details.setName(restaurant.getName());
+        details.setFormattedAddress(restaurant.getAddress());
+        details.setFormattedPhoneNumber(restaurant.getPhoneNumber());
+        details.setWebsite(restaurant.getWebsite());
+        details.setUserRatingsTotal(restaurant.getUserRatingsTotal());
+        details.setPriceLevel(restaurant.getPriceLevel());
+        details.setTypes(restaurant.getCuisine() != null ? List.of(restaurant.getCuisine()) : List.of());
+        
+        if (restaurant.getLatitude() != null && restaurant.getLongitude() != null) {
+            GooglePlacesSearchResponse.Location location = new GooglePlacesSearchResponse.Location();
+            location.setLat(restaurant.getLatitude());
+            location.setLng(restaurant.getLongitude());
+            GooglePlacesSearchResponse.Geometry geometry = new GooglePlacesSearchResponse.Geometry();
+            geometry.setLocation(location);
+            details.setGeometry(geometry);
+        }
+        
+        GooglePlaceDetailsResponse.OpeningHoursDetails hours = new GooglePlaceDetailsResponse.OpeningHoursDetails();
+        hours.setOpenNow(openingHoursIndex.isOpenAt(restaurant, now).orElse(null));
+        details.setOpeningHours(hours);
+        return details;
+    }
+}
@@ -0,0 +1,100 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.RestaurantRatingAggregate;
+import com.foodcritic.event.RatingAggregatesChangedEvent;
+import com.foodcritic.event.ReviewEvent;
+import com.foodcritic.event.ReviewEventConsumer;
+import com.foodcritic.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory review count and rating sum per restaurant.
+ *
+ * Outbox batches are collapsed to the set of touched restaurants, which are
+ * re-aggregated with one grouped query. Re-reading instead of applying deltas
+ * keeps redelivered events harmless. Listeners are told what changed through
+ * {@link RatingAggregatesChangedEvent}.
+ */
+@Service
+public class RatingAggregateService implements ReviewEventConsumer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RatingAggregateService.class);
+    
+    @Autowired
+    private ReviewRepository reviewRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    private final Map<String, RestaurantRatingAggregate> aggregates = new ConcurrentHashMap<>();
+    
+    public RestaurantRatingAggregate getAggregate(String restaurantId) {
+        RestaurantRatingAggregate aggregate = aggregates.get(restaurantId);
+        return aggregate != null ? aggregate : RestaurantRatingAggregate.empty(restaurantId);
+    }
+    
+    public Map<String, RestaurantRatingAggregate> getAggregates() {
+        return aggregates;
+    }
+    
+    @Override
+    public void onEvents(List<ReviewEvent> events) {
+        Set<String> restaurantIds = new LinkedHashSet<>();
+        events.forEach(event -> restaurantIds.add(event.getRestaurantId()));
+        refresh(restaurantIds);
+    }
+    
+    public void refresh(Set<String> restaurantIds) {
+        Map<String, RestaurantRatingAggregate> fresh = new HashMap<>();
+        reviewRepository.findRatingAggregates(restaurantIds)
+                .forEach(aggregate -> fresh.put(aggregate.getRestaurantId(), aggregate));
+        
+        List<RestaurantRatingAggregate> changed = new ArrayList<>(restaurantIds.size());
+        for (String restaurantId : restaurantIds) {
+            // Restaurants whose last review was deleted drop out of the grouped result
+            RestaurantRatingAggregate aggregate = fresh.getOrDefault(restaurantId, RestaurantRatingAggregate.empty(restaurantId));
+            if (aggregate.getReviewCount() == 0) {
+                aggregates.remove(restaurantId);
+            } else {
+                aggregates.put(restaurantId, aggregate);
+            }
+            changed.add(aggregate);
+        }
+        eventPublisher.publishEvent(new RatingAggregatesChangedEvent(changed, false));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reloadAll();
+    }
+    
+    // Periodic full reload heals anything the incremental path missed (e.g. writes handled by another instance)
+    @Scheduled(fixedRateString = "${app.ratings.reload-interval-ms:3600000}",
+               initialDelayString = "${app.ratings.reload-interval-ms:3600000}")
+    public void reloadAll() {
+        List<RestaurantRatingAggregate> all = reviewRepository.findAllRatingAggregates();
+        Map<String, RestaurantRatingAggregate> loaded = new HashMap<>();
+        all.forEach(aggregate -> loaded.put(aggregate.getRestaurantId(), aggregate));
+        
+        aggregates.keySet().retainAll(loaded.keySet());
+        aggregates.putAll(loaded);
+        
+        logger.info("Loaded rating aggregates for {} restaurants", all.size());
+        eventPublisher.publishEvent(new RatingAggregatesChangedEvent(all, true));
+    }
+}
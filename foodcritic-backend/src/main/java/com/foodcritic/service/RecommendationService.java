@@ -0,0 +1,377 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.RestaurantRecommendation;
+import com.foodcritic.event.ReviewEvent;
+import com.foodcritic.event.ReviewEventConsumer;
+import com.foodcritic.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * "People who liked this also liked" recommendations.
+ *
+ * A review at or above the like threshold counts as a like. For every pair
+ * of restaurants the engine keeps how many users liked both, in one sparse
+ * int-to-int row per restaurant; restaurants are mapped to dense ints so
+ * rows, counts and scratch buffers never box. Similarity is the cosine of
+ * the like vectors, co-likes / sqrt(likes(a) * likes(b)).
+ *
+ * Review events update the rows in place and recompute the top-K lists of
+ * the restaurants and users they touched. Lists that only changed because a
+ * neighbor's like count moved catch up on the periodic refresh. Reads return
+ * the published immutable lists.
+ */
+@Service
+public class RecommendationService implements ReviewEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+
+    private static final Comparator<Scored> BY_SCORE = Comparator
+            .comparingDouble(Scored::score)
+            .thenComparing(Comparator.comparingInt(Scored::restaurant).reversed());
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Value("${app.recommendations.top-k:20}")
+    private int topK;
+
+    @Value("${app.recommendations.like-threshold:4}")
+    private int likeThreshold;
+
+    // Pairs liked together by fewer users than this are noise and never recommended
+    @Value("${app.recommendations.min-co-likes:2}")
+    private int minCoLikes;
+
+    // Dense restaurant indexes; rows, like counts and neighbor lists are addressed by these
+    private final Map<String, Integer> restaurantIndex = new HashMap<>();
+    private final List<String> restaurantIds = new ArrayList<>();
+    private final List<IntIntMap> coLikes = new ArrayList<>();
+    private final List<Scored[]> neighbors = new ArrayList<>();
+    private int[] likeCounts = new int[64];
+
+    // Restaurant index -> rating, per user
+    private final Map<Long, IntIntMap> ratingsByUser = new HashMap<>();
+
+    // Scratch for scoring a user's candidates, grown with the restaurant count
+    private float[] candidateScores = new float[64];
+
+    private final Map<String, List<Scored>> similarSnapshots = new ConcurrentHashMap<>();
+    private final Map<Long, List<Scored>> userSnapshots = new ConcurrentHashMap<>();
+
+    // Published snapshots hold indexes; this copy of the id table is what readers resolve them against
+    private volatile String[] publishedIds = new String[0];
+
+    public List<RestaurantRecommendation> getSimilar(String restaurantId, int limit) {
+        return hydrate(similarSnapshots.getOrDefault(restaurantId, List.of()), limit);
+    }
+
+    public List<RestaurantRecommendation> getForUser(Long userId, int limit) {
+        return hydrate(userSnapshots.getOrDefault(userId, List.of()), limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void load() {
+        restaurantIndex.clear();
+        restaurantIds.clear();
+        coLikes.clear();
+        neighbors.clear();
+        likeCounts = new int[64];
+        candidateScores = new float[64];
+        ratingsByUser.clear();
+
+        long reviews = 0;
+        Set<Integer> dirtyRestaurants = new HashSet<>();
+        Set<Long> dirtyUsers = new HashSet<>();
+        try (Stream<Object[]> rows = reviewRepository.streamRatings()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                setRating((Long) row[0], (String) row[1], (Integer) row[2], dirtyRestaurants, dirtyUsers);
+                reviews++;
+            }
+        }
+        refreshAll();
+        logger.info("Loaded recommendations from {} reviews: {} restaurants, {} users",
+                reviews, restaurantIds.size(), ratingsByUser.size());
+    }
+
+    // Setting a rating is idempotent, so redelivered events leave the matrices unchanged
+    @Override
+    public synchronized void onEvents(List<ReviewEvent> events) {
+        Set<Integer> dirtyRestaurants = new HashSet<>();
+        Set<Long> dirtyUsers = new HashSet<>();
+        for (ReviewEvent event : events) {
+            Integer rating = event.getType() == ReviewEvent.Type.DELETED ? null : event.getRating();
+            setRating(event.getUserId(), event.getRestaurantId(), rating, dirtyRestaurants, dirtyUsers);
+        }
+        dirtyRestaurants.forEach(this::refreshRestaurant);
+        publishIds();
+        dirtyUsers.forEach(this::refreshUser);
+    }
+
+    // Rescores every list; picks up similarity drift that the incremental path leaves behind
+    @Scheduled(fixedDelayString = "${app.recommendations.refresh-interval-ms:900000}",
+               initialDelayString = "${app.recommendations.refresh-interval-ms:900000}")
+    public synchronized void refreshAll() {
+        for (int restaurant = 0; restaurant < restaurantIds.size(); restaurant++) {
+            refreshRestaurant(restaurant);
+        }
+        publishIds();
+        userSnapshots.keySet().retainAll(ratingsByUser.keySet());
+        ratingsByUser.keySet().forEach(this::refreshUser);
+    }
+
+    private void setRating(Long userId, String restaurantId, Integer rating,
+                           Set<Integer> dirtyRestaurants, Set<Long> dirtyUsers) {
+        if (userId == null || restaurantId == null) {
+            return;
+        }
+        int restaurant = indexOf(restaurantId);
+        IntIntMap ratings = ratingsByUser.computeIfAbsent(userId, id -> new IntIntMap());
+        int previous = ratings.get(restaurant);
+        int current = rating != null ? rating : 0;
+        if (previous != current) {
+            ratings.put(restaurant, current);
+            dirtyUsers.add(userId);
+        }
+        if (ratings.size() == 0) {
+            ratingsByUser.remove(userId);
+        }
+
+        boolean wasLiked = previous >= likeThreshold;
+        boolean liked = current >= likeThreshold;
+        if (wasLiked == liked) {
+            return;
+        }
+        int delta = liked ? 1 : -1;
+        likeCounts[restaurant] += delta;
+        dirtyRestaurants.add(restaurant);
+        ratings.forEach((other, otherRating) -> {
+            if (other != restaurant && otherRating >= likeThreshold) {
+                coLikes.get(restaurant).add(other, delta);
+                coLikes.get(other).add(restaurant, delta);
+                dirtyRestaurants.add(other);
+            }
+        });
+    }
+
+    private int indexOf(String restaurantId) {
+        Integer index = restaurantIndex.get(restaurantId);
+        if (index != null) {
+            return index;
+        }
+        int added = restaurantIds.size();
+        restaurantIndex.put(restaurantId, added);
+        restaurantIds.add(restaurantId);
+        coLikes.add(new IntIntMap());
+        neighbors.add(new Scored[0]);
+        if (added == likeCounts.length) {
+            likeCounts = Arrays.copyOf(likeCounts, added * 2);
+            candidateScores = new float[added * 2];
+        }
+        return added;
+    }
+
+    private void refreshRestaurant(int restaurant) {
+        int likes = likeCounts[restaurant];
+        PriorityQueue<Scored> top = new PriorityQueue<>(topK + 1, BY_SCORE);
+        if (likes > 0) {
+            coLikes.get(restaurant).forEach((other, together) -> {
+                if (together >= minCoLikes) {
+                    offer(top, new Scored(other, (float) (together / Math.sqrt((double) likes * likeCounts[other]))));
+                }
+            });
+        }
+        Scored[] ranked = drain(top);
+        neighbors.set(restaurant, ranked);
+        if (ranked.length == 0) {
+            similarSnapshots.remove(restaurantIds.get(restaurant));
+        } else {
+            similarSnapshots.put(restaurantIds.get(restaurant), List.of(ranked));
+        }
+    }
+
+    // Sums the neighbor similarities of the user's likes, skipping anything the user already reviewed
+    private void refreshUser(Long userId) {
+        IntIntMap ratings = ratingsByUser.get(userId);
+        if (ratings == null) {
+            userSnapshots.remove(userId);
+            return;
+        }
+
+        IntIntMap candidates = new IntIntMap();
+        ratings.forEach((restaurant, rating) -> {
+            if (rating < likeThreshold) {
+                return;
+            }
+            for (Scored neighbor : neighbors.get(restaurant)) {
+                if (ratings.get(neighbor.restaurant()) == 0) {
+                    candidateScores[neighbor.restaurant()] += neighbor.score();
+                    candidates.put(neighbor.restaurant(), 1);
+                }
+            }
+        });
+
+        PriorityQueue<Scored> top = new PriorityQueue<>(topK + 1, BY_SCORE);
+        candidates.forEach((restaurant, unused) -> {
+            offer(top, new Scored(restaurant, candidateScores[restaurant]));
+            candidateScores[restaurant] = 0f;
+        });
+        Scored[] ranked = drain(top);
+        if (ranked.length == 0) {
+            userSnapshots.remove(userId);
+        } else {
+            userSnapshots.put(userId, List.of(ranked));
+        }
+    }
+
+    private void offer(PriorityQueue<Scored> top, Scored candidate) {
+        top.offer(candidate);
+        if (top.size() > topK) {
+            top.poll();
+        }
+    }
+
+    private static Scored[] drain(PriorityQueue<Scored> top) {
+        Scored[] ranked = new Scored[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = top.poll();
+        }
+        return ranked;
+    }
+
+    private void publishIds() {
+        if (publishedIds.length != restaurantIds.size()) {
+            publishedIds = restaurantIds.toArray(new String[0]);
+        }
+    }
+
+    // Summaries come from the restaurant details cache; ids of deleted restaurants drop out here
+    private List<RestaurantRecommendation> hydrate(List<Scored> ranked, int limit) {
+        String[] ids = publishedIds;
+        List<RestaurantRecommendation> recommendations = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (Scored scored : ranked) {
+            if (recommendations.size() == limit) {
+                break;
+            }
+            if (scored.restaurant() >= ids.length) {
+                continue;
+            }
+            Optional<RestaurantRecommendation> recommendation = restaurantService.getRestaurantSummary(ids[scored.restaurant()])
+                    .map(summary -> new RestaurantRecommendation(restaurantService.withOpenNow(summary), scored.score()));
+            recommendation.ifPresent(recommendations::add);
+        }
+        return recommendations;
+    }
+
+    private record Scored(int restaurant, float score) {}
+
+    /**
+     * Open-addressing int-to-int map with linear probing, for non-negative
+     * keys. Zero values count as absent; their slots are reclaimed when the
+     * table is rehashed.
+     */
+    static final class IntIntMap {
+        private static final int EMPTY = -1;
+
+        private int[] keys = emptyKeys(8);
+        private int[] values = new int[8];
+        private int occupied;
+        private int size;
+
+        int get(int key) {
+            int slot = find(key);
+            return keys[slot] == key ? values[slot] : 0;
+        }
+
+        void put(int key, int value) {
+            int slot = find(key);
+            if (keys[slot] == key) {
+                size += (value != 0 ? 1 : 0) - (values[slot] != 0 ? 1 : 0);
+                values[slot] = value;
+            } else if (value != 0) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                if (++occupied * 2 > keys.length) {
+                    rehash();
+                }
+            }
+        }
+
+        void add(int key, int delta) {
+            put(key, get(key) + delta);
+        }
+
+        int size() {
+            return size;
+        }
+
+        void forEach(IntIntConsumer action) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY && values[slot] != 0) {
+                    action.accept(keys[slot], values[slot]);
+                }
+            }
+        }
+
+        private int find(int key) {
+            int mask = keys.length - 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            int capacity = Integer.highestOneBit(Math.max(8, size * 4 - 1)) << 1;
+            keys = emptyKeys(capacity);
+            values = new int[capacity];
+            occupied = 0;
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY && oldValues[slot] != 0) {
+                    put(oldKeys[slot], oldValues[slot]);
+                }
+            }
+        }
+
+        private static int[] emptyKeys(int capacity) {
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+
+    @FunctionalInterface
+    interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+}
@@ -0,0 +1,665 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.RestaurantRatingAggregate;
+import com.foodcritic.event.RatingAggregatesChangedEvent;
+import com.foodcritic.event.RestaurantChangedEvent;
+import com.foodcritic.model.City;
+import com.foodcritic.model.Restaurant;
+import com.foodcritic.repository.RestaurantRepository;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Read-optimized copy of each city's catalog, stored as primitive columns
+ * with a compressed bitmap index per attribute value.
+ *
+ * Coordinates and ratings are double[], price is a byte[], and cuisine and
+ * neighborhood are int codes into per-snapshot dictionaries. Each cuisine,
+ * neighborhood, price level and rating bucket also has a RoaringBitmap of
+ * the rows holding it, so a combination of filters is an AND of a few
+ * bitmaps (an OR first where a text filter matches several dictionary
+ * values) and facet counts are AND cardinalities. Only the name, address,
+ * distance and the partial rating bucket of a minimum rating are checked
+ * row by row, and only on rows the bitmaps let through. Open-at filters
+ * use a bitmap computed once per minute.
+ *
+ * Snapshots are immutable and replaced whole per city; readers keep
+ * whichever snapshot they started with. Rating changes copy only the
+ * rating column and the rating bucket bitmaps.
+ */
+@Service
+public class RestaurantColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantColumnStore.class);
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+
+    @Autowired
+    private CityRegistry cityRegistry;
+
+    // Restaurants per city as last seen; snapshots are rebuilt from these
+    private final Map<String, Map<String, Restaurant>> restaurantsByCity = new HashMap<>();
+    private final Map<String, String> cityByRestaurant = new ConcurrentHashMap<>();
+    private final Map<String, Columns> snapshots = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        restaurantsByCity.clear();
+        cityByRestaurant.clear();
+        for (City city : cityRegistry.getCities()) {
+            Map<String, Restaurant> restaurants = new HashMap<>();
+            for (Restaurant restaurant : restaurantRepository.findAllInCity(city.getId())) {
+                restaurants.put(restaurant.getId(), restaurant);
+                cityByRestaurant.put(restaurant.getId(), city.getId());
+            }
+            restaurantsByCity.put(city.getId(), restaurants);
+            rebuild(city.getId());
+        }
+        logger.info("Loaded column store for {} restaurants", cityByRestaurant.size());
+    }
+
+    @EventListener
+    public synchronized void onRestaurantChanged(RestaurantChangedEvent event) {
+        Set<String> touched = new HashSet<>();
+        String previousCity = cityByRestaurant.remove(event.getRestaurantId());
+        if (previousCity != null) {
+            restaurantsByCity.get(previousCity).remove(event.getRestaurantId());
+            touched.add(previousCity);
+        }
+        Restaurant restaurant = event.getRestaurant();
+        if (!event.isDeleted() && restaurant.getCityId() != null) {
+            restaurantsByCity.computeIfAbsent(restaurant.getCityId(), id -> new HashMap<>()).put(restaurant.getId(), restaurant);
+            cityByRestaurant.put(restaurant.getId(), restaurant.getCityId());
+            touched.add(restaurant.getCityId());
+        }
+        touched.forEach(this::rebuild);
+    }
+
+    @EventListener
+    public synchronized void onRatingAggregatesChanged(RatingAggregatesChangedEvent event) {
+        if (event.isFullReload()) {
+            restaurantsByCity.keySet().forEach(this::rebuild);
+            return;
+        }
+        Map<String, Map<String, RestaurantRatingAggregate>> changedByCity = new HashMap<>();
+        for (RestaurantRatingAggregate aggregate : event.getAggregates()) {
+            String cityId = cityByRestaurant.get(aggregate.getRestaurantId());
+            if (cityId != null) {
+                changedByCity.computeIfAbsent(cityId, id -> new HashMap<>()).put(aggregate.getRestaurantId(), aggregate);
+            }
+        }
+        changedByCity.forEach((cityId, changed) -> {
+            Columns current = snapshots.get(cityId);
+            if (current != null) {
+                snapshots.put(cityId, current.withRatings(changed));
+            }
+        });
+    }
+
+    public Optional<String> getCityId(String restaurantId) {
+        return Optional.ofNullable(cityByRestaurant.get(restaurantId));
+    }
+
+    /**
+     * The city's restaurants matching every non-null filter, in name order.
+     * A non-null openAt keeps only restaurants open at that instant.
+     */
+    public List<Restaurant> search(String cityId, Filter filter, Instant openAt) {
+        Columns columns = snapshots.get(cityId);
+        if (columns == null) {
+            return List.of();
+        }
+        int[] matches = new int[columns.size()];
+        int count = columns.filter(filter, openAt != null ? openRows(columns, openAt) : null, matches);
+        List<Restaurant> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(columns.restaurants[matches[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * The city's restaurants within radiusKm of the point, nearest first.
+     */
+    public List<Restaurant> findNearby(String cityId, double latitude, double longitude, double radiusKm) {
+        Columns columns = snapshots.get(cityId);
+        if (columns == null) {
+            return List.of();
+        }
+        int[] matches = new int[columns.size()];
+        int count = columns.filter(Filter.within(latitude, longitude, radiusKm), null, matches);
+        double[] distances = new double[columns.size()];
+        for (int i = 0; i < count; i++) {
+            distances[matches[i]] = columns.distanceKm(matches[i], latitude, longitude);
+        }
+        List<Restaurant> result = new ArrayList<>(count);
+        Arrays.stream(matches, 0, count)
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> distances[i]))
+                .forEach(i -> result.add(columns.restaurants[i]));
+        return result;
+    }
+
+    // The current snapshot for RestaurantFacetIndex; null when the city has no restaurants
+    Columns snapshot(String cityId) {
+        return cityId != null ? snapshots.get(cityId) : null;
+    }
+
+    // Rows open at the instant; the bitmap for the current minute is kept on the snapshot
+    RoaringBitmap openRows(Columns columns, Instant instant) {
+        return columns.openAt(instant, openingHoursIndex::openAt);
+    }
+
+    private void rebuild(String cityId) {
+        Map<String, Restaurant> restaurants = restaurantsByCity.getOrDefault(cityId, Map.of());
+        if (restaurants.isEmpty()) {
+            snapshots.remove(cityId);
+            return;
+        }
+        Function<String, String> neighborhoodOf = cityRegistry.find(cityId)
+                .<Function<String, String>>map(city -> city::neighborhoodOf)
+                .orElse(address -> null);
+        snapshots.put(cityId, Columns.build(new ArrayList<>(restaurants.values()), ratingAggregateService::getAggregate,
+                neighborhoodOf));
+    }
+
+    /**
+     * Search criteria; null fields are not filtered on. Name, cuisine and
+     * location (against the address) match on a case-insensitive substring,
+     * neighborhood exactly.
+     */
+    record Filter(String name, String cuisine, String location, String neighborhood, Integer priceLevel,
+                  Double minRating, Double latitude, Double longitude, Double radiusKm) {
+
+        static Filter within(double latitude, double longitude, double radiusKm) {
+            return new Filter(null, null, null, null, null, null, latitude, longitude, radiusKm);
+        }
+
+        // The same criteria with one attribute's filter dropped, for its own facet's counts
+        Filter withoutCuisine() {
+            return new Filter(name, null, location, neighborhood, priceLevel, minRating, latitude, longitude, radiusKm);
+        }
+
+        Filter withoutNeighborhood() {
+            return new Filter(name, cuisine, location, null, priceLevel, minRating, latitude, longitude, radiusKm);
+        }
+
+        Filter withoutPriceLevel() {
+            return new Filter(name, cuisine, location, neighborhood, null, minRating, latitude, longitude, radiusKm);
+        }
+
+        Filter withoutMinRating() {
+            return new Filter(name, cuisine, location, neighborhood, priceLevel, null, latitude, longitude, radiusKm);
+        }
+    }
+
+    /**
+     * One immutable snapshot. Row i of every array and bitmap describes
+     * restaurants[i]; rows are in name order so results need no further
+     * sort by default. Bitmaps handed out by the accessors are shared and
+     * must not be modified.
+     */
+    static final class Columns {
+        static final int MAX_PRICE_LEVEL = 4;
+        // Rating bucket 0 is unrated; bucket k in 1..4 holds averages from k up to k + 1
+        static final int UNRATED = 0;
+        static final int MAX_RATING_BUCKET = 4;
+
+        private static final double KM_PER_DEGREE = 111.0;
+        private static final double EARTH_RADIUS_KM = 6371.0;
+        private static final byte NO_PRICE = -1;
+        private static final int NO_CODE = -1;
+
+        private final Restaurant[] restaurants;
+        private final Map<String, Integer> rows;
+        private final String[] names;
+        private final String[] addresses;
+        // NaN when the restaurant has no coordinates
+        private final double[] latitude;
+        private final double[] longitude;
+        private final double[] rating;
+        private final byte[] ratingBucket;
+        private final byte[] price;
+        private final int[] cuisine;
+        private final int[] neighborhood;
+        private final String[] cuisines;
+        private final String[] neighborhoods;
+
+        private final RoaringBitmap[] cuisineRows;
+        private final RoaringBitmap[] neighborhoodRows;
+        private final RoaringBitmap[] priceRows;
+        private final RoaringBitmap[] ratingRows;
+
+        // Open rows for one epoch minute, recomputed when the minute moves on
+        private volatile OpenRows open;
+
+        private Columns(Restaurant[] restaurants, Map<String, Integer> rows, String[] names, String[] addresses,
+                        double[] latitude, double[] longitude, double[] rating, byte[] ratingBucket, byte[] price,
+                        int[] cuisine, int[] neighborhood, String[] cuisines, String[] neighborhoods,
+                        RoaringBitmap[] cuisineRows, RoaringBitmap[] neighborhoodRows,
+                        RoaringBitmap[] priceRows, RoaringBitmap[] ratingRows) {
+            this.restaurants = restaurants;
+            this.rows = rows;
+            this.names = names;
+            this.addresses = addresses;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.rating = rating;
+            this.ratingBucket = ratingBucket;
+            this.price = price;
+            this.cuisine = cuisine;
+            this.neighborhood = neighborhood;
+            this.cuisines = cuisines;
+            this.neighborhoods = neighborhoods;
+            this.cuisineRows = cuisineRows;
+            this.neighborhoodRows = neighborhoodRows;
+            this.priceRows = priceRows;
+            this.ratingRows = ratingRows;
+        }
+
+        // neighborhoodOf maps an address to its neighborhood in the snapshot's city
+        static Columns build(List<Restaurant> source, Function<String, RestaurantRatingAggregate> ratings,
+                             Function<String, String> neighborhoodOf) {
+            source.sort(Comparator.comparing(Restaurant::getName, Comparator.nullsLast(Comparator.<String>naturalOrder())));
+            int n = source.size();
+            Restaurant[] restaurants = new Restaurant[n];
+            Map<String, Integer> rows = new HashMap<>(n * 2);
+            String[] names = new String[n];
+            String[] addresses = new String[n];
+            double[] latitude = new double[n];
+            double[] longitude = new double[n];
+            double[] rating = new double[n];
+            byte[] ratingBucket = new byte[n];
+            byte[] price = new byte[n];
+            int[] cuisine = new int[n];
+            int[] neighborhood = new int[n];
+            Map<String, Integer> cuisineCodes = new HashMap<>();
+            Map<String, Integer> neighborhoodCodes = new HashMap<>();
+            List<RoaringBitmap> cuisineRows = new ArrayList<>();
+            List<RoaringBitmap> neighborhoodRows = new ArrayList<>();
+            RoaringBitmap[] priceRows = emptyBitmaps(MAX_PRICE_LEVEL + 1);
+            RoaringBitmap[] ratingRows = emptyBitmaps(MAX_RATING_BUCKET + 1);
+
+            for (int i = 0; i < n; i++) {
+                Restaurant restaurant = source.get(i);
+                RestaurantRatingAggregate aggregate = ratings.apply(restaurant.getId());
+                restaurants[i] = restaurant;
+                rows.put(restaurant.getId(), i);
+                names[i] = restaurant.getName() != null ? restaurant.getName().toLowerCase() : null;
+                addresses[i] = restaurant.getAddress() != null ? restaurant.getAddress().toLowerCase() : null;
+                latitude[i] = restaurant.getLatitude() != null ? restaurant.getLatitude() : Double.NaN;
+                longitude[i] = restaurant.getLongitude() != null ? restaurant.getLongitude() : Double.NaN;
+                rating[i] = aggregate.getAverageRating();
+                ratingBucket[i] = bucketOf(aggregate);
+                ratingRows[ratingBucket[i]].add(i);
+                Integer priceLevel = restaurant.getPriceLevel();
+                if (priceLevel != null && priceLevel >= 0 && priceLevel <= MAX_PRICE_LEVEL) {
+                    price[i] = priceLevel.byteValue();
+                    priceRows[price[i]].add(i);
+                } else {
+                    price[i] = NO_PRICE;
+                }
+                cuisine[i] = encode(cuisineCodes, cuisineRows, restaurant.getCuisine(), i);
+                neighborhood[i] = encode(neighborhoodCodes, neighborhoodRows, neighborhoodOf.apply(restaurant.getAddress()), i);
+            }
+            return new Columns(restaurants, rows, names, addresses, latitude, longitude, rating, ratingBucket, price,
+                    cuisine, neighborhood, dictionary(cuisineCodes), dictionary(neighborhoodCodes),
+                    optimized(cuisineRows.toArray(new RoaringBitmap[0])), optimized(neighborhoodRows.toArray(new RoaringBitmap[0])),
+                    optimized(priceRows), optimized(ratingRows));
+        }
+
+        // Same snapshot with fresh rating columns and bucket bitmaps; everything else is shared
+        Columns withRatings(Map<String, RestaurantRatingAggregate> changed) {
+            double[] updatedRating = rating.clone();
+            byte[] updatedBucket = ratingBucket.clone();
+            RoaringBitmap[] updatedRows = new RoaringBitmap[ratingRows.length];
+            for (int bucket = 0; bucket < ratingRows.length; bucket++) {
+                updatedRows[bucket] = ratingRows[bucket].clone();
+            }
+            changed.forEach((restaurantId, aggregate) -> {
+                Integer row = rows.get(restaurantId);
+                if (row != null) {
+                    updatedRating[row] = aggregate.getAverageRating();
+                    byte bucket = bucketOf(aggregate);
+                    if (bucket != updatedBucket[row]) {
+                        updatedRows[updatedBucket[row]].remove(row);
+                        updatedRows[bucket].add(row);
+                        updatedBucket[row] = bucket;
+                    }
+                }
+            });
+            return new Columns(restaurants, rows, names, addresses, latitude, longitude, updatedRating, updatedBucket, price,
+                    cuisine, neighborhood, cuisines, neighborhoods, cuisineRows, neighborhoodRows, priceRows, updatedRows);
+        }
+
+        int size() {
+            return restaurants.length;
+        }
+
+        Restaurant restaurant(int row) {
+            return restaurants[row];
+        }
+
+        /**
+         * Writes the rows matching the filter, and in open when that is not
+         * null, into matches in order and returns how many there are. The
+         * attribute filters are resolved to one bitmap first; name, location
+         * and distance are tested only on the rows it contains.
+         */
+        int filter(Filter filter, RoaringBitmap open, int[] matches) {
+            RoaringBitmap candidates = intersect(attributeRows(filter), open);
+            RowCheck check = RowCheck.of(filter);
+            if (check == null && candidates != null) {
+                return copyInto(candidates, matches);
+            }
+
+            int count = 0;
+            PeekableIntIterator iterator = candidates != null ? candidates.getIntIterator() : null;
+            int total = candidates != null ? candidates.getCardinality() : restaurants.length;
+            for (int k = 0; k < total; k++) {
+                int i = iterator != null ? iterator.next() : k;
+                if (check == null || passes(i, check)) {
+                    matches[count++] = i;
+                }
+            }
+            return count;
+        }
+
+        // AND of the filters backed by bitmaps (cuisine, neighborhood, price, rating), or null when none is set
+        RoaringBitmap attributeRows(Filter filter) {
+            return intersect(
+                    hasText(filter.cuisine()) ? cuisineRows(filter.cuisine(), false) : null,
+                    hasText(filter.neighborhood()) ? neighborhoodRows(filter.neighborhood(), true) : null,
+                    filter.priceLevel() != null ? priceRows(filter.priceLevel()) : null,
+                    filter.minRating() != null ? ratingAtLeast(filter.minRating()) : null);
+        }
+
+        /**
+         * Rows of within (every row when null) that pass the filters checked
+         * row by row: name, location and distance. Returns within itself when
+         * the filter sets none of them.
+         */
+        RoaringBitmap scannedRows(Filter filter, RoaringBitmap within) {
+            RowCheck check = RowCheck.of(filter);
+            if (check == null) {
+                return within;
+            }
+            RoaringBitmap result = new RoaringBitmap();
+            if (within == null) {
+                for (int i = 0; i < restaurants.length; i++) {
+                    if (passes(i, check)) {
+                        result.add(i);
+                    }
+                }
+                return result;
+            }
+            PeekableIntIterator iterator = within.getIntIterator();
+            while (iterator.hasNext()) {
+                int i = iterator.next();
+                if (passes(i, check)) {
+                    result.add(i);
+                }
+            }
+            return result;
+        }
+
+        private boolean passes(int row, RowCheck check) {
+            if (check.spatial() && !(Math.abs(latitude[row] - check.latitude()) <= check.latitudeSpan()
+                    && distanceKm(row, check.latitude(), check.longitude()) <= check.radiusKm())) {
+                return false;
+            }
+            if (check.name() != null && (names[row] == null || !names[row].contains(check.name()))) {
+                return false;
+            }
+            return check.location() == null || (addresses[row] != null && addresses[row].contains(check.location()));
+        }
+
+        // Rows whose cuisine equals (ignoring case) or contains the value
+        RoaringBitmap cuisineRows(String value, boolean exact) {
+            return union(cuisines, cuisineRows, value, exact);
+        }
+
+        RoaringBitmap neighborhoodRows(String value, boolean exact) {
+            return union(neighborhoods, neighborhoodRows, value, exact);
+        }
+
+        RoaringBitmap priceRows(int priceLevel) {
+            return priceLevel >= 0 && priceLevel <= MAX_PRICE_LEVEL ? priceRows[priceLevel] : new RoaringBitmap();
+        }
+
+        RoaringBitmap ratingRows(int bucket) {
+            return ratingRows[bucket];
+        }
+
+        /**
+         * Rows averaging at least minRating; unrated rows count as zero.
+         * Buckets wholly above the minimum are taken as they are and only
+         * the bucket it falls in is checked row by row.
+         */
+        RoaringBitmap ratingAtLeast(double minRating) {
+            if (minRating <= 0) {
+                return null;
+            }
+            RoaringBitmap result = new RoaringBitmap();
+            for (int bucket = 1; bucket <= MAX_RATING_BUCKET; bucket++) {
+                if (bucket >= minRating) {
+                    result.or(ratingRows[bucket]);
+                } else if (minRating < bucket + 1 || bucket == MAX_RATING_BUCKET) {
+                    PeekableIntIterator iterator = ratingRows[bucket].getIntIterator();
+                    while (iterator.hasNext()) {
+                        int row = iterator.next();
+                        if (rating[row] >= minRating) {
+                            result.add(row);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        // One scan with the schedule predicate per minute; the minute's bitmap serves every later query in it
+        RoaringBitmap openAt(Instant instant, Function<Instant, Predicate<Restaurant>> schedules) {
+            long minute = Math.floorDiv(instant.getEpochSecond(), 60L);
+            OpenRows cached = open;
+            if (cached != null && cached.minute() == minute) {
+                return cached.rows();
+            }
+            Predicate<Restaurant> isOpen = schedules.apply(instant);
+            RoaringBitmap rows = new RoaringBitmap();
+            for (int i = 0; i < restaurants.length; i++) {
+                if (isOpen.test(restaurants[i])) {
+                    rows.add(i);
+                }
+            }
+            rows.runOptimize();
+            open = new OpenRows(minute, rows);
+            return rows;
+        }
+
+        /**
+         * Rows per dictionary value, counted within the given rows or over
+         * the whole snapshot when that is null; values with no rows are left
+         * out.
+         */
+        Map<String, Integer> cuisineCounts(RoaringBitmap within) {
+            return counts(cuisines, cuisineRows, within);
+        }
+
+        Map<String, Integer> neighborhoodCounts(RoaringBitmap within) {
+            return counts(neighborhoods, neighborhoodRows, within);
+        }
+
+        // Per price level and per rating bucket; the array index is the level or bucket
+        int[] priceCounts(RoaringBitmap within) {
+            return counts(priceRows, within);
+        }
+
+        int[] ratingCounts(RoaringBitmap within) {
+            return counts(ratingRows, within);
+        }
+
+        // Haversine; NaN (and so never within range) for rows without coordinates
+        double distanceKm(int row, double fromLatitude, double fromLongitude) {
+            double dLatitude = Math.toRadians(latitude[row] - fromLatitude);
+            double dLongitude = Math.toRadians(longitude[row] - fromLongitude);
+            double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                    + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(latitude[row]))
+                    * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+            return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+        }
+
+        /**
+         * AND of the non-null bitmaps, or null when all of them are null
+         * (no restriction). The result may be one of the arguments.
+         */
+        static RoaringBitmap intersect(RoaringBitmap... bitmaps) {
+            RoaringBitmap result = null;
+            boolean shared = false;
+            for (RoaringBitmap bitmap : bitmaps) {
+                if (bitmap == null) {
+                    continue;
+                }
+                if (result == null) {
+                    result = bitmap;
+                    shared = true;
+                } else if (shared) {
+                    result = RoaringBitmap.and(result, bitmap);
+                    shared = false;
+                } else {
+                    result.and(bitmap);
+                }
+            }
+            return result;
+        }
+
+        private static int copyInto(RoaringBitmap rows, int[] matches) {
+            int count = 0;
+            PeekableIntIterator iterator = rows.getIntIterator();
+            while (iterator.hasNext()) {
+                matches[count++] = iterator.next();
+            }
+            return count;
+        }
+
+        private static RoaringBitmap union(String[] dictionary, RoaringBitmap[] bitmaps, String value, boolean exact) {
+            String term = value.trim().toLowerCase();
+            RoaringBitmap result = new RoaringBitmap();
+            for (int code = 0; code < dictionary.length; code++) {
+                String candidate = dictionary[code].toLowerCase();
+                if (exact ? candidate.equals(term) : candidate.contains(term)) {
+                    result.or(bitmaps[code]);
+                }
+            }
+            return result;
+        }
+
+        private static Map<String, Integer> counts(String[] dictionary, RoaringBitmap[] bitmaps, RoaringBitmap within) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (int code = 0; code < dictionary.length; code++) {
+                int count = within != null ? RoaringBitmap.andCardinality(bitmaps[code], within) : bitmaps[code].getCardinality();
+                if (count > 0) {
+                    counts.put(dictionary[code], count);
+                }
+            }
+            return counts;
+        }
+
+        private static int[] counts(RoaringBitmap[] bitmaps, RoaringBitmap within) {
+            int[] counts = new int[bitmaps.length];
+            for (int i = 0; i < bitmaps.length; i++) {
+                counts[i] = within != null ? RoaringBitmap.andCardinality(bitmaps[i], within) : bitmaps[i].getCardinality();
+            }
+            return counts;
+        }
+
+        private static byte bucketOf(RestaurantRatingAggregate aggregate) {
+            if (aggregate.getReviewCount() == 0) {
+                return UNRATED;
+            }
+            return (byte) Math.max(1, Math.min(MAX_RATING_BUCKET, (int) Math.floor(aggregate.getAverageRating())));
+        }
+
+        private static int encode(Map<String, Integer> codes, List<RoaringBitmap> bitmaps, String value, int row) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            int code = codes.computeIfAbsent(value, key -> codes.size());
+            if (code == bitmaps.size()) {
+                bitmaps.add(new RoaringBitmap());
+            }
+            bitmaps.get(code).add(row);
+            return code;
+        }
+
+        private static String[] dictionary(Map<String, Integer> codes) {
+            String[] values = new String[codes.size()];
+            codes.forEach((value, code) -> values[code] = value);
+            return values;
+        }
+
+        private static RoaringBitmap[] emptyBitmaps(int size) {
+            RoaringBitmap[] bitmaps = new RoaringBitmap[size];
+            for (int i = 0; i < size; i++) {
+                bitmaps[i] = new RoaringBitmap();
+            }
+            return bitmaps;
+        }
+
+        private static RoaringBitmap[] optimized(RoaringBitmap[] bitmaps) {
+            for (RoaringBitmap bitmap : bitmaps) {
+                bitmap.runOptimize();
+            }
+            return bitmaps;
+        }
+
+        private static boolean hasText(String value) {
+            return value != null && !value.trim().isEmpty();
+        }
+
+        private record OpenRows(long minute, RoaringBitmap rows) {}
+
+        // The filters checked row by row, lower-cased and unboxed once per search
+        private record RowCheck(String name, String location, boolean spatial,
+                                double latitude, double longitude, double radiusKm, double latitudeSpan) {
+
+            static RowCheck of(Filter filter) {
+                String name = hasText(filter.name()) ? filter.name().trim().toLowerCase() : null;
+                String location = hasText(filter.location()) ? filter.location().trim().toLowerCase() : null;
+                boolean spatial = filter.latitude() != null && filter.longitude() != null && filter.radiusKm() != null;
+                if (name == null && location == null && !spatial) {
+                    return null;
+                }
+                double radiusKm = spatial ? filter.radiusKm() : 0;
+                return new RowCheck(name, location, spatial,
+                        spatial ? filter.latitude() : 0, spatial ? filter.longitude() : 0, radiusKm, radiusKm / KM_PER_DEGREE);
+            }
+        }
+    }
+}
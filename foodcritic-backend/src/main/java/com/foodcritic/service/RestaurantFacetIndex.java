@@ -0,0 +1,92 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.RestaurantFacets;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-value counts for the cuisine, neighborhood, price level and rating
+ * facets of each city's catalog.
+ *
+ * Counts come from the bitmap indexes on the city's column store snapshot,
+ * which are kept up to date as restaurants and rating aggregates change:
+ * an unfiltered count is a bitmap's cardinality, and a filtered count is
+ * the cardinality of its AND with the other filters' bitmaps. Only name
+ * and location are checked per restaurant, once per request.
+ *
+ * Counts follow the usual disjunctive convention: a facet's own filter is
+ * ignored when counting it, so the UI can show alternatives next to the
+ * selected value.
+ */
+@Service
+public class RestaurantFacetIndex {
+
+    public static final String UNRATED = "unrated";
+
+    @Autowired
+    private RestaurantColumnStore restaurantColumnStore;
+
+    public List<String> getCuisines(String cityId) {
+        RestaurantColumnStore.Columns columns = restaurantColumnStore.snapshot(cityId);
+        return columns != null ? new TreeMap<>(columns.cuisineCounts(null)).keySet().stream().toList() : List.of();
+    }
+
+    public List<String> getNeighborhoods(String cityId) {
+        RestaurantColumnStore.Columns columns = restaurantColumnStore.snapshot(cityId);
+        return columns != null ? new TreeMap<>(columns.neighborhoodCounts(null)).keySet().stream().toList() : List.of();
+    }
+
+    /**
+     * Facet counts under the same filter a search applies, so the counts
+     * describe the search's results. A non-null openAt keeps only
+     * restaurants open then.
+     */
+    public RestaurantFacets getFacets(String cityId, RestaurantColumnStore.Filter filter, Instant openAt) {
+        RestaurantColumnStore.Columns columns = restaurantColumnStore.snapshot(cityId);
+        if (columns == null) {
+            return new RestaurantFacets(new TreeMap<>(), new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+        }
+
+        // Name, location and distance apply to every facet, so their rows are found once
+        RoaringBitmap openRows = openAt != null ? restaurantColumnStore.openRows(columns, openAt) : null;
+        RoaringBitmap scannedRows = columns.scannedRows(filter, openRows);
+
+        // Count a facet within the rows every filter except its own lets through
+        return new RestaurantFacets(
+                new TreeMap<>(columns.cuisineCounts(within(columns, filter.withoutCuisine(), scannedRows))),
+                new TreeMap<>(columns.neighborhoodCounts(within(columns, filter.withoutNeighborhood(), scannedRows))),
+                priceLevelCounts(columns.priceCounts(within(columns, filter.withoutPriceLevel(), scannedRows))),
+                ratingCounts(columns.ratingCounts(within(columns, filter.withoutMinRating(), scannedRows))));
+    }
+
+    private static RoaringBitmap within(RestaurantColumnStore.Columns columns, RestaurantColumnStore.Filter filter,
+                                        RoaringBitmap scannedRows) {
+        return RestaurantColumnStore.Columns.intersect(columns.attributeRows(filter), scannedRows);
+    }
+
+    private static Map<String, Integer> priceLevelCounts(int[] counts) {
+        Map<String, Integer> result = new TreeMap<>();
+        for (int level = 0; level < counts.length; level++) {
+            if (counts[level] > 0) {
+                result.put(Integer.toString(level), counts[level]);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Integer> ratingCounts(int[] counts) {
+        Map<String, Integer> result = new TreeMap<>();
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] > 0) {
+                result.put(bucket == RestaurantColumnStore.Columns.UNRATED ? UNRATED : bucket + "-" + (bucket + 1), counts[bucket]);
+            }
+        }
+        return result;
+    }
+}
@@ -1,12 +1,35 @@
 package com.foodcritic.service;
 
+import com.foodcritic.dto.RestaurantFacets;
+import com.foodcritic.dto.RestaurantPage;
+import com.foodcritic.dto.RestaurantRatingAggregate;
+import com.foodcritic.dto.RestaurantSearchResponse;
+import com.foodcritic.dto.RestaurantSummary;
+import com.foodcritic.event.RatingAggregatesChangedEvent;
+import com.foodcritic.event.RestaurantChangedEvent;
+import com.foodcritic.model.City;
 import com.foodcritic.model.Restaurant;
+import com.foodcritic.model.WeeklySchedule;
 import com.foodcritic.repository.RestaurantRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -23,12 +46,43 @@ public class RestaurantService {
     
     private static final Logger logger = LoggerFactory.getLogger(RestaurantService.class);
     
+    // Response caches over a city's catalog; a change evicts that city's entries
+    private static final List<String> LIST_CACHES = List.of("restaurantPages", "restaurantSearch", "restaurantAutocomplete");
+    private static final String DETAILS_CACHE = "restaurantDetails";
+    
     @Autowired
     private RestaurantRepository restaurantRepository;
     
     @Autowired 
     private GooglePlacesService googlePlacesService;
     
+    @Autowired
+    private RestaurantFacetIndex restaurantFacetIndex;
+    
+    @Autowired
+    private CityRegistry cityRegistry;
+    
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+    
+    @Autowired
+    private RestaurantColumnStore restaurantColumnStore;
+    
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private JsonStreamingService jsonStreamingService;
+    
+    @Value("${app.restaurants.default-time-zone:America/Los_Angeles}")
+    private String defaultTimeZone;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public List<Restaurant> getAllRestaurants() {
         return restaurantRepository.findAll();
     }
@@ -62,9 +116,18 @@ public class RestaurantService {
                 
                 if (result.getOpeningHours() != null) {
                     restaurant.setOpenNow(result.getOpeningHours().getOpenNow());
+                    
+                    // Parse periods once here; open-now is evaluated against this at query time
+                    WeeklySchedule schedule = WeeklySchedule.fromPeriods(result.getOpeningHours().getPeriods());
+                    if (schedule != null) {
+                        restaurant.setOpeningPeriods(schedule.encode());
+                    }
                 }
+                restaurant.setTimeZone(cityRegistry.locate(restaurant.getLatitude(), restaurant.getLongitude())
+                        .map(City::getTimeZone)
+                        .orElse(defaultTimeZone));
                 
-                return restaurantRepository.save(restaurant);
+                return saveAndPublish(restaurant);
             }
         } catch (Exception e) {
             logger.error("Failed to fetch Google Places details for place_id: " + placeId, e);
@@ -75,7 +138,7 @@ public class RestaurantService {
         restaurant.setId(placeId);
         restaurant.setName("Restaurant"); // Default name
         restaurant.setCuisine("Restaurant"); // Default cuisine
-        return restaurantRepository.save(restaurant);
+        return saveAndPublish(restaurant);
     }
     
     private String extractCuisineFromTypes(java.util.List<String> types) {
@@ -117,15 +180,26 @@ public class RestaurantService {
     }
     
     public Restaurant createRestaurant(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+        return saveAndPublish(restaurant);
     }
     
     public Restaurant updateRestaurant(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+        return saveAndPublish(restaurant);
     }
     
     public void deleteRestaurant(String id) {
         restaurantRepository.deleteById(id);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(id, null));
+    }
+    
+    // Keeps in-memory indexes (facets etc.) in step with the restaurants table
+    private Restaurant saveAndPublish(Restaurant restaurant) {
+        restaurant.setCityId(cityRegistry.locate(restaurant.getLatitude(), restaurant.getLongitude())
+                .map(City::getId)
+                .orElse(null));
+        Restaurant saved = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(saved.getId(), saved));
+        return saved;
     }
     
     public List<Restaurant> searchByLocation(Double latitude, Double longitude, Double radius) {
@@ -169,47 +243,68 @@ public class RestaurantService {
         return R * c; // Distance in kilometers
     }
     
-    // San Diego specific methods
-    public List<Restaurant> getAllSanDiegoRestaurants() {
-        logger.info("Fetching all restaurants in San Diego");
-        return restaurantRepository.findAllInSanDiego();
+    // Assigns restaurants saved before their city was registered; runs before the in-memory indexes load
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void assignUnassignedRestaurantsToCities() {
+        Map<String, List<String>> idsByCity = new HashMap<>();
+        for (Restaurant restaurant : restaurantRepository.findUnassignedToCity()) {
+            cityRegistry.locate(restaurant.getLatitude(), restaurant.getLongitude())
+                    .ifPresent(city -> idsByCity.computeIfAbsent(city.getId(), id -> new ArrayList<>()).add(restaurant.getId()));
+        }
+        idsByCity.forEach((cityId, ids) -> {
+            for (int from = 0; from < ids.size(); from += BATCH_QUERY_SIZE) {
+                restaurantRepository.assignCity(cityId, ids.subList(from, Math.min(ids.size(), from + BATCH_QUERY_SIZE)));
+            }
+            logger.info("Assigned {} restaurants to city {}", ids.size(), cityId);
+        });
+    }
+    
+    // City-scoped methods; cityId is a CityRegistry id
+    @Transactional(readOnly = true)
+    public List<Restaurant> getAllCityRestaurants(String cityId) {
+        logger.info("Fetching all restaurants in {}", cityId);
+        return restaurantRepository.findAllInCity(cityId);
     }
     
-    public List<Restaurant> searchSanDiegoRestaurants(
-            String name, String cuisine, String location, Integer priceLevel, 
+    public List<Restaurant> searchCityRestaurants(
+            String cityId, String name, String cuisine, String location, Integer priceLevel, 
             Boolean openNow, Double minRating, String sortBy) {
+        return searchCityRestaurants(cityId, name, cuisine, location, priceLevel, openNow, null, minRating, sortBy);
+    }
+    
+    private static RestaurantColumnStore.Filter searchFilter(String name, String cuisine, String location,
+                                                             String neighborhood, Integer priceLevel, Double minRating) {
+        return new RestaurantColumnStore.Filter(name, cuisine, location, neighborhood, priceLevel, minRating, null, null, null);
+    }
+    
+    // The instant an open-now / open-at filter asks about, or null for no filter
+    private static Instant openInstant(Boolean openNow, Instant openAt) {
+        return openAt != null ? openAt : Boolean.TRUE.equals(openNow) ? Instant.now() : null;
+    }
+    
+    public boolean isOpenAt(Restaurant restaurant, Instant instant) {
+        return openingHoursIndex.isOpenAt(restaurant, instant).orElse(false);
+    }
+    
+    public List<Restaurant> searchCityRestaurants(
+            String cityId, String name, String cuisine, String location, Integer priceLevel, 
+            Boolean openNow, Instant openAt, Double minRating, String sortBy) {
         
-        logger.info("Searching San Diego restaurants with filters - name: {}, cuisine: {}, location: {}, priceLevel: {}, openNow: {}, minRating: {}, sortBy: {}", 
-                name, cuisine, location, priceLevel, openNow, minRating, sortBy);
-        
-        // TODO: Fix the filtered query - for now use simple search to avoid DB errors
-        // List<Restaurant> restaurants = restaurantRepository.findInSanDiegoWithFilters(
-        //     name, cuisine, location, priceLevel, openNow, minRating);
-        
-        // Use simple query to avoid database type conflicts
-        List<Restaurant> restaurants = restaurantRepository.findAllInSanDiego();
-        
-        // Apply client-side filtering until DB issue is fixed
-        if (name != null && !name.trim().isEmpty()) {
-            final String searchName = name.toLowerCase();
-            restaurants = restaurants.stream()
-                .filter(r -> r.getName() != null && r.getName().toLowerCase().contains(searchName))
-                .toList();
-        }
+        logger.info("Searching {} restaurants with filters - name: {}, cuisine: {}, location: {}, priceLevel: {}, openNow: {}, minRating: {}, sortBy: {}", 
+                cityId, name, cuisine, location, priceLevel, openNow, minRating, sortBy);
         
-        if (cuisine != null && !cuisine.trim().isEmpty()) {
-            final String searchCuisine = cuisine.toLowerCase();
-            restaurants = restaurants.stream()
-                .filter(r -> r.getCuisine() != null && r.getCuisine().toLowerCase().contains(searchCuisine))
-                .toList();
-        }
+        // Cuisine, price, rating and open-at resolve to an AND of the column store's bitmaps
+        List<Restaurant> restaurants = restaurantColumnStore.search(cityId,
+                searchFilter(name, cuisine, location, null, priceLevel, minRating), openInstant(openNow, openAt));
         
         // Apply sorting
         if (sortBy != null) {
             switch (sortBy.toLowerCase()) {
                 case "rating":
                     restaurants = restaurants.stream()
-                        .sorted(Comparator.comparing(r -> r.getAverageRating() != null ? r.getAverageRating() : 0.0, Comparator.reverseOrder()))
+                        .sorted(Comparator.comparingDouble((Restaurant r) -> averageRating(r)).reversed())
                         .toList();
                     break;
                 case "name":
@@ -223,78 +318,78 @@ public class RestaurantService {
             }
         }
         
-        logger.info("Found {} restaurants in San Diego matching criteria", restaurants.size());
+        logger.info("Found {} restaurants in {} matching criteria", restaurants.size(), cityId);
         return restaurants;
     }
     
-    // Simple paginated San Diego restaurants (safe method)
-    public Page<Restaurant> getSanDiegoRestaurantsPaginated(Pageable pageable) {
-        logger.info("Fetching San Diego restaurants page {} with size {}", 
-                    pageable.getPageNumber(), pageable.getPageSize());
-        return restaurantRepository.findAllInSanDiegoPaginated(pageable);
+    // Simple paginated city restaurants (safe method)
+    @Transactional(readOnly = true)
+    public Page<Restaurant> getCityRestaurantsPaginated(String cityId, Pageable pageable) {
+        logger.info("Fetching {} restaurants page {} with size {}", 
+                    cityId, pageable.getPageNumber(), pageable.getPageSize());
+        return restaurantRepository.findAllInCityPaginated(cityId, pageable);
     }
     
-    public List<Restaurant> searchByNeighborhood(String neighborhood) {
-        logger.info("Searching restaurants in San Diego neighborhood: {}", neighborhood);
-        return restaurantRepository.findByNeighborhoodInSanDiego(neighborhood);
+    @Transactional(readOnly = true)
+    public List<Restaurant> searchByNeighborhood(String cityId, String neighborhood) {
+        logger.info("Searching restaurants in {} neighborhood: {}", cityId, neighborhood);
+        return restaurantRepository.findByNeighborhoodInCity(cityId, neighborhood);
     }
     
+    @Transactional(readOnly = true)
     public List<Restaurant> searchNearby(Double latitude, Double longitude, Double radiusKm) {
         logger.info("Searching restaurants near coordinates ({}, {}) within {} km", latitude, longitude, radiusKm);
         
-        // Constrain search to San Diego bounds even with user coordinates
-        if (latitude != null && longitude != null) {
-            // Check if coordinates are within San Diego area
-            if (latitude >= 32.534156 && latitude <= 33.114249 && 
-                longitude >= -117.608643 && longitude <= -116.908707) {
-                return restaurantRepository.findNearbyInSanDiego(latitude, longitude, radiusKm);
-            } else {
-                logger.warn("Coordinates ({}, {}) are outside San Diego area, returning all San Diego restaurants", latitude, longitude);
-                return getAllSanDiegoRestaurants();
-            }
+        // The search stays inside the city the coordinates fall in; outside every city there is nothing nearby
+        Optional<City> city = cityRegistry.locate(latitude, longitude);
+        if (city.isEmpty()) {
+            logger.info("Coordinates ({}, {}) are outside every city", latitude, longitude);
+            return List.of();
         }
-        
-        return getAllSanDiegoRestaurants();
+        return restaurantColumnStore.findNearby(city.get().getId(), latitude, longitude, radiusKm);
     }
     
-    public List<String> getSanDiegoCuisines() {
-        logger.info("Fetching distinct cuisines in San Diego");
-        return restaurantRepository.findDistinctCuisinesInSanDiego();
+    // Served from the facet index instead of DISTINCT scans; these sit on the autocomplete path
+    public List<String> getCityCuisines(String cityId) {
+        return restaurantFacetIndex.getCuisines(cityId);
     }
     
-    public List<String> getSanDiegoNeighborhoods() {
-        logger.info("Fetching distinct neighborhoods in San Diego");
-        return restaurantRepository.findDistinctNeighborhoodsInSanDiego();
+    public List<String> getCityNeighborhoods(String cityId) {
+        return restaurantFacetIndex.getNeighborhoods(cityId);
     }
     
-    public List<Map<String, Object>> getSanDiegoRestaurantAutocomplete(String input, int limit) {
+    public RestaurantFacets getCityFacets(String cityId, String name, String cuisine, String location, String neighborhood,
+                                          Integer priceLevel, Double minRating, Boolean openNow, Instant openAt) {
+        return restaurantFacetIndex.getFacets(cityId, searchFilter(name, cuisine, location, neighborhood, priceLevel, minRating),
+                openInstant(openNow, openAt));
+    }
+    
+    public List<Map<String, Object>> getCityRestaurantAutocomplete(String cityId, String input, int limit) {
         if (input == null || input.trim().isEmpty() || input.length() < 1) {
             return List.of();
         }
         
-        logger.info("Getting San Diego restaurant autocomplete for input: {}", input);
+        logger.info("Getting {} restaurant autocomplete for input: {}", cityId, input);
         
         String searchTerm = input.toLowerCase().trim();
-        List<Restaurant> sdRestaurants = getAllSanDiegoRestaurants();
+        String cityName = cityRegistry.resolve(cityId).getName();
         Set<Map<String, Object>> suggestions = new HashSet<>();
         
-        // Search by restaurant names in San Diego
-        sdRestaurants.stream()
-            .filter(restaurant -> restaurant.getName() != null && 
-                    restaurant.getName().toLowerCase().contains(searchTerm))
+        // Search by restaurant names in the city, against the column store's snapshot rather than the table
+        restaurantColumnStore.search(cityId, searchFilter(searchTerm, null, null, null, null, null), null).stream()
             .limit(Math.max(1, limit / 2)) // Reserve half for restaurant names
             .forEach(restaurant -> {
                 Map<String, Object> suggestion = new HashMap<>();
                 suggestion.put("id", restaurant.getId());
                 suggestion.put("type", "restaurant");
                 suggestion.put("title", restaurant.getName());
-                suggestion.put("subtitle", restaurant.getCuisine() + " • " + getNeighborhoodFromAddress(restaurant.getAddress()));
-                suggestion.put("restaurant", restaurant);
+                suggestion.put("subtitle", restaurant.getCuisine() + " • " + cityRegistry.neighborhoodOf(restaurant));
+                suggestion.put("restaurant", toCachedSummary(restaurant));
                 suggestions.add(suggestion);
             });
         
-        // Search by cuisines in San Diego
-        getSanDiegoCuisines().stream()
+        // Search by cuisines in the city
+        getCityCuisines(cityId).stream()
             .filter(cuisine -> cuisine.toLowerCase().contains(searchTerm))
             .limit(Math.max(1, limit / 4)) // Reserve quarter for cuisines
             .forEach(cuisine -> {
@@ -306,8 +401,8 @@ public class RestaurantService {
                 suggestions.add(suggestion);
             });
         
-        // Search by neighborhoods in San Diego
-        getSanDiegoNeighborhoods().stream()
+        // Search by neighborhoods in the city
+        getCityNeighborhoods(cityId).stream()
             .filter(neighborhood -> neighborhood.toLowerCase().contains(searchTerm))
             .limit(Math.max(1, limit / 4)) // Reserve quarter for neighborhoods
             .forEach(neighborhood -> {
@@ -315,7 +410,7 @@ public class RestaurantService {
                 suggestion.put("id", "neighborhood-" + neighborhood.toLowerCase().replace(" ", "-"));
                 suggestion.put("type", "neighborhood");
                 suggestion.put("title", neighborhood);
-                suggestion.put("subtitle", "San Diego area");
+                suggestion.put("subtitle", cityName + " area");
                 suggestions.add(suggestion);
             });
         
@@ -326,29 +421,199 @@ public class RestaurantService {
                 .toList();
     }
     
-    private String getNeighborhoodFromAddress(String address) {
-        if (address == null) return "San Diego";
-        
-        String lowerAddress = address.toLowerCase();
-        if (lowerAddress.contains("downtown")) return "Downtown";
-        if (lowerAddress.contains("la jolla")) return "La Jolla";
-        if (lowerAddress.contains("gaslamp")) return "Gaslamp";
-        if (lowerAddress.contains("mission beach")) return "Mission Beach";
-        if (lowerAddress.contains("pacific beach")) return "Pacific Beach";
-        if (lowerAddress.contains("hillcrest")) return "Hillcrest";
-        if (lowerAddress.contains("north park")) return "North Park";
-        if (lowerAddress.contains("south park")) return "South Park";
-        if (lowerAddress.contains("mission valley")) return "Mission Valley";
-        if (lowerAddress.contains("little italy")) return "Little Italy";
-        if (lowerAddress.contains("coronado")) return "Coronado";
-        if (lowerAddress.contains("del mar")) return "Del Mar";
-        if (lowerAddress.contains("encinitas")) return "Encinitas";
-        if (lowerAddress.contains("carlsbad")) return "Carlsbad";
-        return "San Diego";
-    }
-    
-    public List<Map<String, Object>> getRestaurantAutocomplete(String input, int limit) {
-        // Redirect to San Diego specific search
-        return getSanDiegoRestaurantAutocomplete(input, limit);
-    }
-}
\ No newline at end of file
+    // List cache keys start with the city id so a change only evicts that city's entries
+    @Cacheable(cacheNames = "restaurantAutocomplete",
+               key = "#cityId + ':' + (#input == null ? '' : #input.trim().toLowerCase()) + ':' + #limit")
+    public List<Map<String, Object>> getRestaurantAutocomplete(String cityId, String input, int limit) {
+        return getCityRestaurantAutocomplete(cityId, input, limit);
+    }
+    
+    // Cached list, search and details responses hold summaries without openNow; callers fill it
+    // in at read time with withOpenNow, so a cached entry never serves a stale open/closed flag
+    @Cacheable(cacheNames = "restaurantPages", key = "#cityId + ':' + #page + ':' + #size")
+    @Transactional(readOnly = true)
+    public RestaurantPage listCityRestaurants(String cityId, int page, int size) {
+        Page<Restaurant> restaurants = getCityRestaurantsPaginated(cityId, PageRequest.of(page, size));
+        return new RestaurantPage(toCachedSummaries(restaurants.getContent()), restaurants.getNumber(),
+                restaurants.getSize(), restaurants.getTotalElements(), restaurants.getTotalPages());
+    }
+    
+    // Open-now and open-at results depend on the clock, so only the time-independent searches are cached
+    @Cacheable(cacheNames = "restaurantSearch",
+               key = "#cityId + ':' + T(java.util.Arrays).asList(#name, #cuisine, #location, #priceLevel, #minRating, #sortBy)",
+               condition = "#openNow != true && #openAt == null")
+    @Transactional(readOnly = true)
+    public RestaurantSearchResponse searchCityRestaurantSummaries(
+            String cityId, String name, String cuisine, String location, Integer priceLevel,
+            Boolean openNow, Instant openAt, Double minRating, String sortBy) {
+        List<Restaurant> restaurants = searchCityRestaurants(
+                cityId, name, cuisine, location, priceLevel, openNow, openAt, minRating, sortBy);
+        return new RestaurantSearchResponse(toCachedSummaries(restaurants),
+                getCityFacets(cityId, name, cuisine, location, null, priceLevel, minRating, openNow, openAt));
+    }
+    
+    @Cacheable(cacheNames = DETAILS_CACHE)
+    @Transactional(readOnly = true)
+    public Optional<RestaurantSummary> getRestaurantSummary(String id) {
+        return restaurantRepository.findById(id).map(this::toCachedSummary);
+    }
+    
+    public RestaurantSummary withOpenNow(RestaurantSummary summary) {
+        return summary.withOpenNow(openingHoursIndex.isOpenAt(summary.getId(), Instant.now()).orElse(null));
+    }
+    
+    public RestaurantPage withOpenNow(RestaurantPage page) {
+        return new RestaurantPage(withOpenNow(page.getContent()), page.getPage(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+    
+    public RestaurantSearchResponse withOpenNow(RestaurantSearchResponse response) {
+        return new RestaurantSearchResponse(withOpenNow(response.getResults()), response.getFacets());
+    }
+    
+    // Autocomplete suggestions are copied too; only restaurant suggestions carry a summary
+    public List<Map<String, Object>> suggestionsWithOpenNow(List<Map<String, Object>> suggestions) {
+        return suggestions.stream().map(suggestion -> {
+            if (!(suggestion.get("restaurant") instanceof RestaurantSummary summary)) {
+                return suggestion;
+            }
+            Map<String, Object> copy = new HashMap<>(suggestion);
+            copy.put("restaurant", withOpenNow(summary));
+            return copy;
+        }).toList();
+    }
+    
+    private List<RestaurantSummary> withOpenNow(List<RestaurantSummary> summaries) {
+        Instant now = Instant.now();
+        return summaries.stream()
+                .map(summary -> summary.withOpenNow(openingHoursIndex.isOpenAt(summary.getId(), now).orElse(null)))
+                .toList();
+    }
+    
+    // Bind-parameter lists are chunked so a large batch stays a handful of queries
+    private static final int BATCH_QUERY_SIZE = 500;
+    
+    /**
+     * Summaries for the given ids in request order, skipping unknown ids.
+     * Ratings come from the same grouped query as the rows, so the result is
+     * consistent with the database even before the in-memory aggregates catch up.
+     */
+    @Transactional(readOnly = true)
+    public List<RestaurantSummary> getRestaurantSummaries(List<String> ids) {
+        List<String> distinctIds = ids.stream().filter(id -> id != null && !id.isBlank()).distinct().toList();
+        Map<String, RestaurantSummary> summaries = new HashMap<>();
+        Instant now = Instant.now();
+        for (int from = 0; from < distinctIds.size(); from += BATCH_QUERY_SIZE) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + BATCH_QUERY_SIZE, distinctIds.size()));
+            for (Object[] row : restaurantRepository.findWithRatingAggregates(chunk)) {
+                Restaurant restaurant = (Restaurant) row[0];
+                RestaurantRatingAggregate aggregate = new RestaurantRatingAggregate(restaurant.getId(),
+                        (Long) row[1], row[2] != null ? ((Number) row[2]).longValue() : null);
+                summaries.put(restaurant.getId(), RestaurantSummary.from(restaurant,
+                        cityRegistry.neighborhoodOf(restaurant), aggregate,
+                        openingHoursIndex.isOpenAt(restaurant, now).orElse(null)));
+            }
+        }
+        return distinctIds.stream().map(summaries::get).filter(summary -> summary != null).toList();
+    }
+    
+    public RestaurantSummary toSummary(Restaurant restaurant) {
+        return toSummary(restaurant, Instant.now());
+    }
+    
+    // Full city catalog as summaries, written row by row instead of materialized
+    public StreamingResponseBody streamCitySummaries(String cityId) {
+        Instant now = Instant.now();
+        return jsonStreamingService.writeArray(() -> restaurantRepository.streamAllInCity(cityId),
+                restaurant -> toSummary(restaurant, now));
+    }
+    
+    public List<RestaurantSummary> toSummaries(List<Restaurant> restaurants) {
+        Instant now = Instant.now();
+        return restaurants.stream().map(restaurant -> toSummary(restaurant, now)).toList();
+    }
+    
+    private List<RestaurantSummary> toCachedSummaries(List<Restaurant> restaurants) {
+        return restaurants.stream().map(this::toCachedSummary).toList();
+    }
+    
+    // Without openNow; the schedule is indexed so withOpenNow can evaluate it by id
+    private RestaurantSummary toCachedSummary(Restaurant restaurant) {
+        openingHoursIndex.index(restaurant);
+        return RestaurantSummary.from(restaurant, cityRegistry.neighborhoodOf(restaurant),
+                ratingAggregateService.getAggregate(restaurant.getId()), null);
+    }
+    
+    private RestaurantSummary toSummary(Restaurant restaurant, Instant now) {
+        return RestaurantSummary.from(restaurant, cityRegistry.neighborhoodOf(restaurant),
+                ratingAggregateService.getAggregate(restaurant.getId()),
+                openingHoursIndex.isOpenAt(restaurant, now).orElse(null));
+    }
+    
+    private double averageRating(Restaurant restaurant) {
+        return ratingAggregateService.getAggregate(restaurant.getId()).getAverageRating();
+    }
+    
+    @EventListener
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        Set<String> cityIds = new HashSet<>();
+        restaurantColumnStore.getCityId(event.getRestaurantId()).ifPresent(cityIds::add);
+        if (!event.isDeleted() && event.getRestaurant().getCityId() != null) {
+            cityIds.add(event.getRestaurant().getCityId());
+        }
+        evictListCaches(cityIds);
+        evictDetails(List.of(event.getRestaurantId()));
+    }
+    
+    @EventListener
+    public void onRatingAggregatesChanged(RatingAggregatesChangedEvent event) {
+        if (event.isFullReload()) {
+            clearListCaches();
+            Cache details = cacheManager.getCache(DETAILS_CACHE);
+            if (details != null) {
+                details.clear();
+            }
+        } else {
+            Set<String> cityIds = new HashSet<>();
+            event.getAggregates().forEach(aggregate ->
+                    restaurantColumnStore.getCityId(aggregate.getRestaurantId()).ifPresent(cityIds::add));
+            evictListCaches(cityIds);
+            evictDetails(event.getAggregates().stream().map(aggregate -> aggregate.getRestaurantId()).toList());
+        }
+    }
+    
+    // Drops only the given cities' entries, whose keys all start with "<cityId>:"
+    private void evictListCaches(Set<String> cityIds) {
+        if (cityIds.isEmpty()) {
+            return;
+        }
+        for (String name : LIST_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache == null) {
+                continue;
+            }
+            if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                caffeine.asMap().keySet().removeIf(key ->
+                        cityIds.stream().anyMatch(cityId -> key.toString().startsWith(cityId + ":")));
+            } else {
+                cache.clear();
+            }
+        }
+    }
+    
+    private void clearListCaches() {
+        for (String name : LIST_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+    
+    private void evictDetails(List<String> restaurantIds) {
+        Cache details = cacheManager.getCache(DETAILS_CACHE);
+        if (details != null) {
+            restaurantIds.forEach(details::evict);
+        }
+    }
+}
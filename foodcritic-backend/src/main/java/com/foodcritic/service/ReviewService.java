@@ -1,11 +1,17 @@
 package com.foodcritic.service;
 
+import com.foodcritic.event.ReviewEvent;
 import com.foodcritic.model.Restaurant;
 import com.foodcritic.model.Review;
 import com.foodcritic.model.User;
 import com.foodcritic.repository.ReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,14 +28,45 @@ public class ReviewService {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private JsonStreamingService jsonStreamingService;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    public ReviewService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByRestaurant(String restaurantId) {
         return reviewRepository.findByRestaurant_IdOrderByCreatedAtDesc(restaurantId);
     }
     
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByUser(Long userId) {
         return reviewRepository.findByUser_IdOrderByCreatedAtDesc(userId);
     }
     
+    // Streaming counterparts of the two lists above; the query runs when the response is written
+    public StreamingResponseBody streamReviewsByRestaurant(String restaurantId) {
+        return jsonStreamingService.writeArray(() -> reviewRepository.streamByRestaurantId(restaurantId));
+    }
+    
+    public StreamingResponseBody streamReviewsByRestaurantByHelpfulness(String restaurantId) {
+        return jsonStreamingService.writeArray(() -> reviewRepository.streamByRestaurantIdOrderByHelpful(restaurantId));
+    }
+    
+    public StreamingResponseBody streamReviewsByUser(Long userId) {
+        return jsonStreamingService.writeArray(() -> reviewRepository.streamByUserId(userId));
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<Review> getUserReviewForRestaurant(Long userId, String restaurantId) {
         return reviewRepository.findByUser_IdAndRestaurant_Id(userId, restaurantId);
     }
@@ -38,23 +75,28 @@ public class ReviewService {
         User user = userService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        // Get or create restaurant for Google Places ID
+        // Get or create restaurant for Google Places ID (may call Google, so keep it outside the write transaction)
         Restaurant restaurant = restaurantService.getOrCreateGooglePlacesRestaurant(restaurantId);
         
-        if (reviewRepository.existsByUser_IdAndRestaurant_Id(userId, restaurantId)) {
-            throw new RuntimeException("User has already reviewed this restaurant");
-        }
-        
-        Review review = new Review();
-        review.setUser(user);
-        review.setRestaurant(restaurant);
-        review.setRating(rating);
-        review.setComment(comment);
-        review.setImageUrl(imageUrl);
-        
-        return reviewRepository.save(review);
+        return transactionTemplate.execute(status -> {
+            if (reviewRepository.existsByUser_IdAndRestaurant_Id(userId, restaurantId)) {
+                throw new RuntimeException("User has already reviewed this restaurant");
+            }
+            
+            Review review = new Review();
+            review.setUser(user);
+            review.setRestaurant(restaurant);
+            review.setRating(rating);
+            review.setComment(comment);
+            review.setImageUrl(imageUrl);
+            
+            Review saved = reviewRepository.save(review);
+            publish(ReviewEvent.of(ReviewEvent.Type.CREATED, saved, null));
+            return saved;
+        });
     }
     
+    @Transactional
     public Review updateReview(Long reviewId, Long userId, Integer rating, String comment, String imageUrl) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
@@ -63,15 +105,19 @@ public class ReviewService {
             throw new RuntimeException("User can only update their own reviews");
         }
         
+        Integer previousRating = review.getRating();
         review.setRating(rating);
         review.setComment(comment);
         if (imageUrl != null) {
             review.setImageUrl(imageUrl);
         }
         
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        publish(ReviewEvent.of(ReviewEvent.Type.UPDATED, saved, previousRating));
+        return saved;
     }
     
+    @Transactional
     public void deleteReview(Long reviewId, Long userId) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
@@ -80,10 +126,19 @@ public class ReviewService {
             throw new RuntimeException("User can only delete their own reviews");
         }
         
+        ReviewEvent event = ReviewEvent.of(ReviewEvent.Type.DELETED, review, review.getRating());
         reviewRepository.delete(review);
+        publish(event);
     }
     
+    @Transactional(readOnly = true)
     public List<Review> getRecentReviews(int limit) {
         return reviewRepository.findRecentReviews(limit);
     }
+    
+    // Outbox row commits with the review; in-process listeners (live stream) fire after commit
+    private void publish(ReviewEvent event) {
+        outboxService.append(event);
+        eventPublisher.publishEvent(event);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,278 @@
+package com.foodcritic.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodcritic.event.ReviewEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed review changes to Server-Sent Events subscribers.
+ *
+ * Each event is serialized once and fanned out to per-client bounded buffers.
+ * A small shared pool drains the buffers, so open connections cost a buffer
+ * rather than a thread. A drain sends at most a batch of frames before
+ * yielding its thread to the next client, and only the drain ever writes to
+ * or completes a client's emitter, so publishing never waits on a socket.
+ *
+ * A client falls behind when its buffer overflows or a single send blocks
+ * for longer than send-timeout-ms. Either way it is evicted, and a blocked
+ * sender thread is interrupted; the client is expected to reconnect and
+ * re-fetch /api/reviews/recent.
+ */
+@Service
+public class ReviewStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewStreamService.class);
+
+    private static final int DRAIN_BATCH = 16;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.reviews.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.reviews.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.reviews.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.reviews.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    private final ExecutorService senders;
+
+    // All subscribers, plus an index of restaurant-scoped ones so a publish only visits interested clients
+    private final Set<Subscriber> globalSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscriber>> restaurantSubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public ReviewStreamService(ObjectMapper objectMapper,
+                               @Value("${app.reviews.stream.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "review-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(String restaurantId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many review stream subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, restaurantId, bufferSize);
+
+        emitter.onCompletion(() -> closed(subscriber));
+        emitter.onTimeout(() -> closed(subscriber));
+        emitter.onError(error -> closed(subscriber));
+
+        if (restaurantId == null) {
+            globalSubscribers.add(subscriber);
+        } else {
+            restaurantSubscribers.computeIfAbsent(restaurantId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        logger.debug("Review stream subscriber added (restaurant: {}), {} open", restaurantId, subscriberCount.get());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewEvent(ReviewEvent event) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+
+        Frame frame;
+        try {
+            frame = new Frame(event.getType().name().toLowerCase(), String.valueOf(event.getReviewId()),
+                    objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize review event for review {}", event.getReviewId(), e);
+            return;
+        }
+
+        globalSubscribers.forEach(subscriber -> enqueue(subscriber, frame));
+
+        Set<Subscriber> scoped = restaurantSubscribers.get(event.getRestaurantId());
+        if (scoped != null) {
+            scoped.forEach(subscriber -> enqueue(subscriber, frame));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.reviews.stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        Frame heartbeat = new Frame(null, null, null);
+        globalSubscribers.forEach(subscriber -> enqueue(subscriber, heartbeat));
+        restaurantSubscribers.values().forEach(set -> set.forEach(subscriber -> enqueue(subscriber, heartbeat)));
+    }
+
+    @Scheduled(fixedRateString = "${app.reviews.stream.stall-check-ms:1000}")
+    public void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        long limit = sendTimeoutMs * 1_000_000L;
+        globalSubscribers.forEach(subscriber -> evictIfStalled(subscriber, now, limit));
+        restaurantSubscribers.values().forEach(set -> set.forEach(subscriber -> evictIfStalled(subscriber, now, limit)));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private void enqueue(Subscriber subscriber, Frame frame) {
+        if (!subscriber.buffer.offer(frame)) {
+            logger.info("Evicting slow review stream subscriber (restaurant: {})", subscriber.restaurantId);
+            evict(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        synchronized (subscriber) {
+            subscriber.sender = Thread.currentThread();
+        }
+        try {
+            int sent = 0;
+            Frame frame;
+            while (!subscriber.removed.get() && sent < DRAIN_BATCH && (frame = subscriber.buffer.poll()) != null) {
+                subscriber.sendStartedNanos = System.nanoTime();
+                if (frame.name == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(frame.name)
+                            .id(frame.id)
+                            .data(frame.json, MediaType.APPLICATION_JSON));
+                }
+                subscriber.sendStartedNanos = 0;
+                sent++;
+            }
+            if (subscriber.removed.get()) {
+                finish(subscriber);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or was interrupted as stalled; the emitter callbacks may not fire for a broken pipe
+            remove(subscriber);
+            finish(subscriber);
+        } finally {
+            synchronized (subscriber) {
+                subscriber.sender = null;
+                subscriber.sendStartedNanos = 0;
+            }
+            // An eviction interrupt meant for this send must not leak into the next client's drain
+            Thread.interrupted();
+            subscriber.draining.set(false);
+        }
+
+        // Yield after a batch, and pick up frames or an eviction that arrived while the flag was set
+        if (!subscriber.buffer.isEmpty() || (subscriber.removed.get() && !subscriber.completed.get())) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void evictIfStalled(Subscriber subscriber, long now, long limit) {
+        long started = subscriber.sendStartedNanos;
+        if (started == 0 || now - started < limit) {
+            return;
+        }
+        logger.info("Evicting stalled review stream subscriber (restaurant: {})", subscriber.restaurantId);
+        evict(subscriber);
+        synchronized (subscriber) {
+            if (subscriber.sender != null) {
+                subscriber.sender.interrupt();
+            }
+        }
+    }
+
+    // The emitter is completed by its drain, never here: a blocked send holds the emitter's lock
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            subscriber.buffer.clear();
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void finish(Subscriber subscriber) {
+        subscriber.buffer.clear();
+        if (subscriber.completed.compareAndSet(false, true)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void closed(Subscriber subscriber) {
+        subscriber.completed.set(true);
+        remove(subscriber);
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return false;
+        }
+
+        if (subscriber.restaurantId == null) {
+            globalSubscribers.remove(subscriber);
+        } else {
+            restaurantSubscribers.computeIfPresent(subscriber.restaurantId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final String restaurantId;
+        private final BlockingQueue<Frame> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        // Set while a send is in progress, so a stalled one can be found and interrupted
+        private volatile long sendStartedNanos;
+        private Thread sender;
+
+        private Subscriber(SseEmitter emitter, String restaurantId, int bufferSize) {
+            this.emitter = emitter;
+            this.restaurantId = restaurantId;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    private record Frame(String name, String id, String json) {}
+}
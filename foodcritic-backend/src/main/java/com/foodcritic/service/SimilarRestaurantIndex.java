@@ -0,0 +1,404 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.RestaurantRatingAggregate;
+import com.foodcritic.dto.RestaurantRecommendation;
+import com.foodcritic.event.RatingAggregatesChangedEvent;
+import com.foodcritic.event.RestaurantChangedEvent;
+import com.foodcritic.model.City;
+import com.foodcritic.model.Restaurant;
+import com.foodcritic.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * "Similar nearby" lookups over compact per-restaurant feature vectors.
+ *
+ * Each city is an immutable partition: restaurants are projected to
+ * kilometres from the city's corner and bucketed into a uniform grid, with
+ * cuisine, price, rating and popularity stored in parallel primitive arrays
+ * ordered by cell. A query walks grid rings outwards from the restaurant and
+ * stops once no farther ring can beat the current top-K, or once it has
+ * scored max-candidates restaurants, which is where the answer becomes
+ * approximate. Restaurant changes rebuild the affected city's partition;
+ * rating changes only patch the rating and popularity columns of a copy.
+ */
+@Service
+public class SimilarRestaurantIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarRestaurantIndex.class);
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    // Feature weights; the distance term is scaled by the query radius
+    private static final float CUISINE_WEIGHT = 1.0f;
+    private static final float PRICE_WEIGHT = 0.5f;
+    private static final float RATING_WEIGHT = 0.5f;
+    private static final float POPULARITY_WEIGHT = 0.25f;
+    private static final float DISTANCE_WEIGHT = 1.0f;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+
+    @Autowired
+    private CityRegistry cityRegistry;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Value("${app.similar.cell-km:1.0}")
+    private double cellKm;
+
+    @Value("${app.similar.max-candidates:2000}")
+    private int maxCandidates;
+
+    // Restaurants per city as last seen; partitions are rebuilt from these
+    private final Map<String, Map<String, Restaurant>> restaurantsByCity = new HashMap<>();
+    private final Map<String, String> cityByRestaurant = new ConcurrentHashMap<>();
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        restaurantsByCity.clear();
+        cityByRestaurant.clear();
+        for (City city : cityRegistry.getCities()) {
+            Map<String, Restaurant> restaurants = new HashMap<>();
+            for (Restaurant restaurant : restaurantRepository.findAllInCity(city.getId())) {
+                if (restaurant.getLatitude() != null && restaurant.getLongitude() != null) {
+                    restaurants.put(restaurant.getId(), restaurant);
+                    cityByRestaurant.put(restaurant.getId(), city.getId());
+                }
+            }
+            restaurantsByCity.put(city.getId(), restaurants);
+            rebuild(city.getId());
+        }
+        logger.info("Loaded similar-restaurant index for {} restaurants", cityByRestaurant.size());
+    }
+
+    @EventListener
+    public synchronized void onRestaurantChanged(RestaurantChangedEvent event) {
+        Set<String> touched = new HashSet<>();
+        String previousCity = cityByRestaurant.remove(event.getRestaurantId());
+        if (previousCity != null) {
+            restaurantsByCity.get(previousCity).remove(event.getRestaurantId());
+            touched.add(previousCity);
+        }
+        Restaurant restaurant = event.getRestaurant();
+        if (!event.isDeleted() && restaurant.getCityId() != null
+                && restaurant.getLatitude() != null && restaurant.getLongitude() != null) {
+            restaurantsByCity.computeIfAbsent(restaurant.getCityId(), id -> new HashMap<>()).put(restaurant.getId(), restaurant);
+            cityByRestaurant.put(restaurant.getId(), restaurant.getCityId());
+            touched.add(restaurant.getCityId());
+        }
+        touched.forEach(this::rebuild);
+    }
+
+    @EventListener
+    public synchronized void onRatingAggregatesChanged(RatingAggregatesChangedEvent event) {
+        if (event.isFullReload()) {
+            restaurantsByCity.keySet().forEach(this::rebuild);
+            return;
+        }
+        Map<String, Map<String, RestaurantRatingAggregate>> changedByCity = new HashMap<>();
+        for (RestaurantRatingAggregate aggregate : event.getAggregates()) {
+            String cityId = cityByRestaurant.get(aggregate.getRestaurantId());
+            if (cityId != null) {
+                changedByCity.computeIfAbsent(cityId, id -> new HashMap<>()).put(aggregate.getRestaurantId(), aggregate);
+            }
+        }
+        changedByCity.forEach((cityId, changed) -> {
+            Partition current = partitions.get(cityId);
+            if (current != null) {
+                partitions.put(cityId, current.withRatings(changed));
+            }
+        });
+    }
+
+    /**
+     * Up to limit restaurants in the same city within maxDistanceKm, most
+     * similar first, optionally only those open right now.
+     */
+    public List<RestaurantRecommendation> findSimilar(String restaurantId, int limit, double maxDistanceKm, boolean openNow) {
+        String cityId = cityByRestaurant.get(restaurantId);
+        Partition partition = cityId != null ? partitions.get(cityId) : null;
+        Integer origin = partition != null ? partition.positions.get(restaurantId) : null;
+        if (origin == null) {
+            return List.of();
+        }
+
+        Predicate<Restaurant> open = openNow ? openingHoursIndex.openAt(Instant.now()) : restaurant -> true;
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Scored::distance).reversed());
+        int originColumn = partition.column(partition.x[origin]);
+        int originRow = partition.row(partition.y[origin]);
+        int maxRing = (int) Math.ceil(maxDistanceKm / cellKm);
+        int scanned = 0;
+
+        for (int ring = 0; ring <= maxRing && scanned < maxCandidates; ring++) {
+            // Everything in this ring is at least (ring - 1) cells away
+            float nearest = DISTANCE_WEIGHT * (float) (Math.max(0, ring - 1) * cellKm / maxDistanceKm);
+            if (top.size() == limit && nearest >= top.peek().distance()) {
+                break;
+            }
+            for (int row = originRow - ring; row <= originRow + ring; row++) {
+                boolean edgeRow = row == originRow - ring || row == originRow + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int column = originColumn - ring; column <= originColumn + ring; column += step) {
+                    int cell = partition.cell(column, row);
+                    if (cell < 0) {
+                        continue;
+                    }
+                    for (int i = partition.cellStart[cell]; i < partition.cellStart[cell + 1]; i++) {
+                        if (i == origin) {
+                            continue;
+                        }
+                        double kilometres = Math.hypot(partition.x[i] - partition.x[origin], partition.y[i] - partition.y[origin]);
+                        if (kilometres > maxDistanceKm || !open.test(partition.restaurants[i])) {
+                            continue;
+                        }
+                        scanned++;
+                        float distance = partition.featureDistance(origin, i)
+                                + DISTANCE_WEIGHT * (float) (kilometres / maxDistanceKm);
+                        if (top.size() < limit) {
+                            top.offer(new Scored(i, distance));
+                        } else if (distance < top.peek().distance()) {
+                            top.poll();
+                            top.offer(new Scored(i, distance));
+                        }
+                    }
+                }
+            }
+        }
+
+        RestaurantRecommendation[] ranked = new RestaurantRecommendation[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            Scored scored = top.poll();
+            ranked[i] = new RestaurantRecommendation(restaurantService.toSummary(partition.restaurants[scored.index()]),
+                    1.0 / (1.0 + scored.distance()));
+        }
+        return List.of(ranked);
+    }
+
+    private void rebuild(String cityId) {
+        Map<String, Restaurant> restaurants = restaurantsByCity.getOrDefault(cityId, Map.of());
+        City city = cityRegistry.find(cityId).orElse(null);
+        if (city == null || restaurants.isEmpty()) {
+            partitions.remove(cityId);
+            return;
+        }
+        partitions.put(cityId, new Partition(city, new ArrayList<>(restaurants.values()), cellKm, ratingAggregateService));
+    }
+
+    private record Scored(int index, float distance) {}
+
+    /**
+     * One city's restaurants in grid-cell order. The grid is stored as
+     * compressed rows: cellStart[c] .. cellStart[c + 1] are the indexes of
+     * the restaurants in cell c.
+     */
+    private static final class Partition {
+        private final double minLatitude;
+        private final double minLongitude;
+        private final double kmPerDegreeLongitude;
+        private final double cellKm;
+        private final int columns;
+        private final int rows;
+        private final int[] cellStart;
+
+        private final Map<String, Integer> positions;
+        private final Restaurant[] restaurants;
+        private final float[] x;
+        private final float[] y;
+        private final int[] cuisine;
+        // Normalized to [0, 1]; NaN when unknown
+        private final float[] price;
+        private final float[] rating;
+        private final float[] popularity;
+        // Raw counts behind popularity, which is log-scaled against the city's maximum
+        private final long[] reviewCounts;
+        private final long maxReviews;
+
+        private Partition(City city, List<Restaurant> source, double cellKm, RatingAggregateService ratings) {
+            this.minLatitude = city.getMinLatitude();
+            this.minLongitude = city.getMinLongitude();
+            this.kmPerDegreeLongitude = KM_PER_DEGREE * Math.cos(Math.toRadians((city.getMinLatitude() + city.getMaxLatitude()) / 2));
+            this.cellKm = cellKm;
+            this.columns = Math.max(1, (int) Math.ceil((city.getMaxLongitude() - minLongitude) * kmPerDegreeLongitude / cellKm));
+            this.rows = Math.max(1, (int) Math.ceil((city.getMaxLatitude() - minLatitude) * KM_PER_DEGREE / cellKm));
+
+            int n = source.size();
+            int[] cellOf = new int[n];
+            this.cellStart = new int[columns * rows + 1];
+            for (int i = 0; i < n; i++) {
+                Restaurant restaurant = source.get(i);
+                cellOf[i] = clampedCell(projectX(restaurant.getLongitude()), projectY(restaurant.getLatitude()));
+                cellStart[cellOf[i] + 1]++;
+            }
+            for (int c = 0; c < columns * rows; c++) {
+                cellStart[c + 1] += cellStart[c];
+            }
+
+            this.positions = new HashMap<>(n * 2);
+            this.restaurants = new Restaurant[n];
+            this.x = new float[n];
+            this.y = new float[n];
+            this.cuisine = new int[n];
+            this.price = new float[n];
+            this.rating = new float[n];
+            this.popularity = new float[n];
+            this.reviewCounts = new long[n];
+
+            Map<String, Integer> cuisineCodes = new HashMap<>();
+            long maxReviews = 0;
+            int[] next = cellStart.clone();
+            for (int i = 0; i < n; i++) {
+                Restaurant restaurant = source.get(i);
+                int slot = next[cellOf[i]]++;
+                RestaurantRatingAggregate aggregate = ratings.getAggregate(restaurant.getId());
+                positions.put(restaurant.getId(), slot);
+                restaurants[slot] = restaurant;
+                x[slot] = (float) projectX(restaurant.getLongitude());
+                y[slot] = (float) projectY(restaurant.getLatitude());
+                cuisine[slot] = restaurant.getCuisine() != null
+                        ? cuisineCodes.computeIfAbsent(restaurant.getCuisine().trim().toLowerCase(), key -> cuisineCodes.size())
+                        : -1;
+                price[slot] = restaurant.getPriceLevel() != null ? restaurant.getPriceLevel() / 4f : Float.NaN;
+                rating[slot] = normalizedRating(aggregate);
+                reviewCounts[slot] = aggregate.getReviewCount();
+                maxReviews = Math.max(maxReviews, aggregate.getReviewCount());
+            }
+            this.maxReviews = maxReviews;
+            for (int i = 0; i < n; i++) {
+                popularity[i] = popularity(reviewCounts[i], maxReviews);
+            }
+        }
+
+        // Same grid and restaurants as base, with new rating columns
+        private Partition(Partition base, float[] rating, float[] popularity, long[] reviewCounts, long maxReviews) {
+            this.minLatitude = base.minLatitude;
+            this.minLongitude = base.minLongitude;
+            this.kmPerDegreeLongitude = base.kmPerDegreeLongitude;
+            this.cellKm = base.cellKm;
+            this.columns = base.columns;
+            this.rows = base.rows;
+            this.cellStart = base.cellStart;
+            this.positions = base.positions;
+            this.restaurants = base.restaurants;
+            this.x = base.x;
+            this.y = base.y;
+            this.cuisine = base.cuisine;
+            this.price = base.price;
+            this.rating = rating;
+            this.popularity = popularity;
+            this.reviewCounts = reviewCounts;
+            this.maxReviews = maxReviews;
+        }
+
+        /**
+         * A copy with the changed aggregates applied, sharing everything
+         * but the rating columns with this partition. Popularity is only
+         * renormalized across the city when the busiest restaurant's review
+         * count moved; otherwise just the changed rows are updated.
+         */
+        private Partition withRatings(Map<String, RestaurantRatingAggregate> changed) {
+            float[] updatedRating = rating.clone();
+            long[] updatedCounts = reviewCounts.clone();
+            List<Integer> changedSlots = new ArrayList<>(changed.size());
+            changed.forEach((restaurantId, aggregate) -> {
+                Integer slot = positions.get(restaurantId);
+                if (slot != null) {
+                    updatedRating[slot] = normalizedRating(aggregate);
+                    updatedCounts[slot] = aggregate.getReviewCount();
+                    changedSlots.add(slot);
+                }
+            });
+
+            long updatedMax = 0;
+            for (long count : updatedCounts) {
+                updatedMax = Math.max(updatedMax, count);
+            }
+            float[] updatedPopularity;
+            if (updatedMax == maxReviews) {
+                updatedPopularity = popularity.clone();
+                for (int slot : changedSlots) {
+                    updatedPopularity[slot] = popularity(updatedCounts[slot], updatedMax);
+                }
+            } else {
+                updatedPopularity = new float[updatedCounts.length];
+                for (int i = 0; i < updatedCounts.length; i++) {
+                    updatedPopularity[i] = popularity(updatedCounts[i], updatedMax);
+                }
+            }
+            return new Partition(this, updatedRating, updatedPopularity, updatedCounts, updatedMax);
+        }
+
+        private static float normalizedRating(RestaurantRatingAggregate aggregate) {
+            return aggregate.getReviewCount() > 0 ? (float) ((aggregate.getAverageRating() - 1) / 4) : Float.NaN;
+        }
+
+        private static float popularity(long reviewCount, long maxReviews) {
+            return maxReviews > 0 ? (float) (Math.log1p(reviewCount) / Math.log1p(maxReviews)) : 0f;
+        }
+
+        // Weighted L1 over the non-spatial features; an unknown value costs half the weight
+        private float featureDistance(int a, int b) {
+            float distance = cuisine[a] >= 0 && cuisine[a] == cuisine[b] ? 0f : CUISINE_WEIGHT;
+            distance += PRICE_WEIGHT * difference(price[a], price[b]);
+            distance += RATING_WEIGHT * difference(rating[a], rating[b]);
+            distance += POPULARITY_WEIGHT * Math.abs(popularity[a] - popularity[b]);
+            return distance;
+        }
+
+        private static float difference(float a, float b) {
+            return Float.isNaN(a) || Float.isNaN(b) ? 0.5f : Math.abs(a - b);
+        }
+
+        private double projectX(double longitude) {
+            return (longitude - minLongitude) * kmPerDegreeLongitude;
+        }
+
+        private double projectY(double latitude) {
+            return (latitude - minLatitude) * KM_PER_DEGREE;
+        }
+
+        private int column(double projectedX) {
+            return (int) Math.floor(projectedX / cellKm);
+        }
+
+        private int row(double projectedY) {
+            return (int) Math.floor(projectedY / cellKm);
+        }
+
+        // -1 outside the grid
+        private int cell(int column, int row) {
+            return column < 0 || row < 0 || column >= columns || row >= rows ? -1 : row * columns + column;
+        }
+
+        private int clampedCell(double projectedX, double projectedY) {
+            int column = Math.max(0, Math.min(columns - 1, column(projectedX)));
+            int row = Math.max(0, Math.min(rows - 1, row(projectedY)));
+            return row * columns + column;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.AvailabilityResponse;
+import com.foodcritic.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Answers "is this username / email taken?" mostly from memory.
+ *
+ * Bloom filters over all usernames and emails are built at startup,
+ * rebuilt periodically, and updated as this instance registers users. A
+ * negative answer is definitive for anything the filter has seen, so the
+ * common case (a new name) costs no query; a positive is confirmed with
+ * the database. Registrations on other instances reach this one's filters
+ * at the next rebuild; until then they may read as available, and the
+ * unique constraints still reject them at sign-up.
+ */
+@Service
+public class UserAvailabilityService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityService.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${app.users.availability.expected-users:1000000}")
+    private long expectedUsers;
+    
+    @Value("${app.users.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    private final TransactionTemplate readOnlyTransaction;
+    
+    // Null until the first build completes; lookups go to the database until then
+    private volatile Filters current;
+    // Set while a rebuild is running so registrations also land in the new filters
+    private volatile Filters building;
+    
+    private final AtomicLong confirmedByDatabase = new AtomicLong();
+    
+    public UserAvailabilityService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    public AvailabilityResponse check(String username, String email) {
+        Boolean usernameAvailable = hasText(username) ? isUsernameAvailable(username.trim()) : null;
+        Boolean emailAvailable = hasText(email) ? isEmailAvailable(email.trim()) : null;
+        return new AvailabilityResponse(usernameAvailable, emailAvailable);
+    }
+    
+    public boolean isUsernameAvailable(String username) {
+        Filters filters = current;
+        if (filters != null && !filters.usernames.mightContain(normalize(username))) {
+            return true;
+        }
+        confirmedByDatabase.incrementAndGet();
+        return !userRepository.existsByUsername(username);
+    }
+    
+    public boolean isEmailAvailable(String email) {
+        Filters filters = current;
+        if (filters != null && !filters.emails.mightContain(normalize(email))) {
+            return true;
+        }
+        confirmedByDatabase.incrementAndGet();
+        return !userRepository.existsByEmail(email);
+    }
+    
+    public void recordRegistration(String username, String email) {
+        // building before current: a registration racing the swap then lands in the filters that survive it
+        Filters next = building;
+        if (next != null) {
+            next.add(username, email);
+        }
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(username, email);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.users.availability.rebuild-interval-ms:600000}",
+               fixedDelayString = "${app.users.availability.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        long capacity = Math.max(expectedUsers, 2 * userRepository.count());
+        Filters next = new Filters(capacity, falsePositiveRate);
+        building = next;
+        try {
+            long loaded = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<Object[]> rows = userRepository.streamUsernamesAndEmails()) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        next.add((String) row[0], (String) row[1]);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            current = next;
+            logger.info("Built availability filters for {} users in {} ms ({} lookups confirmed by the database since last build)",
+                    loaded, System.currentTimeMillis() - started, confirmedByDatabase.getAndSet(0));
+        } catch (RuntimeException e) {
+            logger.error("Failed to rebuild availability filters; keeping the previous ones", e);
+        } finally {
+            building = null;
+        }
+    }
+    
+    // Case-folded so the filters never miss a value the case-sensitive unique constraint would catch
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+    
+    private static final class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+        
+        private Filters(long capacity, double falsePositiveRate) {
+            this.usernames = new BloomFilter(capacity, falsePositiveRate);
+            this.emails = new BloomFilter(capacity, falsePositiveRate);
+        }
+        
+        private void add(String username, String email) {
+            if (username != null) {
+                usernames.put(normalize(username));
+            }
+            if (email != null) {
+                emails.put(normalize(email));
+            }
+        }
+    }
+    
+    /**
+     * Fixed-size Bloom filter with lock-free inserts. Bit positions come from
+     * one 64-bit hash split in two and combined (Kirsch-Mitzenmacher).
+     */
+    static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+        }
+        
+        void put(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = index(h1, h2, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long previous;
+                do {
+                    previous = words.get(word);
+                } while ((previous & mask) == 0 && !words.compareAndSet(word, previous, previous | mask));
+            }
+        }
+        
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = index(h1, h2, i);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private long index(int h1, int h2, int i) {
+            long combined = h1 + (long) i * h2;
+            return (combined & Long.MAX_VALUE) % bitCount;
+        }
+        
+        // FNV-1a over the UTF-16 code units, finished with the murmur3 64-bit mix
+        private static long hash64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -2,15 +2,19 @@ package com.foodcritic.service;
 
 import com.foodcritic.model.User;
 import com.foodcritic.repository.UserRepository;
+import com.foodcritic.security.PasswordHashingService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.foodcritic.model.User.Role;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -19,40 +23,71 @@ public class UserService implements UserDetailsService {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     
+    @Autowired
+    private UserAvailabilityService userAvailabilityService;
+    
+    // User lookups are read-write so they stay on the primary: a just-registered
+    // user must be able to authenticate before the replicas have caught up
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
     
-    public User createUser(String username, String email, String password) {
+    public CompletableFuture<User> createUser(String username, String email, String password) {
         return createUser(username, email, password, Role.USER);
     }
     
-    public User createUser(String username, String email, String password, User.Role role) {
-        if (userRepository.existsByUsername(username)) {
-            throw new RuntimeException("Username already exists");
-        }
-        
-        if (userRepository.existsByEmail(email)) {
-            throw new RuntimeException("Email already exists");
-        }
-        
+    /**
+     * Hashes the password on the password hashing pool, then inserts the
+     * user. Throws RejectedExecutionException when the pool is saturated;
+     * duplicates complete the future exceptionally.
+     */
+    public CompletableFuture<User> createUser(String username, String email, String password, User.Role role) {
+        return passwordHashingService.encode(password)
+                .thenApply(passwordHash -> insertUser(username, email, passwordHash, role));
+    }
+    
+    // A single insert: the unique constraints decide duplicates, which also closes the check-then-insert race
+    private User insertUser(String username, String email, String passwordHash, User.Role role) {
         User user = new User();
         user.setUsername(username);
         user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(passwordHash);
         user.setRole(role);
         
-        return userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException(duplicateMessage(e), e);
+        }
+        userAvailabilityService.recordRegistration(saved.getUsername(), saved.getEmail());
+        return saved;
+    }
+    
+    // Named constraints come from V1; databases baselined from ddl-auto have generated names, hence the column fallback
+    private static String duplicateMessage(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation ? violation.getConstraintName() : null;
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+        if ("uk_users_username".equals(constraint) || detail.contains("(username)")) {
+            return "Username already exists";
+        }
+        if ("uk_users_email".equals(constraint) || detail.contains("(email)")) {
+            return "Email already exists";
+        }
+        return "Could not create user";
     }
     
+    @Transactional
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
     
+    @Transactional
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
@@ -0,0 +1,183 @@
+package com.foodcritic.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodcritic.dto.UserStatsResponse;
+import com.foodcritic.event.ReviewEvent;
+import com.foodcritic.event.ReviewEventConsumer;
+import com.foodcritic.model.UserStats;
+import com.foodcritic.repository.ReviewRepository;
+import com.foodcritic.repository.UserStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Review statistics per user, materialized in user_stats.
+ *
+ * Outbox batches are collapsed to the set of touched users, whose rows are
+ * recomputed with two grouped queries and upserted. Like the rating
+ * aggregates, re-reading instead of applying deltas keeps redelivered or
+ * out-of-order events harmless. Outbox partitions run concurrently, so a
+ * refresh holds a per-user advisory lock until it commits. Reads are a
+ * primary-key lookup.
+ */
+@Service
+public class UserStatsService implements ReviewEventConsumer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsService.class);
+    
+    private static final int TOP_CUISINES = 3;
+    
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    
+    @Autowired
+    private ReviewRepository reviewRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Transactional(readOnly = true)
+    public UserStatsResponse getStats(Long userId) {
+        return userStatsRepository.findById(userId)
+                .map(this::toResponse)
+                .orElseGet(UserStatsService::emptyStats);
+    }
+    
+    @Override
+    @Transactional
+    public void onEvents(List<ReviewEvent> events) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        events.forEach(event -> userIds.add(event.getUserId()));
+        refresh(userIds);
+    }
+    
+    @Transactional
+    public void refresh(Set<Long> userIds) {
+        // Partitions are keyed by restaurant, so two of them can refresh the same user at once and the
+        // one that read first could commit last. Holding the user's lock across read and upsert stops
+        // that; taking locks in id order keeps overlapping batches from deadlocking.
+        new TreeSet<>(userIds).forEach(userStatsRepository::lockUser);
+        
+        Map<Long, Accumulator> accumulators = new HashMap<>();
+        for (Object[] row : reviewRepository.findUserRatingBreakdown(userIds)) {
+            accumulators.computeIfAbsent((Long) row[0], id -> new Accumulator())
+                    .addRating((Integer) row[1], ((Number) row[2]).intValue(), (LocalDateTime) row[3], (LocalDateTime) row[4]);
+        }
+        for (Object[] row : reviewRepository.findUserCuisineCounts(userIds)) {
+            Accumulator accumulator = accumulators.get((Long) row[0]);
+            if (accumulator != null) {
+                accumulator.cuisines.add(new UserStatsResponse.CuisineCount((String) row[1], ((Number) row[2]).longValue()));
+            }
+        }
+        
+        List<Long> removed = new ArrayList<>();
+        for (Long userId : userIds) {
+            Accumulator stats = accumulators.get(userId);
+            if (stats == null) {
+                // Last review deleted
+                removed.add(userId);
+                continue;
+            }
+            userStatsRepository.upsert(userId, stats.reviewCount, stats.ratingSum,
+                    stats.distribution[1], stats.distribution[2], stats.distribution[3],
+                    stats.distribution[4], stats.distribution[5],
+                    writeCuisines(stats.topCuisines()), stats.firstReviewAt, stats.lastReviewAt);
+        }
+        if (!removed.isEmpty()) {
+            userStatsRepository.deleteByUserIds(removed);
+        }
+        logger.debug("Refreshed stats for {} users ({} without reviews)", userIds.size(), removed.size());
+    }
+    
+    private UserStatsResponse toResponse(UserStats stats) {
+        UserStatsResponse response = new UserStatsResponse();
+        response.setReviewCount(stats.getReviewCount());
+        response.setAverageRating(stats.getReviewCount() > 0 ? (double) stats.getRatingSum() / stats.getReviewCount() : 0.0);
+        Map<Integer, Integer> distribution = new LinkedHashMap<>();
+        distribution.put(1, stats.getRating1());
+        distribution.put(2, stats.getRating2());
+        distribution.put(3, stats.getRating3());
+        distribution.put(4, stats.getRating4());
+        distribution.put(5, stats.getRating5());
+        response.setRatingDistribution(distribution);
+        response.setTopCuisines(readCuisines(stats.getTopCuisines()));
+        response.setFirstReviewAt(stats.getFirstReviewAt());
+        response.setLastReviewAt(stats.getLastReviewAt());
+        return response;
+    }
+    
+    private static UserStatsResponse emptyStats() {
+        UserStatsResponse response = new UserStatsResponse();
+        Map<Integer, Integer> distribution = new LinkedHashMap<>();
+        for (int rating = 1; rating <= 5; rating++) {
+            distribution.put(rating, 0);
+        }
+        response.setRatingDistribution(distribution);
+        response.setTopCuisines(List.of());
+        return response;
+    }
+    
+    private String writeCuisines(List<UserStatsResponse.CuisineCount> cuisines) {
+        try {
+            return objectMapper.writeValueAsString(cuisines);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize top cuisines", e);
+        }
+    }
+    
+    private List<UserStatsResponse.CuisineCount> readCuisines(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<UserStatsResponse.CuisineCount>>() {});
+        } catch (JsonProcessingException e) {
+            logger.warn("Unreadable top cuisines in user_stats: {}", e.getMessage());
+            return List.of();
+        }
+    }
+    
+    private static final class Accumulator {
+        private int reviewCount;
+        private int ratingSum;
+        private final int[] distribution = new int[6];
+        private LocalDateTime firstReviewAt;
+        private LocalDateTime lastReviewAt;
+        private final List<UserStatsResponse.CuisineCount> cuisines = new ArrayList<>();
+        
+        private void addRating(int rating, int count, LocalDateTime first, LocalDateTime last) {
+            reviewCount += count;
+            ratingSum += rating * count;
+            if (rating >= 1 && rating <= 5) {
+                distribution[rating] += count;
+            }
+            if (first != null && (firstReviewAt == null || first.isBefore(firstReviewAt))) {
+                firstReviewAt = first;
+            }
+            if (last != null && (lastReviewAt == null || last.isAfter(lastReviewAt))) {
+                lastReviewAt = last;
+            }
+        }
+        
+        private List<UserStatsResponse.CuisineCount> topCuisines() {
+            return cuisines.stream()
+                    .sorted(Comparator.comparingLong(UserStatsResponse.CuisineCount::getCount).reversed()
+                            .thenComparing(UserStatsResponse.CuisineCount::getCuisine))
+                    .limit(TOP_CUISINES)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.foodcritic.timing;
+
+import java.util.Locale;
+
+/**
+ * Phase timings for one HTTP request, rendered as a Server-Timing header.
+ *
+ * The current request's timing is bound to the handling thread, so the
+ * static start/stop calls are a thread-local read and two nanoTime calls,
+ * and a no-op off request threads. Nested calls to an already open phase
+ * (a repository default method calling another query, say) are folded
+ * into the outer one. Phases can overlap each other: queries issued while
+ * authenticating count towards both auth and db.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        AUTH("auth"),
+        DB("db"),
+        GOOGLE("google"),
+        SERIALIZE("ser");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private final long[] openSince = new long[PHASES.length];
+    private final boolean[] open = new boolean[PHASES.length];
+
+    public static void bind(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Opens a phase on the current request. Returns false when there is no
+     * request bound or the phase is already open; pass the result to stop.
+     */
+    public static boolean start(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        return timing != null && timing.open(phase);
+    }
+
+    public static void stop(Phase phase, boolean started) {
+        if (started) {
+            RequestTiming timing = CURRENT.get();
+            if (timing != null) {
+                timing.close(phase);
+            }
+        }
+    }
+
+    boolean open(Phase phase) {
+        int i = phase.ordinal();
+        if (open[i]) {
+            return false;
+        }
+        open[i] = true;
+        openSince[i] = System.nanoTime();
+        return true;
+    }
+
+    void close(Phase phase) {
+        int i = phase.ordinal();
+        if (open[i]) {
+            open[i] = false;
+            nanos[i] += System.nanoTime() - openSince[i];
+            counts[i]++;
+        }
+    }
+
+    boolean isOpen(Phase phase) {
+        return open[phase.ordinal()];
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    String toHeader() {
+        StringBuilder header = new StringBuilder(96);
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            if (counts[i] > 0) {
+                header.append(phase.getMetricName()).append(";dur=").append(millis(nanos[i]));
+                if (counts[i] > 1) {
+                    header.append(";desc=\"").append(counts[i]).append(" calls\"");
+                }
+                header.append(", ");
+            }
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    String toLogFields() {
+        StringBuilder fields = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            fields.append(phase.getMetricName()).append("_ms=").append(millis(nanos[i]))
+                    .append(' ').append(phase.getMetricName()).append("_count=").append(counts[i]).append(' ');
+        }
+        return fields.append("total_ms=").append(millis(elapsedNanos())).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,223 @@
+package com.foodcritic.timing;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Collects per-request phase timings and reports them as a Server-Timing
+ * header and a sampled structured log line.
+ *
+ * Runs ahead of the security chain so JWT processing is inside the window.
+ * The header goes out with the first byte of the body. For converter-written
+ * bodies the converter's trailing flush is held back until serialization
+ * has been timed, so responses that fit the container buffer carry the
+ * complete header; larger or streamed ones carry what was known when they
+ * committed. The log line always has the full breakdown. Slow requests are
+ * always logged, the rest at app.timing.log-sample-rate.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger timingLogger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    static final String HEADER = "Server-Timing";
+
+    @Value("${app.timing.log-sample-rate:0.01}")
+    private double logSampleRate;
+
+    @Value("${app.timing.slow-request-ms:1000}")
+    private long slowRequestMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RequestTiming timing = new RequestTiming();
+        request.setAttribute(RequestTiming.ATTRIBUTE, timing);
+        TimingResponse timedResponse = new TimingResponse(response, timing);
+
+        RequestTiming.bind(timing);
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            RequestTiming.unbind();
+            timing.close(RequestTiming.Phase.SERIALIZE);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(request, timedResponse, timing));
+            } else {
+                complete(request, timedResponse, timing);
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, TimingResponse response, RequestTiming timing) throws IOException {
+        response.releaseFlush();
+        long totalMs = timing.elapsedNanos() / 1_000_000;
+        if (totalMs >= slowRequestMs || ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            timingLogger.info("server_timing method={} route={} status={} {}", request.getMethod(),
+                    pattern != null ? pattern : request.getRequestURI(), response.getStatus(), timing.toLogFields());
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final TimingResponse response;
+        private final RequestTiming timing;
+
+        private CompletionListener(HttpServletRequest request, TimingResponse response, RequestTiming timing) {
+            this.request = request;
+            this.response = response;
+            this.timing = timing;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            complete(request, response, timing);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {}
+    }
+
+    /**
+     * Sets the header just before the body starts, and defers flushes issued
+     * while a message converter is still serializing.
+     */
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+        private final RequestTiming timing;
+        private ServletOutputStream outputStream;
+        private boolean headerWritten;
+        private boolean flushDeferred;
+
+        private TimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new TimingOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            beforeBody();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!deferFlush()) {
+                beforeBody();
+                super.flushBuffer();
+            }
+        }
+
+        private void beforeBody() {
+            if (!headerWritten) {
+                headerWritten = true;
+                writeHeader();
+            }
+        }
+
+        private boolean deferFlush() {
+            if (timing.isOpen(RequestTiming.Phase.SERIALIZE)) {
+                flushDeferred = true;
+                return true;
+            }
+            return false;
+        }
+
+        private void writeHeader() {
+            if (!isCommitted()) {
+                setHeader(HEADER, timing.toHeader());
+            }
+        }
+
+        // Final header with serialization included, if the response is still uncommitted
+        private void releaseFlush() throws IOException {
+            writeHeader();
+            if (flushDeferred) {
+                flushDeferred = false;
+                super.flushBuffer();
+            }
+        }
+    }
+
+    private static final class TimingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final TimingResponse response;
+
+        private TimingOutputStream(ServletOutputStream delegate, TimingResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            response.beforeBody();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            response.beforeBody();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!response.deferFlush()) {
+                response.beforeBody();
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            response.beforeBody();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.foodcritic.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attributes time spent in Spring Data repositories and in blocking Google
+ * Places calls to the current request. Stream-returning queries only count
+ * until the cursor is opened; reactive Google calls are not timed since
+ * they complete off the request thread.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class TimingAspect {
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(RequestTiming.Phase.DB, joinPoint);
+    }
+
+    @Around("execution(public * com.foodcritic.service.GooglePlacesService.*(..)) " +
+            "&& !execution(reactor.core.publisher.Mono *(..))")
+    public Object timeGooglePlaces(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(RequestTiming.Phase.GOOGLE, joinPoint);
+    }
+
+    private Object time(RequestTiming.Phase phase, ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean started = RequestTiming.start(phase);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTiming.stop(phase, started);
+        }
+    }
+}
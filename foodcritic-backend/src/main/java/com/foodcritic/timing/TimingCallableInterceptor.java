@@ -0,0 +1,27 @@
+package com.foodcritic.timing;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries the request's timing onto the thread that runs an async handler,
+ * so queries issued while a StreamingResponseBody is written still count.
+ */
+public class TimingCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object timing = request.getAttribute(RequestTiming.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timing instanceof RequestTiming requestTiming) {
+            RequestTiming.bind(requestTiming);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        RequestTiming.unbind();
+    }
+}
@@ -0,0 +1,59 @@
+-- Baseline of the schema previously managed by ddl-auto: update.
+-- Written to be safe on databases that ddl-auto already created.
+
+CREATE TABLE IF NOT EXISTS users (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username        VARCHAR(50)  NOT NULL,
+    email           VARCHAR(255) NOT NULL,
+    password        VARCHAR(255) NOT NULL,
+    role            VARCHAR(255),
+    created_at      TIMESTAMP(6),
+    profile_photo   VARCHAR(255),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS restaurants (
+    id                  VARCHAR(255) PRIMARY KEY,
+    name                VARCHAR(100),
+    cuisine             VARCHAR(50),
+    location            VARCHAR(200),
+    address             VARCHAR(500),
+    phone_number        VARCHAR(20),
+    website             VARCHAR(500),
+    user_ratings_total  INTEGER,
+    price_level         INTEGER,
+    image_url           VARCHAR(1000),
+    latitude            DOUBLE PRECISION,
+    longitude           DOUBLE PRECISION,
+    open_now            BOOLEAN,
+    opening_hours       VARCHAR(2000),
+    created_at          TIMESTAMP(6)
+);
+
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS opening_periods VARCHAR(1000);
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS time_zone VARCHAR(64);
+
+CREATE TABLE IF NOT EXISTS reviews (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT       NOT NULL REFERENCES users (id),
+    restaurant_id   VARCHAR(255) NOT NULL REFERENCES restaurants (id),
+    rating          INTEGER      NOT NULL CHECK (rating BETWEEN 1 AND 5),
+    comment         VARCHAR(1000),
+    image_url       VARCHAR(255),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT uk_reviews_user_restaurant UNIQUE (user_id, restaurant_id)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_id    VARCHAR(255)  NOT NULL,
+    event_type      VARCHAR(50)   NOT NULL,
+    payload         TEXT          NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INTEGER       NOT NULL DEFAULT 0,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    processed_at    TIMESTAMP(6)
+);
@@ -0,0 +1,20 @@
+-- Indexes matched to the hot queries in RestaurantRepository, ReviewRepository
+-- and OutboxEventRepository.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Bounding-box scans: findAllInSanDiego*, findNearbyInSanDiego, findByLatitudeBetweenAndLongitudeBetween
+CREATE INDEX IF NOT EXISTS idx_restaurants_lat_lng ON restaurants (latitude, longitude);
+
+-- Substring search on name, cuisine and address (LOWER(...) LIKE '%term%')
+CREATE INDEX IF NOT EXISTS idx_restaurants_name_trgm ON restaurants USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_restaurants_cuisine_trgm ON restaurants USING gin (lower(cuisine) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_restaurants_address_trgm ON restaurants USING gin (lower(address) gin_trgm_ops);
+
+-- Review feeds: per restaurant, per user and global recent, all newest first
+CREATE INDEX IF NOT EXISTS idx_reviews_restaurant_created ON reviews (restaurant_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_reviews_user_created ON reviews (user_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_reviews_created_id ON reviews (created_at DESC, id);
+
+-- Outbox dispatcher polls pending rows in id order
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events (id) WHERE status = 'PENDING';
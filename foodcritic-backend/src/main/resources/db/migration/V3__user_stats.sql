@@ -0,0 +1,42 @@
+-- Per-user review statistics, maintained by UserStatsService from the review outbox
+
+CREATE TABLE user_stats (
+    user_id         BIGINT       PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    review_count    INTEGER      NOT NULL,
+    rating_sum      INTEGER      NOT NULL,
+    rating_1        INTEGER      NOT NULL,
+    rating_2        INTEGER      NOT NULL,
+    rating_3        INTEGER      NOT NULL,
+    rating_4        INTEGER      NOT NULL,
+    rating_5        INTEGER      NOT NULL,
+    -- JSON array of {"cuisine": ..., "count": ...}, most reviewed first
+    top_cuisines    TEXT         NOT NULL,
+    first_review_at TIMESTAMP(6),
+    last_review_at  TIMESTAMP(6),
+    updated_at      TIMESTAMP(6) NOT NULL
+);
+
+-- Backfill from existing reviews
+INSERT INTO user_stats (user_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5,
+                        top_cuisines, first_review_at, last_review_at, updated_at)
+SELECT r.user_id,
+       COUNT(*),
+       SUM(r.rating),
+       COUNT(*) FILTER (WHERE r.rating = 1),
+       COUNT(*) FILTER (WHERE r.rating = 2),
+       COUNT(*) FILTER (WHERE r.rating = 3),
+       COUNT(*) FILTER (WHERE r.rating = 4),
+       COUNT(*) FILTER (WHERE r.rating = 5),
+       COALESCE((SELECT json_agg(json_build_object('cuisine', c.cuisine, 'count', c.n) ORDER BY c.n DESC, c.cuisine)::text
+                 FROM (SELECT rs.cuisine, COUNT(*) AS n
+                       FROM reviews r2
+                       JOIN restaurants rs ON rs.id = r2.restaurant_id
+                       WHERE r2.user_id = r.user_id AND rs.cuisine IS NOT NULL
+                       GROUP BY rs.cuisine
+                       ORDER BY n DESC, rs.cuisine
+                       LIMIT 3) c), '[]'),
+       MIN(r.created_at),
+       MAX(r.created_at),
+       now()
+FROM reviews r
+GROUP BY r.user_id;
@@ -0,0 +1,17 @@
+-- Each restaurant belongs to at most one city from cities.json.
+
+ALTER TABLE restaurants ADD COLUMN IF NOT EXISTS city_id VARCHAR(64);
+
+-- San Diego's polygon is the bounding box the queries used to hard-code, so it can be
+-- backfilled here; cities added later are assigned by the startup backfill in RestaurantService
+UPDATE restaurants SET city_id = 'san-diego'
+WHERE city_id IS NULL
+  AND latitude BETWEEN 32.534156 AND 33.114249
+  AND longitude BETWEEN -117.608643 AND -116.908707;
+
+-- Every catalog query now leads with city_id, so each city's scans stay within its own rows
+CREATE INDEX IF NOT EXISTS idx_restaurants_city_name ON restaurants (city_id, name);
+CREATE INDEX IF NOT EXISTS idx_restaurants_city_lat_lng ON restaurants (city_id, latitude, longitude);
+
+-- Startup backfill looks for located restaurants that have no city yet
+CREATE INDEX IF NOT EXISTS idx_restaurants_unassigned ON restaurants (id) WHERE city_id IS NULL;
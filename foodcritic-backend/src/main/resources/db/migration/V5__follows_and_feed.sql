@@ -0,0 +1,27 @@
+-- Follow graph and per-user bounded timelines, maintained by FeedService
+
+CREATE TABLE follows (
+    follower_id BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    followee_id BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (follower_id, followee_id)
+);
+
+-- Fan-out reads the followers of an author
+CREATE INDEX idx_follows_followee ON follows (followee_id, follower_id);
+
+-- Decides between fan-out on write and merge on read; not mapped on User so
+-- follow traffic does not churn the users cache region
+ALTER TABLE users ADD COLUMN follower_count INTEGER NOT NULL DEFAULT 0;
+
+-- One row per (reader, review); created_at is the review's, so timelines page newest first
+CREATE TABLE feed_entries (
+    user_id    BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    review_id  BIGINT       NOT NULL REFERENCES reviews (id) ON DELETE CASCADE,
+    author_id  BIGINT       NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (user_id, review_id)
+);
+
+CREATE INDEX idx_feed_entries_user_created ON feed_entries (user_id, created_at DESC, review_id DESC);
+CREATE INDEX idx_feed_entries_review ON feed_entries (review_id);
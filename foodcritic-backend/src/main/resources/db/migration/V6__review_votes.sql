@@ -0,0 +1,16 @@
+-- "Helpful" votes on reviews; rows and counts are written in batches by HelpfulVoteService
+
+CREATE TABLE review_votes (
+    review_id  BIGINT       NOT NULL REFERENCES reviews (id) ON DELETE CASCADE,
+    user_id    BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (review_id, user_id)
+);
+
+-- A user's votes, for marking the reviews they already found helpful
+CREATE INDEX idx_review_votes_user ON review_votes (user_id, review_id);
+
+ALTER TABLE reviews ADD COLUMN helpful_count INTEGER NOT NULL DEFAULT 0;
+
+-- Per-restaurant review list sorted by helpfulness
+CREATE INDEX idx_reviews_restaurant_helpful ON reviews (restaurant_id, helpful_count DESC, created_at DESC);
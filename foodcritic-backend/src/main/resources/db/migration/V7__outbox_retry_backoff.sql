@@ -0,0 +1,8 @@
+-- Outbox delivery with backoff and leases, see OutboxDispatcher
+
+-- A row is not delivered before this time: pushed out by exponential backoff after a failure,
+-- and by the claim lease while an instance is delivering it
+ALTER TABLE outbox_events ADD COLUMN next_attempt_at TIMESTAMP(6) NOT NULL DEFAULT now();
+
+-- Finds an earlier pending event of the same aggregate that is leased or backing off
+CREATE INDEX idx_outbox_events_pending_aggregate ON outbox_events (aggregate_id, id) WHERE status = 'PENDING';
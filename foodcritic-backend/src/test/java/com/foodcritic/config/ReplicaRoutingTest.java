@@ -0,0 +1,218 @@
+package com.foodcritic.config;
+
+import com.foodcritic.model.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Read routing against a real primary and a streaming replica. Each read
+ * reports which node served it through pg_is_in_recovery().
+ */
+@Testcontainers
+class ReplicaRoutingTest {
+
+    private static final String IMAGE = "bitnami/postgresql:16";
+    private static final String PASSWORD = "test";
+
+    private static final Network network = Network.newNetwork();
+
+    @Container
+    private static final GenericContainer<?> primary = new GenericContainer<>(IMAGE)
+            .withNetwork(network)
+            .withNetworkAliases("primary")
+            .withEnv(Map.of(
+                    "POSTGRESQL_REPLICATION_MODE", "master",
+                    "POSTGRESQL_REPLICATION_USER", "replicator",
+                    "POSTGRESQL_REPLICATION_PASSWORD", PASSWORD,
+                    "POSTGRESQL_PASSWORD", PASSWORD,
+                    "POSTGRESQL_DATABASE", "foodcritic"))
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forListeningPort());
+
+    @Container
+    private static final GenericContainer<?> replica = new GenericContainer<>(IMAGE)
+            .withNetwork(network)
+            .dependsOn(primary)
+            .withEnv(Map.of(
+                    "POSTGRESQL_REPLICATION_MODE", "slave",
+                    "POSTGRESQL_MASTER_HOST", "primary",
+                    "POSTGRESQL_MASTER_PORT_NUMBER", "5432",
+                    "POSTGRESQL_REPLICATION_USER", "replicator",
+                    "POSTGRESQL_REPLICATION_PASSWORD", PASSWORD,
+                    "POSTGRESQL_PASSWORD", PASSWORD))
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forListeningPort());
+
+    private static HikariDataSource primaryDataSource;
+    private static HikariDataSource replicaDataSource;
+
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker tracker;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private JdbcTemplate routed;
+
+    @BeforeAll
+    static void connect() {
+        primaryDataSource = dataSource(primary);
+        replicaDataSource = dataSource(replica);
+        awaitTrue(() -> queryQuietly(primaryDataSource, "SELECT NOT pg_is_in_recovery()"));
+        awaitTrue(() -> queryQuietly(replicaDataSource, "SELECT pg_is_in_recovery()"));
+        new JdbcTemplate(primaryDataSource).execute("CREATE TABLE IF NOT EXISTS probe (id SERIAL PRIMARY KEY, note TEXT)");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        primaryDataSource.close();
+        replicaDataSource.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // A generous lag limit keeps a paused replica in rotation, so only the WAL position decides
+        lagMonitor = new ReplicaLagMonitor(Map.of("replica-0", replicaDataSource), Duration.ofHours(1));
+        tracker = new ReadYourWritesTracker(primaryDataSource, Duration.ofMinutes(1));
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(lagMonitor, tracker);
+        routing.setTargetDataSources(Map.of(ReplicaRoutingDataSource.PRIMARY, primaryDataSource, "replica-0", replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        DataSource proxy = new LazyConnectionDataSourceProxy(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        routed = new JdbcTemplate(proxy);
+
+        new JdbcTemplate(replicaDataSource).execute("SELECT pg_wal_replay_resume()");
+        awaitTrue(() -> {
+            lagMonitor.checkLag();
+            return servedByReplica(readOnly);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(replicaDataSource).execute("SELECT pg_wal_replay_resume()");
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToACurrentReplica() {
+        signIn(1L);
+        assertTrue(servedByReplica(readOnly));
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        signIn(1L);
+        assertFalse(servedByReplica(readWrite));
+    }
+
+    @Test
+    void writerIsPinnedToPrimaryUntilReplicaReplaysTheirWrite() {
+        new JdbcTemplate(replicaDataSource).execute("SELECT pg_wal_replay_pause()");
+        lagMonitor.checkLag();
+
+        readWrite.executeWithoutResult(status -> routed.update("INSERT INTO probe (note) VALUES ('written')"));
+        tracker.recordWrite(7L);
+        lagMonitor.checkLag();
+
+        // The replica's replayed position is behind the write, so the writer reads from the primary...
+        signIn(7L);
+        assertFalse(servedByReplica(readOnly));
+        // ...while users without a recent write keep using the replica
+        signIn(8L);
+        assertTrue(servedByReplica(readOnly));
+
+        new JdbcTemplate(replicaDataSource).execute("SELECT pg_wal_replay_resume()");
+        signIn(7L);
+        awaitTrue(() -> {
+            lagMonitor.checkLag();
+            return servedByReplica(readOnly);
+        });
+        assertEquals(1, readOnly.execute(status ->
+                routed.queryForObject("SELECT COUNT(*) FROM probe WHERE note = 'written'", Integer.class)));
+    }
+
+    @Test
+    void unhealthyReplicaFallsBackToPrimary() {
+        ReplicaLagMonitor strict = new ReplicaLagMonitor(Map.of("replica-0", replicaDataSource), Duration.ZERO);
+        new JdbcTemplate(replicaDataSource).execute("SELECT pg_wal_replay_pause()");
+        new JdbcTemplate(primaryDataSource).update("INSERT INTO probe (note) VALUES ('lagging')");
+        awaitTrue(() -> {
+            strict.checkLag();
+            return strict.pickReplica(null) == null;
+        });
+    }
+
+    private boolean servedByReplica(TransactionTemplate template) {
+        return Boolean.TRUE.equals(template.execute(status ->
+                routed.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+    }
+
+    private static void signIn(Long userId) {
+        User user = new User("user" + userId, "user" + userId + "@example.com", "secret");
+        user.setId(userId);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static HikariDataSource dataSource(GenericContainer<?> container) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:postgresql://" + container.getHost() + ":" + container.getMappedPort(5432) + "/foodcritic");
+        dataSource.setUsername("postgres");
+        dataSource.setPassword(PASSWORD);
+        dataSource.setMaximumPoolSize(4);
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    private static boolean queryQuietly(DataSource dataSource, String sql) {
+        try {
+            return Boolean.TRUE.equals(new JdbcTemplate(dataSource).queryForObject(sql, Boolean.class));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 60 seconds");
+            }
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("Interrupted while waiting", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.foodcritic.model;
+
+import com.foodcritic.dto.GooglePlaceDetailsResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parsing of Google's opening-hours periods into minute-of-week intervals.
+ * Days follow Google's numbering: Sunday is 0, Saturday is 6.
+ */
+class WeeklyScheduleTest {
+
+    private static final int SUNDAY = 0;
+    private static final int MONDAY = 1;
+    private static final int FRIDAY = 5;
+    private static final int SATURDAY = 6;
+
+    @Test
+    void sameDayPeriodIsOpenFromOpeningUntilBeforeClosing() {
+        WeeklySchedule schedule = WeeklySchedule.fromPeriods(List.of(period(MONDAY, "1100", MONDAY, "2200")));
+
+        assertFalse(schedule.isOpenAt(minute(MONDAY, 10, 59)));
+        assertTrue(schedule.isOpenAt(minute(MONDAY, 11, 0)));
+        assertTrue(schedule.isOpenAt(minute(MONDAY, 21, 59)));
+        assertFalse(schedule.isOpenAt(minute(MONDAY, 22, 0)));
+        assertFalse(schedule.isOpenAt(minute(FRIDAY, 12, 0)));
+    }
+
+    @Test
+    void overnightPeriodRunsIntoTheNextDay() {
+        WeeklySchedule schedule = WeeklySchedule.fromPeriods(List.of(period(FRIDAY, "1800", SATURDAY, "0200")));
+
+        assertFalse(schedule.isOpenAt(minute(FRIDAY, 17, 59)));
+        assertTrue(schedule.isOpenAt(minute(FRIDAY, 23, 30)));
+        assertTrue(schedule.isOpenAt(minute(SATURDAY, 1, 59)));
+        assertFalse(schedule.isOpenAt(minute(SATURDAY, 2, 0)));
+    }
+
+    @Test
+    void saturdayNightPeriodWrapsIntoSundayMorning() {
+        WeeklySchedule schedule = WeeklySchedule.fromPeriods(List.of(period(SATURDAY, "2000", SUNDAY, "0200")));
+
+        assertTrue(schedule.isOpenAt(minute(SATURDAY, 23, 59)));
+        assertTrue(schedule.isOpenAt(minute(SUNDAY, 0, 0)));
+        assertTrue(schedule.isOpenAt(minute(SUNDAY, 1, 59)));
+        assertFalse(schedule.isOpenAt(minute(SUNDAY, 2, 0)));
+        assertFalse(schedule.isOpenAt(minute(SATURDAY, 19, 59)));
+        // Split at the end of the week into a Sunday-morning and a Saturday-night interval
+        assertEquals("0-120," + minute(SATURDAY, 20, 0) + "-" + WeeklySchedule.MINUTES_PER_WEEK, schedule.encode());
+    }
+
+    @Test
+    void closingAt2400EndsAtMidnight() {
+        WeeklySchedule schedule = WeeklySchedule.fromPeriods(List.of(period(MONDAY, "1800", MONDAY, "2400")));
+
+        assertTrue(schedule.isOpenAt(minute(MONDAY, 23, 59)));
+        assertFalse(schedule.isOpenAt(minute(MONDAY + 1, 0, 0)));
+    }
+
+    @Test
+    void adjacentPeriodsAreMerged() {
+        WeeklySchedule schedule = WeeklySchedule.fromPeriods(List.of(
+                period(MONDAY, "1100", MONDAY, "1500"),
+                period(MONDAY, "1500", MONDAY, "2200")));
+
+        assertEquals(minute(MONDAY, 11, 0) + "-" + minute(MONDAY, 22, 0), schedule.encode());
+    }
+
+    @Test
+    void loneMidnightOpenWithoutCloseIsOpenAllWeek() {
+        GooglePlaceDetailsResponse.Period allWeek = new GooglePlaceDetailsResponse.Period();
+        allWeek.setOpen(time(SUNDAY, "0000"));
+        WeeklySchedule schedule = WeeklySchedule.fromPeriods(List.of(allWeek));
+
+        assertEquals("0-" + WeeklySchedule.MINUTES_PER_WEEK, schedule.encode());
+        for (int day = SUNDAY; day <= SATURDAY; day++) {
+            assertTrue(schedule.isOpenAt(minute(day, 0, 0)));
+            assertTrue(schedule.isOpenAt(minute(day, 23, 59)));
+        }
+    }
+
+    @Test
+    void midnightOpenAlongsideOtherPeriodsIsNotOpenAllWeek() {
+        GooglePlaceDetailsResponse.Period noClose = new GooglePlaceDetailsResponse.Period();
+        noClose.setOpen(time(SUNDAY, "0000"));
+        WeeklySchedule schedule = WeeklySchedule.fromPeriods(List.of(noClose, period(MONDAY, "1100", MONDAY, "2200")));
+
+        assertFalse(schedule.isOpenAt(minute(SUNDAY, 12, 0)));
+        assertTrue(schedule.isOpenAt(minute(MONDAY, 12, 0)));
+    }
+
+    @Test
+    void malformedPeriodsAreSkipped() {
+        GooglePlaceDetailsResponse.Period missingOpen = new GooglePlaceDetailsResponse.Period();
+        missingOpen.setClose(time(MONDAY, "1000"));
+        WeeklySchedule schedule = WeeklySchedule.fromPeriods(List.of(
+                period(7, "0900", 7, "1700"),
+                period(-1, "0900", SUNDAY, "1700"),
+                period(MONDAY, "2500", MONDAY, "2600"),
+                period(MONDAY, "0960", MONDAY, "1000"),
+                period(MONDAY, "2401", MONDAY, "2300"),
+                period(MONDAY, "9am", MONDAY, "5pm"),
+                period(MONDAY, null, MONDAY, "1700"),
+                missingOpen,
+                period(FRIDAY, "1100", FRIDAY, "2200")));
+
+        assertEquals(minute(FRIDAY, 11, 0) + "-" + minute(FRIDAY, 22, 0), schedule.encode());
+    }
+
+    @Test
+    void noUsablePeriodsGiveNoSchedule() {
+        assertNull(WeeklySchedule.fromPeriods(null));
+        assertNull(WeeklySchedule.fromPeriods(List.of()));
+        assertNull(WeeklySchedule.fromPeriods(List.of(period(8, "0900", 8, "1700"))));
+    }
+
+    @Test
+    void encodedScheduleDecodesToTheSameIntervals() {
+        WeeklySchedule schedule = WeeklySchedule.fromPeriods(List.of(
+                period(SATURDAY, "2000", SUNDAY, "0200"),
+                period(MONDAY, "1100", MONDAY, "2200")));
+
+        assertEquals(schedule, WeeklySchedule.decode(schedule.encode()));
+        assertNull(WeeklySchedule.decode(null));
+        assertNull(WeeklySchedule.decode(""));
+    }
+
+    private static GooglePlaceDetailsResponse.Period period(int openDay, String openTime, int closeDay, String closeTime) {
+        GooglePlaceDetailsResponse.Period period = new GooglePlaceDetailsResponse.Period();
+        period.setOpen(time(openDay, openTime));
+        period.setClose(time(closeDay, closeTime));
+        return period;
+    }
+
+    private static GooglePlaceDetailsResponse.TimeOfWeek time(int day, String hhmm) {
+        GooglePlaceDetailsResponse.TimeOfWeek time = new GooglePlaceDetailsResponse.TimeOfWeek();
+        time.setDay(day);
+        time.setTime(hhmm);
+        return time;
+    }
+
+    private static int minute(int day, int hour, int minute) {
+        return day * WeeklySchedule.MINUTES_PER_DAY + hour * 60 + minute;
+    }
+}
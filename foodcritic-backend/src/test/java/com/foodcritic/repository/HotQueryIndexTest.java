@@ -0,0 +1,164 @@
+package com.foodcritic.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the hot queries V2 indexes for are planned as index scans on
+ * those indexes, against a schema built by the Flyway migrations.
+ *
+ * The seeded tables are small, so sequential scans are switched off for the
+ * session: the question is whether an index can serve the query's shape,
+ * not whether the planner prefers it at this size. JPQL queries are written
+ * out as the SQL Hibernate generates for them; native ones are read from
+ * their @Query annotation.
+ */
+@Testcontainers
+class HotQueryIndexTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        dataSource = new SingleConnectionDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), true);
+        jdbc = new JdbcTemplate(dataSource);
+
+        jdbc.update("INSERT INTO users (username, email, password, created_at) " +
+                "SELECT 'user' || g, 'user' || g || '@example.com', 'secret', now() FROM generate_series(1, 500) g");
+        jdbc.update("INSERT INTO restaurants (id, name, cuisine, address, latitude, longitude, city_id, created_at) " +
+                "SELECT 'place-' || g, 'Restaurant ' || g, " +
+                "(ARRAY['Thai', 'Mexican', 'Italian', 'Japanese', 'American', 'Seafood'])[1 + g % 6], " +
+                "g || ' Main St, ' || (ARRAY['Downtown', 'La Jolla', 'Gaslamp', 'Pacific Beach', 'Hillcrest', 'North Park', 'Mission Valley'])[1 + g % 7] || ', San Diego, CA', " +
+                "32.6 + (g % 400) * 0.001, -117.3 + (g % 300) * 0.001, 'san-diego', now() " +
+                "FROM generate_series(1, 5000) g");
+        jdbc.update("INSERT INTO reviews (user_id, restaurant_id, rating, comment, created_at) " +
+                "SELECT u, 'place-' || ((u * 37 + k) % 5000 + 1), 1 + (u + k) % 5, 'Review', now() - (u * 20 + k) * INTERVAL '1 minute' " +
+                "FROM generate_series(1, 500) u, generate_series(1, 20) k");
+        jdbc.update("INSERT INTO outbox_events (aggregate_id, event_type, payload, status, created_at) " +
+                "SELECT 'place-' || (g % 5000 + 1), 'REVIEW_CREATED', '{}', CASE WHEN g % 100 = 0 THEN 'PENDING' ELSE 'PROCESSED' END, now() " +
+                "FROM generate_series(1, 20000) g");
+        jdbc.execute("ANALYZE");
+        jdbc.execute("SET enable_seqscan = off");
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void boundingBoxSearchUsesLatLngIndex() {
+        // RestaurantRepository.findByLatitudeBetweenAndLongitudeBetween
+        assertIndexScan("idx_restaurants_lat_lng",
+                "SELECT r.* FROM restaurants r WHERE r.latitude BETWEEN 32.7 AND 32.8 AND r.longitude BETWEEN -117.2 AND -117.1");
+    }
+
+    @Test
+    void nameSearchUsesNameTrigramIndex() {
+        // RestaurantRepository.findByNameContainingIgnoreCase
+        assertIndexScan("idx_restaurants_name_trgm",
+                "SELECT r.* FROM restaurants r WHERE lower(r.name) LIKE lower(('%' || 'taurant 12' || '%'))");
+    }
+
+    @Test
+    void cuisineSearchUsesCuisineTrigramIndex() {
+        // RestaurantRepository.findByCuisineContainingIgnoreCase
+        assertIndexScan("idx_restaurants_cuisine_trgm",
+                "SELECT r.* FROM restaurants r WHERE lower(r.cuisine) LIKE lower(('%' || 'thai' || '%'))");
+    }
+
+    @Test
+    void neighborhoodSearchUsesAddressTrigramIndex() {
+        // RestaurantRepository.findByNeighborhoodInCity
+        assertIndexScan("idx_restaurants_address_trgm",
+                "SELECT r.* FROM restaurants r WHERE r.city_id = 'san-diego' " +
+                "AND lower(r.address) LIKE lower(('%' || 'la jolla' || '%'))");
+    }
+
+    @Test
+    void restaurantReviewsUseRestaurantCreatedIndex() {
+        // ReviewRepository.findByRestaurant_IdOrderByCreatedAtDesc
+        assertIndexScan("idx_reviews_restaurant_created",
+                "SELECT r.*, u.*, p.* FROM reviews r JOIN users u ON u.id = r.user_id JOIN restaurants p ON p.id = r.restaurant_id " +
+                "WHERE r.restaurant_id = 'place-42' ORDER BY r.created_at DESC");
+    }
+
+    @Test
+    void userReviewsUseUserCreatedIndex() {
+        // ReviewRepository.findByUser_IdOrderByCreatedAtDesc
+        assertIndexScan("idx_reviews_user_created",
+                "SELECT r.*, u.*, p.* FROM reviews r JOIN users u ON u.id = r.user_id JOIN restaurants p ON p.id = r.restaurant_id " +
+                "WHERE r.user_id = 42 ORDER BY r.created_at DESC");
+    }
+
+    @Test
+    void recentReviewsUseCreatedIdIndex() {
+        // ReviewRepository.findRecentReviews
+        assertIndexScan("idx_reviews_created_id",
+                "SELECT r.*, u.*, p.* FROM reviews r JOIN users u ON u.id = r.user_id JOIN restaurants p ON p.id = r.restaurant_id " +
+                "ORDER BY r.created_at DESC OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY");
+    }
+
+    @Test
+    void outboxClaimUsesPendingIndex() throws NoSuchMethodException {
+        String claimDue = OutboxEventRepository.class.getMethod("claimDue", int.class, long.class)
+                .getAnnotation(Query.class).value()
+                .replace(":limit", "100")
+                .replace(":leaseSeconds", "60");
+        assertIndexScan("idx_outbox_events_pending", claimDue);
+    }
+
+    private static void assertIndexScan(String indexName, String sql) {
+        JsonNode plan = explain(sql);
+        List<String> indexScans = new ArrayList<>();
+        collectIndexScans(plan.get("Plan"), indexScans);
+        assertTrue(indexScans.contains(indexName),
+                "Expected an index scan on " + indexName + " but the plan scanned " + indexScans + ":\n" + plan.toPrettyString());
+    }
+
+    private static JsonNode explain(String sql) {
+        String json = jdbc.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        try {
+            return objectMapper.readTree(json).get(0);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan: " + json, e);
+        }
+    }
+
+    // Index Scan, Index Only Scan and Bitmap Index Scan nodes anywhere in the plan, including subplans
+    private static void collectIndexScans(JsonNode node, List<String> indexScans) {
+        if (node.path("Node Type").asText().contains("Index") && node.has("Index Name")) {
+            indexScans.add(node.get("Index Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectIndexScans(child, indexScans);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.foodcritic.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The open-addressing map behind co-like counts and per-user ratings.
+ * Zero values count as absent, so "deleting" is putting zero.
+ */
+class IntIntMapTest {
+
+    @Test
+    void absentKeysReadAsZero() {
+        RecommendationService.IntIntMap map = new RecommendationService.IntIntMap();
+
+        assertEquals(0, map.get(42));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void putOverwritesAndAddAccumulates() {
+        RecommendationService.IntIntMap map = new RecommendationService.IntIntMap();
+        map.put(7, 3);
+        map.put(7, 5);
+        map.add(7, 2);
+        map.add(9, 1);
+
+        assertEquals(7, map.get(7));
+        assertEquals(1, map.get(9));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void deletedKeyCanBeReinserted() {
+        RecommendationService.IntIntMap map = new RecommendationService.IntIntMap();
+        map.put(1, 10);
+        map.put(2, 20);
+
+        map.put(1, 0);
+        assertEquals(0, map.get(1));
+        assertEquals(1, map.size());
+
+        map.put(1, 11);
+        assertEquals(11, map.get(1));
+        assertEquals(20, map.get(2));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void sizeCountsOnlyNonZeroValues() {
+        RecommendationService.IntIntMap map = new RecommendationService.IntIntMap();
+        map.add(1, 1);
+        map.add(2, 1);
+        map.add(1, -1);
+        assertEquals(1, map.size());
+
+        // Zeroing twice, or zeroing a key never seen, changes nothing
+        map.put(1, 0);
+        map.put(3, 0);
+        assertEquals(1, map.size());
+
+        map.add(2, -1);
+        assertEquals(0, map.size());
+        assertEquals(0, entries(map).size());
+    }
+
+    @Test
+    void growsPastTheLoadFactorWithoutLosingEntries() {
+        RecommendationService.IntIntMap map = new RecommendationService.IntIntMap();
+        int count = 10_000;
+        for (int key = 0; key < count; key++) {
+            map.put(key, key + 1);
+            assertEquals(key + 1, map.size());
+        }
+        for (int key = 0; key < count; key++) {
+            assertEquals(key + 1, map.get(key));
+        }
+        assertEquals(count, entries(map).size());
+    }
+
+    @Test
+    void rehashDropsZeroedEntries() {
+        RecommendationService.IntIntMap map = new RecommendationService.IntIntMap();
+        for (int key = 0; key < 100; key++) {
+            map.put(key, 1);
+        }
+        for (int key = 0; key < 100; key += 2) {
+            map.put(key, 0);
+        }
+        // Enough new keys to force more rehashes over the zeroed slots
+        for (int key = 1_000; key < 2_000; key++) {
+            map.put(key, 2);
+        }
+
+        assertEquals(50 + 1_000, map.size());
+        Map<Integer, Integer> entries = entries(map);
+        assertEquals(50 + 1_000, entries.size());
+        for (int key = 0; key < 100; key++) {
+            assertEquals(key % 2 == 0 ? 0 : 1, map.get(key));
+        }
+        assertEquals(2, map.get(1_500));
+    }
+
+    @Test
+    void randomOperationsMatchAHashMap() {
+        RecommendationService.IntIntMap map = new RecommendationService.IntIntMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2_000);
+            int value = random.nextInt(4) == 0 ? 0 : random.nextInt(5) - 2;
+            if (random.nextBoolean()) {
+                map.put(key, value);
+                expected.put(key, value);
+            } else {
+                map.add(key, value);
+                expected.merge(key, value, Integer::sum);
+            }
+            if (expected.get(key) == 0) {
+                expected.remove(key);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, entries(map));
+    }
+
+    private static Map<Integer, Integer> entries(RecommendationService.IntIntMap map) {
+        Map<Integer, Integer> entries = new HashMap<>();
+        map.forEach(entries::put);
+        return entries;
+    }
+}
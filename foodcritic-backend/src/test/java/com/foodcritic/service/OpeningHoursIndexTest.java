@@ -0,0 +1,101 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.GooglePlaceDetailsResponse;
+import com.foodcritic.event.RestaurantChangedEvent;
+import com.foodcritic.model.Restaurant;
+import com.foodcritic.model.WeeklySchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-at checks evaluate a restaurant's schedule in its own city's time
+ * zone, whatever the server's zone is.
+ */
+class OpeningHoursIndexTest {
+
+    private static final int MONDAY = 1;
+
+    // Monday 19 October 2026, as UTC instants
+    private static final Instant MONDAY_1230_UTC = Instant.parse("2026-10-19T12:30:00Z");
+    private static final Instant MONDAY_1630_UTC = Instant.parse("2026-10-19T16:30:00Z");
+    private static final Instant MONDAY_2130_UTC = Instant.parse("2026-10-19T21:30:00Z");
+
+    private final OpeningHoursIndex index = new OpeningHoursIndex();
+
+    @Test
+    void scheduleIsEvaluatedInTheRestaurantsTimeZone() {
+        Restaurant newYork = restaurant("ny", "America/New_York");
+        Restaurant sanDiego = restaurant("sd", "America/Los_Angeles");
+
+        // 08:30 in New York, 05:30 in San Diego
+        assertEquals(Optional.of(false), index.isOpenAt(newYork, MONDAY_1230_UTC));
+        assertEquals(Optional.of(false), index.isOpenAt(sanDiego, MONDAY_1230_UTC));
+        // 12:30 in New York, 09:30 in San Diego
+        assertEquals(Optional.of(true), index.isOpenAt(newYork, MONDAY_1630_UTC));
+        assertEquals(Optional.of(true), index.isOpenAt(sanDiego, MONDAY_1630_UTC));
+        // 17:30 in New York, 14:30 in San Diego
+        assertEquals(Optional.of(false), index.isOpenAt(newYork, MONDAY_2130_UTC));
+        assertEquals(Optional.of(true), index.isOpenAt(sanDiego, MONDAY_2130_UTC));
+    }
+
+    @Test
+    void predicateMatchesSingleChecks() {
+        Restaurant newYork = restaurant("ny", "America/New_York");
+        Restaurant sanDiego = restaurant("sd", "America/Los_Angeles");
+
+        Predicate<Restaurant> open = index.openAt(MONDAY_2130_UTC);
+        assertFalse(open.test(newYork));
+        assertTrue(open.test(sanDiego));
+    }
+
+    @Test
+    void lookupByIdUsesTheIndexedSchedule() {
+        Restaurant sanDiego = restaurant("sd", "America/Los_Angeles");
+
+        assertEquals(Optional.empty(), index.isOpenAt("sd", MONDAY_2130_UTC));
+        index.index(sanDiego);
+        assertEquals(Optional.of(true), index.isOpenAt("sd", MONDAY_2130_UTC));
+
+        index.onRestaurantChanged(new RestaurantChangedEvent("sd", null));
+        assertEquals(Optional.empty(), index.isOpenAt("sd", MONDAY_2130_UTC));
+    }
+
+    @Test
+    void restaurantWithoutScheduleFallsBackToIngestedFlag() {
+        Restaurant unknown = new Restaurant("Unknown hours", "Cafe", "San Diego");
+        unknown.setId("unknown");
+        unknown.setTimeZone("America/Los_Angeles");
+        unknown.setOpenNow(true);
+
+        assertEquals(Optional.of(true), index.isOpenAt(unknown, MONDAY_1230_UTC));
+        assertTrue(index.openAt(MONDAY_1230_UTC).test(unknown));
+    }
+
+    // Open Monday 09:00-17:00 local time
+    private static Restaurant restaurant(String id, String timeZone) {
+        Restaurant restaurant = new Restaurant("Restaurant " + id, "Cafe", "Test");
+        restaurant.setId(id);
+        restaurant.setTimeZone(timeZone);
+        restaurant.setOpeningPeriods(WeeklySchedule.fromPeriods(List.of(period("0900", "1700"))).encode());
+        return restaurant;
+    }
+
+    private static GooglePlaceDetailsResponse.Period period(String open, String close) {
+        GooglePlaceDetailsResponse.Period period = new GooglePlaceDetailsResponse.Period();
+        period.setOpen(new GooglePlaceDetailsResponse.TimeOfWeek());
+        period.getOpen().setDay(MONDAY);
+        period.getOpen().setTime(open);
+        period.setClose(new GooglePlaceDetailsResponse.TimeOfWeek());
+        period.getClose().setDay(MONDAY);
+        period.getClose().setTime(close);
+        return period;
+    }
+}
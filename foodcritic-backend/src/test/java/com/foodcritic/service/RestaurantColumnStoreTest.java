@@ -0,0 +1,208 @@
+package com.foodcritic.service;
+
+import com.foodcritic.dto.RestaurantRatingAggregate;
+import com.foodcritic.model.Restaurant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Bitmap and column logic of one column store snapshot, built directly
+ * from restaurants and aggregates without a Spring context.
+ */
+class RestaurantColumnStoreTest {
+
+    private final Map<String, RestaurantRatingAggregate> aggregates = new HashMap<>();
+    private final List<Restaurant> restaurants = new ArrayList<>();
+
+    private RestaurantColumnStore.Columns columns;
+
+    @BeforeEach
+    void setUp() {
+        add("Unrated", "Thai", "1 Main St, Downtown", 1, 0, 0);
+        add("Two Nine", "Thai", "2 Main St, La Jolla", 2, 10, 29);
+        add("Three", "Thai", "3 Main St, Downtown", 2, 1, 3);
+        add("Three Four", "Mexican", "4 Main St, La Jolla", 3, 10, 34);
+        add("Three Five", "Mexican", "5 Main St, Hillcrest", null, 2, 7);
+        add("Four Nine Nine", "Italian", "6 Main St, Downtown", 4, 100, 499);
+        add("Five", "Thai Fusion", "7 Main St, Somewhere Else", 1, 3, 15);
+        columns = RestaurantColumnStore.Columns.build(new ArrayList<>(restaurants), this::aggregate, this::neighborhoodOf);
+    }
+
+    @Test
+    void minimumRatingTakesWholeBucketsAndChecksThePartialOne() {
+        assertEquals(Set.of("Three", "Three Four", "Three Five", "Four Nine Nine", "Five"), names(columns.ratingAtLeast(3.0)));
+        assertEquals(Set.of("Three Five", "Four Nine Nine", "Five"), names(columns.ratingAtLeast(3.5)));
+        assertEquals(Set.of("Four Nine Nine", "Five"), names(columns.ratingAtLeast(4.0)));
+        assertEquals(Set.of("Five"), names(columns.ratingAtLeast(5.0)));
+        assertEquals(Set.of(), names(columns.ratingAtLeast(5.5)));
+    }
+
+    @Test
+    void unratedRowsNeverMeetAMinimumRating() {
+        assertEquals(Set.of("Two Nine", "Three", "Three Four", "Three Five", "Four Nine Nine", "Five"),
+                names(columns.ratingAtLeast(0.5)));
+        assertEquals(Set.of("Unrated"), names(columns.ratingRows(RestaurantColumnStore.Columns.UNRATED)));
+        // No minimum is no restriction, unrated rows included
+        assertNull(columns.ratingAtLeast(0));
+    }
+
+    @Test
+    void ratingBucketsSplitAtWholeStars() {
+        int[] counts = columns.ratingCounts(null);
+        assertEquals(1, counts[RestaurantColumnStore.Columns.UNRATED]);
+        assertEquals(1, counts[2]);
+        assertEquals(3, counts[3]);
+        // Bucket 4 runs from 4.0 up to and including 5.0
+        assertEquals(2, counts[4]);
+    }
+
+    @Test
+    void intersectOfNothingIsNoRestriction() {
+        assertNull(RestaurantColumnStore.Columns.intersect());
+        assertNull(RestaurantColumnStore.Columns.intersect(null, null));
+    }
+
+    @Test
+    void intersectOfOneBitmapIsThatSharedBitmap() {
+        RoaringBitmap thai = columns.cuisineRows("thai", true);
+        assertSame(thai, RestaurantColumnStore.Columns.intersect(null, thai, null));
+    }
+
+    @Test
+    void intersectNeverModifiesItsArguments() {
+        RoaringBitmap first = RoaringBitmap.bitmapOf(1, 2, 3, 4);
+        RoaringBitmap second = RoaringBitmap.bitmapOf(2, 3, 4, 5);
+        RoaringBitmap third = RoaringBitmap.bitmapOf(3, 4, 6);
+
+        RoaringBitmap result = RestaurantColumnStore.Columns.intersect(first, null, second, third);
+
+        assertEquals(RoaringBitmap.bitmapOf(3, 4), result);
+        assertNotSame(first, result);
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3, 4), first);
+        assertEquals(RoaringBitmap.bitmapOf(2, 3, 4, 5), second);
+        assertEquals(RoaringBitmap.bitmapOf(3, 4, 6), third);
+    }
+
+    @Test
+    void searchesLeaveTheSnapshotBitmapsUnchanged() {
+        int thai = columns.cuisineRows("thai", true).getCardinality();
+        int downtown = columns.neighborhoodRows("downtown", true).getCardinality();
+        int priceTwo = columns.priceRows(2).getCardinality();
+
+        int[] matches = new int[columns.size()];
+        int count = columns.filter(new RestaurantColumnStore.Filter(null, "thai", null, "Downtown", 2, 2.5,
+                null, null, null), null, matches);
+
+        assertEquals(1, count);
+        assertEquals("Three", columns.restaurant(matches[0]).getName());
+        assertEquals(thai, columns.cuisineRows("thai", true).getCardinality());
+        assertEquals(downtown, columns.neighborhoodRows("downtown", true).getCardinality());
+        assertEquals(priceTwo, columns.priceRows(2).getCardinality());
+    }
+
+    @Test
+    void textFiltersMatchSubstringsAndNeighborhoodsExactly() {
+        assertEquals(Set.of("Unrated", "Two Nine", "Three", "Five"), names(columns.cuisineRows("thai", false)));
+        assertEquals(Set.of("Unrated", "Two Nine", "Three"), names(columns.cuisineRows("THAI", true)));
+        // Addresses naming no known neighborhood are filed under the city
+        assertEquals(Set.of("Five"), names(columns.neighborhoodRows("test city", true)));
+        assertEquals(Set.of("Three Four", "Two Nine"), search(new RestaurantColumnStore.Filter(null, null, "la jolla", null,
+                null, null, null, null, null)));
+        assertEquals(Set.of("Three", "Three Four", "Three Five"), search(new RestaurantColumnStore.Filter("three", null, null, null,
+                null, null, null, null, null)));
+    }
+
+    @Test
+    void ratingUpdatesMoveRowsBetweenBucketsInACopy() {
+        Map<String, RestaurantRatingAggregate> changed = Map.of(
+                "unrated", new RestaurantRatingAggregate("unrated", 1L, 5L),
+                "five", new RestaurantRatingAggregate("five", 4L, 8L));
+
+        RestaurantColumnStore.Columns updated = columns.withRatings(changed);
+
+        assertEquals(Set.of("Unrated", "Four Nine Nine"), names(updated.ratingRows(4)));
+        assertEquals(Set.of("Two Nine", "Five"), names(updated.ratingRows(2)));
+        assertEquals(Set.of(), names(updated.ratingRows(RestaurantColumnStore.Columns.UNRATED)));
+        assertEquals(Set.of("Unrated"), names(updated.ratingAtLeast(5.0)));
+
+        // The previous snapshot is untouched for readers still holding it
+        assertEquals(Set.of("Four Nine Nine", "Five"), names(columns.ratingRows(4)));
+        assertEquals(Set.of("Unrated"), names(columns.ratingRows(RestaurantColumnStore.Columns.UNRATED)));
+        assertEquals(Set.of("Five"), names(columns.ratingAtLeast(5.0)));
+    }
+
+    @Test
+    void ratingUpdateWithinABucketOnlyChangesTheRating() {
+        RestaurantColumnStore.Columns updated = columns.withRatings(
+                Map.of("three-four", new RestaurantRatingAggregate("three-four", 10L, 38L)));
+
+        assertEquals(Set.of("Three", "Three Four", "Three Five"), names(updated.ratingRows(3)));
+        assertEquals(Set.of("Three Four", "Three Five", "Four Nine Nine", "Five"), names(updated.ratingAtLeast(3.5)));
+        assertEquals(Set.of("Three Five", "Four Nine Nine", "Five"), names(columns.ratingAtLeast(3.5)));
+    }
+
+    @Test
+    void ratingUpdatesForUnknownRestaurantsAreIgnored() {
+        RestaurantColumnStore.Columns updated = columns.withRatings(
+                Map.of("elsewhere", new RestaurantRatingAggregate("elsewhere", 1L, 5L)));
+
+        for (int bucket = 0; bucket <= RestaurantColumnStore.Columns.MAX_RATING_BUCKET; bucket++) {
+            assertEquals(columns.ratingRows(bucket), updated.ratingRows(bucket));
+        }
+    }
+
+    private void add(String name, String cuisine, String address, Integer priceLevel, long reviews, long ratingSum) {
+        Restaurant restaurant = new Restaurant(name, cuisine, "Test City");
+        restaurant.setId(name.toLowerCase().replace(' ', '-'));
+        restaurant.setAddress(address);
+        restaurant.setPriceLevel(priceLevel);
+        restaurants.add(restaurant);
+        aggregates.put(restaurant.getId(), new RestaurantRatingAggregate(restaurant.getId(), reviews, ratingSum));
+    }
+
+    private RestaurantRatingAggregate aggregate(String restaurantId) {
+        return aggregates.getOrDefault(restaurantId, RestaurantRatingAggregate.empty(restaurantId));
+    }
+
+    private String neighborhoodOf(String address) {
+        for (String neighborhood : List.of("Downtown", "La Jolla", "Hillcrest")) {
+            if (address.contains(neighborhood)) {
+                return neighborhood;
+            }
+        }
+        return "Test City";
+    }
+
+    private Set<String> search(RestaurantColumnStore.Filter filter) {
+        int[] matches = new int[columns.size()];
+        int count = columns.filter(filter, null, matches);
+        Set<String> names = new TreeSet<>();
+        for (int i = 0; i < count; i++) {
+            names.add(columns.restaurant(matches[i]).getName());
+        }
+        return names;
+    }
+
+    private Set<String> names(RoaringBitmap rows) {
+        Set<String> names = new TreeSet<>();
+        PeekableIntIterator iterator = rows.getIntIterator();
+        while (iterator.hasNext()) {
+            names.add(columns.restaurant(iterator.next()).getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,99 @@
+package com.foodcritic.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The availability filters must never report a seen value as absent, and
+ * should report unseen values as present at roughly the configured rate.
+ */
+class UserAvailabilityBloomFilterTest {
+
+    private static final int INSERTED = 20_000;
+    private static final int PROBES = 200_000;
+
+    @Test
+    void insertedValuesAreAlwaysFound() {
+        UserAvailabilityService.BloomFilter filter = new UserAvailabilityService.BloomFilter(INSERTED, 0.01);
+        for (int i = 0; i < INSERTED; i++) {
+            filter.put(username(i));
+        }
+        for (int i = 0; i < INSERTED; i++) {
+            assertTrue(filter.mightContain(username(i)), username(i));
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        UserAvailabilityService.BloomFilter filter = new UserAvailabilityService.BloomFilter(INSERTED, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(filter.mightContain(username(i)));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRate() {
+        for (double configured : new double[] {0.01, 0.001}) {
+            double measured = measuredFalsePositiveRate(INSERTED, INSERTED, configured);
+            assertTrue(measured <= configured * 1.5, "configured " + configured + ", measured " + measured);
+            assertTrue(measured >= configured / 2, "configured " + configured + ", measured " + measured);
+        }
+    }
+
+    @Test
+    void filterBelowCapacityHasFewerFalsePositives() {
+        double measured = measuredFalsePositiveRate(INSERTED, INSERTED / 4, 0.01);
+        assertTrue(measured < 0.001, "measured " + measured);
+    }
+
+    @Test
+    void normalizeCaseFoldsAndTrims() {
+        assertEquals("alice", UserAvailabilityService.normalize("Alice"));
+        assertEquals("alice@example.com", UserAvailabilityService.normalize("  ALICE@Example.Com\t"));
+    }
+
+    @Test
+    void normalizeIgnoresTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            // A Turkish lower-casing would give a dotless i
+            assertEquals("title", UserAvailabilityService.normalize("TITLE"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void normalizedValuesMatchWhateverTheirCase() {
+        UserAvailabilityService.BloomFilter filter = new UserAvailabilityService.BloomFilter(1_000, 0.01);
+        filter.put(UserAvailabilityService.normalize("FoodLover"));
+
+        assertTrue(filter.mightContain(UserAvailabilityService.normalize("foodlover")));
+        assertTrue(filter.mightContain(UserAvailabilityService.normalize("FOODLOVER ")));
+        assertTrue(filter.mightContain(UserAvailabilityService.normalize("fOoDlOvEr")));
+    }
+
+    private static double measuredFalsePositiveRate(long capacity, int inserted, double configured) {
+        UserAvailabilityService.BloomFilter filter = new UserAvailabilityService.BloomFilter(capacity, configured);
+        for (int i = 0; i < inserted; i++) {
+            filter.put(username(i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain("unseen-" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        return (double) falsePositives / PROBES;
+    }
+
+    private static String username(int i) {
+        return "user" + i + "@example.com";
+    }
+}
@@ -1,6 +1,7 @@
 import React from 'react';
 import { motion } from 'framer-motion';
-import { StarIcon, MapPinIcon, PencilIcon, TrashIcon } from '@heroicons/react/24/outline';
+import { StarIcon, MapPinIcon, PencilIcon, TrashIcon, HandThumbUpIcon } from '@heroicons/react/24/outline';
+import { HandThumbUpIcon as HandThumbUpSolid } from '@heroicons/react/24/solid';
 import { StarRating } from '../ui/StarRating';
 import type { Review, User } from '../../types';
 
@@ -12,6 +13,11 @@ interface ReviewCardProps {
   currentUser?: User | null;
   onEdit?: () => void;
   onDelete?: () => void;
+  // Helpful votes and follows are only offered on other users' reviews
+  helpfulVoted?: boolean;
+  onToggleHelpful?: () => void;
+  following?: boolean;
+  onToggleFollow?: () => void;
 }
 
 export function ReviewCard({ 
@@ -21,7 +27,11 @@ export function ReviewCard({
   onRestaurantClick,
   currentUser,
   onEdit,
-  onDelete 
+  onDelete,
+  helpfulVoted = false,
+  onToggleHelpful,
+  following = false,
+  onToggleFollow
 }: ReviewCardProps) {
   const formatDate = (dateString: string) => {
     return new Date(dateString).toLocaleDateString('en-US', {
@@ -94,7 +104,24 @@ export function ReviewCard({
           </div>
           
           <div className="flex-1">
-            <h4 className="font-semibold text-gray-900 text-lg truncate">{review.user.username}</h4>
+            <div className="flex items-center space-x-3">
+              <h4 className="font-semibold text-gray-900 text-lg truncate">{review.user.username}</h4>
+              {onToggleFollow && !isCurrentUserReview && (
+                <button
+                  onClick={(e) => {
+                    e.stopPropagation();
+                    onToggleFollow();
+                  }}
+                  className={`text-xs font-medium px-3 py-1 rounded-full transition-colors ${
+                    following
+                      ? 'bg-gray-100 text-gray-700 hover:bg-gray-200'
+                      : 'bg-indigo-50 text-indigo-600 hover:bg-indigo-100'
+                  }`}
+                >
+                  {following ? 'Following' : 'Follow'}
+                </button>
+              )}
+            </div>
             <div className="flex items-center space-x-3 mt-1">
               {/* Stars with rating */}
               <div className="flex items-center space-x-2">
@@ -182,6 +209,32 @@ export function ReviewCard({
         </div>
       )}
 
+      {/* Helpful votes */}
+      {(onToggleHelpful || review.helpfulCount > 0) && (
+        <div className="flex items-center space-x-2 text-sm text-gray-500">
+          {onToggleHelpful && !isCurrentUserReview ? (
+            <button
+              onClick={(e) => {
+                e.stopPropagation();
+                onToggleHelpful();
+              }}
+              className={`flex items-center space-x-1 px-3 py-1 rounded-lg transition-colors ${
+                helpfulVoted ? 'text-indigo-600 bg-indigo-50' : 'hover:text-indigo-600 hover:bg-indigo-50'
+              }`}
+              title={helpfulVoted ? 'Remove helpful vote' : 'Mark as helpful'}
+            >
+              {helpfulVoted ? <HandThumbUpSolid className="h-4 w-4" /> : <HandThumbUpIcon className="h-4 w-4" />}
+              <span>Helpful</span>
+            </button>
+          ) : (
+            <HandThumbUpIcon className="h-4 w-4" />
+          )}
+          {review.helpfulCount > 0 && (
+            <span>{review.helpfulCount} found this helpful</span>
+          )}
+        </div>
+      )}
+
       {/* Updated indicator */}
       {review.updatedAt !== review.createdAt && (
         <div className="text-xs text-gray-400 mt-4 pt-4 border-t border-gray-100 flex items-center space-x-1">
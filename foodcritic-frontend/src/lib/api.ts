@@ -1,5 +1,5 @@
 import axios from 'axios';
-import type { AuthResponse, LoginRequest, RegisterRequest, Restaurant, Review, User, ReviewRequest } from '../types';
+import type { AuthResponse, AvailabilityResponse, LoginRequest, RegisterRequest, Restaurant, Review, User, UserStats, ReviewRequest, ReviewStreamEvent, RestaurantPage, RestaurantRecommendation, FeedPage } from '../types';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -78,25 +78,45 @@ export const authApi = {
     const response = await api.post('/auth/register', userData);
     return response.data;
   },
+
+  checkAvailability: async (params: { username?: string; email?: string }): Promise<AvailabilityResponse> => {
+    const response = await api.get('/auth/availability', { params });
+    return response.data;
+  },
 };
 
 // Restaurant API
 export const restaurantApi = {
-  getAll: async (): Promise<Restaurant[]> => {
-    const response = await api.get('/restaurants');
+  getAll: async (page = 0, size = 20): Promise<RestaurantPage> => {
+    const response = await api.get('/restaurants', { params: { page, size } });
     return response.data;
   },
 
   getById: async (id: string): Promise<Restaurant> => {
     const response = await api.get(`/restaurants/${id}`);
     return response.data;
+  },
+
+  getByIds: async (ids: string[]): Promise<Restaurant[]> => {
+    const response = await api.post('/restaurants/batch', { ids });
+    return response.data;
+  },
+
+  getRecommendations: async (id: string, limit = 10): Promise<RestaurantRecommendation[]> => {
+    const response = await api.get(`/restaurants/${id}/recommendations`, { params: { limit } });
+    return response.data;
+  },
+
+  getSimilar: async (id: string, limit = 6, maxDistanceKm = 5, openNow = false): Promise<RestaurantRecommendation[]> => {
+    const response = await api.get(`/restaurants/${id}/similar`, { params: { limit, maxDistanceKm, openNow } });
+    return response.data;
   }
 };
 
 // Review API
 export const reviewApi = {
-  getByRestaurant: async (restaurantId: string): Promise<Review[]> => {
-    const response = await api.get(`/restaurants/${restaurantId}/reviews`);
+  getByRestaurant: async (restaurantId: string, sort: 'recent' | 'helpful' = 'recent'): Promise<Review[]> => {
+    const response = await api.get(`/restaurants/${restaurantId}/reviews`, { params: { sort } });
     return response.data;
   },
 
@@ -125,11 +145,34 @@ export const reviewApi = {
     return response.data;
   },
 
+  // Votes are applied in batches; helpfulCount catches up within a few seconds
+  markHelpful: async (restaurantId: string, reviewId: number): Promise<void> => {
+    await api.put(`/restaurants/${restaurantId}/reviews/${reviewId}/helpful`);
+  },
+
+  unmarkHelpful: async (restaurantId: string, reviewId: number): Promise<void> => {
+    await api.delete(`/restaurants/${restaurantId}/reviews/${reviewId}/helpful`);
+  },
+
+  getMyHelpfulVotes: async (restaurantId: string): Promise<number[]> => {
+    const response = await api.get(`/restaurants/${restaurantId}/reviews/my-helpful-votes`);
+    return response.data;
+  },
+
   getAllRecent: async (limit?: number): Promise<Review[]> => {
     const params = limit ? { limit: limit.toString() } : {};
     const response = await api.get('/reviews/recent', { params });
     return response.data;
   },
+
+  // Server-Sent Events stream of review changes; returns a function that closes the connection
+  subscribeToStream: (onEvent: (event: ReviewStreamEvent) => void, restaurantId?: string): (() => void) => {
+    const query = restaurantId ? `?restaurantId=${encodeURIComponent(restaurantId)}` : '';
+    const source = new EventSource(`${API_BASE_URL}/reviews/stream${query}`);
+    const handler = (message: MessageEvent) => onEvent(JSON.parse(message.data));
+    ['created', 'updated', 'deleted'].forEach((name) => source.addEventListener(name, handler));
+    return () => source.close();
+  },
 };
 
 // User API
@@ -144,6 +187,34 @@ export const userApi = {
     return response.data;
   },
 
+  getStats: async (): Promise<UserStats> => {
+    const response = await api.get('/users/stats');
+    return response.data;
+  },
+
+  getRecommendations: async (limit = 10): Promise<RestaurantRecommendation[]> => {
+    const response = await api.get('/users/recommendations', { params: { limit } });
+    return response.data;
+  },
+
+  getFeed: async (cursor?: { before?: string; beforeId?: number }, size = 20): Promise<FeedPage> => {
+    const response = await api.get('/users/feed', { params: { ...cursor, size } });
+    return response.data;
+  },
+
+  getFollowing: async (): Promise<number[]> => {
+    const response = await api.get('/users/following');
+    return response.data;
+  },
+
+  follow: async (userId: number): Promise<void> => {
+    await api.post(`/users/${userId}/follow`);
+  },
+
+  unfollow: async (userId: number): Promise<void> => {
+    await api.delete(`/users/${userId}/follow`);
+  },
+
   updateProfilePhoto: async (photoUrl: string): Promise<User> => {
     const response = await api.put('/users/profile/photo', { photoUrl });
     return response.data;
@@ -280,6 +351,13 @@ export interface GooglePlacesSuggestionsRequest {
   types?: string;
 }
 
+export interface PlaceDetailsBatchResponse {
+  results: Record<string, GooglePlaceDetails>;
+  sources: Record<string, 'local' | 'cache' | 'google'>;
+  errors: Record<string, string>;
+  partial: boolean;
+}
+
 export const googlePlacesApi = {
   searchRestaurants: async (request: GooglePlacesSearchRequest): Promise<GooglePlacesSearchResponse> => {
     const response = await api.post('/google-places/search', request);
@@ -291,6 +369,11 @@ export const googlePlacesApi = {
     return response.data;
   },
 
+  getRestaurantDetailsBatch: async (placeIds: string[]): Promise<PlaceDetailsBatchResponse> => {
+    const response = await api.post('/google-places/details/batch', { placeIds });
+    return response.data;
+  },
+
   getPhotoUrl: async (photoReference: string, maxWidth: number = 400): Promise<string> => {
     const response = await api.get(`/google-places/photo?photoReference=${photoReference}&maxWidth=${maxWidth}`);
     return response.data;
@@ -1,15 +1,18 @@
 import { useState, useEffect } from 'react';
-import { useQuery } from '@tanstack/react-query';
+import { useInfiniteQuery, useQuery } from '@tanstack/react-query';
 import { useNavigate } from 'react-router-dom';
 import { StarIcon as StarIconSolid } from '@heroicons/react/24/solid';
-import { googlePlacesApi, type GooglePlacesSearchRequest, type GooglePlaceResult } from '../lib/api';
+import { googlePlacesApi, userApi, type GooglePlacesSearchRequest, type GooglePlaceResult } from '../lib/api';
 import { locationService, type LocationCoords } from '../services/locationService';
 import { LoadingSpinner } from '../components/ui/LoadingSpinner';
 import { ErrorState } from '../components/ui/ErrorState';
+import { ReviewCard } from '../components/review/ReviewCard';
+import { useAuth } from '../contexts/AuthContext';
 import toast from 'react-hot-toast';
 
 export default function HomePage() {
   const navigate = useNavigate();
+  const { user } = useAuth();
   const [location, setLocation] = useState<LocationCoords>(locationService.getDefaultLocation());
   const [searchRequest, setSearchRequest] = useState<GooglePlacesSearchRequest | null>(null);
   const [allResults, setAllResults] = useState<GooglePlaceResult[]>([]);
@@ -57,6 +60,40 @@ export default function HomePage() {
     enabled: !!searchRequest,
   });
 
+  // Personal picks from the recommendation model; empty until the user has rated a few places
+  const { data: recommendations } = useQuery({
+    queryKey: ['userRecommendations'],
+    queryFn: () => userApi.getRecommendations(8),
+    enabled: !!user,
+    retry: false,
+  });
+
+  // Address and open-now for every recommended place in one request rather than one per card
+  const recommendedIds = recommendations?.map(({ restaurant }) => restaurant.id) ?? [];
+  const { data: recommendedDetails } = useQuery({
+    queryKey: ['placeDetailsBatch', recommendedIds],
+    queryFn: () => googlePlacesApi.getRestaurantDetailsBatch(recommendedIds),
+    enabled: recommendedIds.length > 0,
+    staleTime: 5 * 60 * 1000,
+  });
+
+  // Reviews by followed users, paged with the (createdAt, id) cursor of the previous page
+  const {
+    data: feed,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
+    queryKey: ['feed'],
+    queryFn: ({ pageParam }) => userApi.getFeed(pageParam),
+    initialPageParam: undefined as { before?: string; beforeId?: number } | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextBefore
+      ? { before: lastPage.nextBefore, beforeId: lastPage.nextBeforeId }
+      : undefined,
+    enabled: !!user,
+  });
+  const feedReviews = feed?.pages.flatMap((page) => page.reviews) ?? [];
+
   // Handle search results
   useEffect(() => {
     if (data && data.status === 'OK') {
@@ -218,6 +255,75 @@ export default function HomePage() {
             </p>
           </div>
         )}
+
+        {recommendations && recommendations.length > 0 && (
+          <div className="mt-12">
+            <h2 className="text-2xl font-bold text-gray-900 mb-4">
+              Recommended for You
+            </h2>
+            <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-4 gap-4">
+              {recommendations.map(({ restaurant }) => {
+                const details = recommendedDetails?.results[restaurant.id];
+                return (
+                <button
+                  key={restaurant.id}
+                  onClick={() => navigate(`/restaurant/${restaurant.id}`)}
+                  className="bg-white rounded-lg shadow-md p-4 text-left hover:shadow-lg transition-shadow"
+                >
+                  <h4 className="font-semibold text-gray-900 mb-1 line-clamp-2">{restaurant.name}</h4>
+                  <p className="text-sm text-gray-600">
+                    {[restaurant.cuisine, restaurant.neighborhood].filter(Boolean).join(' · ')}
+                  </p>
+                  {details?.formatted_address && (
+                    <p className="text-xs text-gray-500 mb-1 line-clamp-1">{details.formatted_address}</p>
+                  )}
+                  {restaurant.averageRating ? renderRating(restaurant.averageRating) : null}
+                  {typeof details?.opening_hours?.open_now === 'boolean' && (
+                    <span className={`text-xs font-medium ${details.opening_hours.open_now ? 'text-green-600' : 'text-red-600'}`}>
+                      {details.opening_hours.open_now ? 'Open now' : 'Closed'}
+                    </span>
+                  )}
+                </button>
+                );
+              })}
+            </div>
+          </div>
+        )}
+
+        <div className="mt-12">
+          <h2 className="text-2xl font-bold text-gray-900 mb-4">
+            From People You Follow
+          </h2>
+          {feedReviews.length > 0 ? (
+            <div className="space-y-6 max-w-3xl">
+              {feedReviews.map((review, index) => (
+                <ReviewCard
+                  key={review.id}
+                  review={review}
+                  index={index}
+                  showRestaurant={true}
+                  onRestaurantClick={(restaurantId) => navigate(`/restaurant/${restaurantId}`)}
+                  currentUser={user}
+                />
+              ))}
+              {hasNextPage && (
+                <div className="text-center">
+                  <button
+                    onClick={() => fetchNextPage()}
+                    disabled={isFetchingNextPage}
+                    className="text-indigo-600 hover:text-indigo-500 font-medium disabled:opacity-50"
+                  >
+                    {isFetchingNextPage ? 'Loading...' : 'Load more'}
+                  </button>
+                </div>
+              )}
+            </div>
+          ) : (
+            <p className="text-gray-600">
+              Follow reviewers from a restaurant's page to see their reviews here.
+            </p>
+          )}
+        </div>
       </div>
     </div>
   );
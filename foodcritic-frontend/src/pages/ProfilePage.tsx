@@ -14,18 +14,28 @@ import { userApi, uploadApi, reviewApi } from '../lib/api';
 import { ReviewCard } from '../components/review/ReviewCard';
 import { ReviewModal } from '../components/review/ReviewModal';
 import { LoadingSpinner } from '../components/ui/LoadingSpinner';
-import type { Review, User } from '../types';
+import type { Review, User, UserStats } from '../types';
 import toast from 'react-hot-toast';
 
 export function ProfilePage() {
   const { user, updateUser } = useAuth();
   const navigate = useNavigate();
   const [userReviews, setUserReviews] = useState<Review[]>([]);
+  const [stats, setStats] = useState<UserStats | null>(null);
   const [loading, setLoading] = useState(true);
   const [uploadingPhoto, setUploadingPhoto] = useState(false);
   const [showEditModal, setShowEditModal] = useState(false);
   const [editingReview, setEditingReview] = useState<Review | null>(null);
 
+  // Stats are precomputed server-side, so the sidebar doesn't depend on the full review list
+  const fetchStats = async () => {
+    try {
+      setStats(await userApi.getStats());
+    } catch (error) {
+      console.error('Error fetching user stats:', error);
+    }
+  };
+
   useEffect(() => {
     const fetchUserReviews = async () => {
       if (!user) return;
@@ -42,6 +52,7 @@ export function ProfilePage() {
     };
 
     fetchUserReviews();
+    fetchStats();
   }, [user]);
 
   const handleEditReview = (review: Review) => {
@@ -59,6 +70,7 @@ export function ProfilePage() {
         // Refresh the reviews list
         const updatedReviews = await userApi.getMyReviews();
         setUserReviews(updatedReviews);
+        fetchStats();
       } catch (error) {
         console.error('Error deleting review:', error);
         toast.error('Failed to delete review. Please try again.');
@@ -73,6 +85,7 @@ export function ProfilePage() {
     try {
       const updatedReviews = await userApi.getMyReviews();
       setUserReviews(updatedReviews);
+      fetchStats();
     } catch (error) {
       console.error('Error refreshing reviews:', error);
     }
@@ -122,9 +135,8 @@ export function ProfilePage() {
     );
   }
 
-  const averageRating = userReviews.length > 0 
-    ? userReviews.reduce((sum, review) => sum + review.rating, 0) / userReviews.length 
-    : 0;
+  const reviewCount = stats?.reviewCount ?? 0;
+  const averageRating = stats?.averageRating ?? 0;
 
   const joinDate = new Date(user.createdAt).toLocaleDateString('en-US', {
     year: 'numeric',
@@ -193,7 +205,7 @@ export function ProfilePage() {
               <div className="space-y-6">
                 <div className="text-center p-4 bg-gradient-to-r from-blue-50 to-indigo-50 rounded-xl">
                   <div className="text-3xl font-bold text-blue-600 mb-1">
-                    {userReviews.length}
+                    {reviewCount}
                   </div>
                   <div className="text-sm text-gray-600">Total Reviews</div>
                 </div>
@@ -210,6 +222,20 @@ export function ProfilePage() {
                   </div>
                 )}
 
+                {stats && stats.topCuisines.length > 0 && (
+                  <div>
+                    <h4 className="font-medium text-gray-700 mb-3">Top Cuisines</h4>
+                    <div className="space-y-2 text-sm">
+                      {stats.topCuisines.map(({ cuisine, count }) => (
+                        <div key={cuisine} className="flex justify-between">
+                          <span className="text-gray-600">{cuisine}</span>
+                          <span className="text-gray-900 font-medium">{count}</span>
+                        </div>
+                      ))}
+                    </div>
+                  </div>
+                )}
+
                 <div className="pt-4 border-t border-gray-200">
                   <h4 className="font-medium text-gray-700 mb-3">Account Details</h4>
                   <div className="space-y-2 text-sm">
@@ -11,7 +11,7 @@ import { Card, CardContent, CardHeader, CardTitle } from '../components/ui/Card'
 import { Skeleton } from '../components/ui/Skeleton';
 import { EmptyState, NetworkErrorState } from '../components/ui/ErrorState';
 import { ReviewCard } from '../components/review/ReviewCard';
-import type { Review } from '../types';
+import type { Review, ReviewStreamEvent } from '../types';
 import toast from 'react-hot-toast';
 
 export default function RecentReviewsPage() {
@@ -46,6 +46,40 @@ export default function RecentReviewsPage() {
     fetchRecentReviews();
   }, []);
 
+  // Apply pushed review changes instead of re-fetching the whole list
+  useEffect(() => {
+    const applyEvent = (event: ReviewStreamEvent) => {
+      setReviews((current) => {
+        if (event.type === 'DELETED') {
+          return current.filter((review) => review.id !== event.reviewId);
+        }
+        const existing = current.find((review) => review.id === event.reviewId);
+        if (existing) {
+          return current.map((review) => review.id === event.reviewId
+            ? { ...review, rating: event.rating, comment: event.comment, imageUrl: event.imageUrl, updatedAt: event.updatedAt }
+            : review);
+        }
+        if (event.type !== 'CREATED') {
+          return current;
+        }
+        const created: Review = {
+          id: event.reviewId,
+          user: { id: event.userId, username: event.username } as Review['user'],
+          restaurant: { id: event.restaurantId, name: event.restaurantName } as Review['restaurant'],
+          restaurantId: event.restaurantId,
+          rating: event.rating,
+          comment: event.comment,
+          imageUrl: event.imageUrl,
+          createdAt: event.createdAt,
+          updatedAt: event.updatedAt,
+        };
+        return [created, ...current].slice(0, 50);
+      });
+    };
+
+    return reviewApi.subscribeToStream(applyEvent);
+  }, []);
+
 
   const handleRestaurantClick = (restaurantId: string) => {
     navigate(`/restaurant/${restaurantId}`);
@@ -34,6 +34,7 @@ export function RegisterPage() {
   const [showPassword, setShowPassword] = useState(false);
   const [showConfirmPassword, setShowConfirmPassword] = useState(false);
   const [isLoading, setIsLoading] = useState(false);
+  const [taken, setTaken] = useState<{ username?: boolean; email?: boolean }>({});
   const { login } = useAuth();
   const navigate = useNavigate();
 
@@ -45,6 +46,21 @@ export function RegisterPage() {
     resolver: zodResolver(registerSchema),
   });
 
+  // Checked when a field loses focus; registration itself still reports duplicates
+  const checkAvailability = async (field: 'username' | 'email', value: string) => {
+    if (!value || errors[field]) {
+      setTaken((current) => ({ ...current, [field]: false }));
+      return;
+    }
+    try {
+      const result = await authApi.checkAvailability({ [field]: value });
+      const available = field === 'username' ? result.usernameAvailable : result.emailAvailable;
+      setTaken((current) => ({ ...current, [field]: available === false }));
+    } catch {
+      // Availability is advisory; ignore failures
+    }
+  };
+
   const onSubmit = async (data: RegisterForm) => {
     setIsLoading(true);
     try {
@@ -99,7 +115,7 @@ export function RegisterPage() {
                 Username
               </label>
               <input
-                {...register('username')}
+                {...register('username', { onBlur: (e) => checkAvailability('username', e.target.value) })}
                 type="text"
                 id="username"
                 className="w-full px-4 py-3 border border-gray-300 rounded-xl focus:ring-2 focus:ring-blue-500 focus:border-blue-500 transition-colors duration-200 text-gray-900 placeholder-gray-500 bg-white"
@@ -108,6 +124,9 @@ export function RegisterPage() {
               {errors.username && (
                 <p className="mt-1 text-sm text-red-600">{errors.username.message}</p>
               )}
+              {!errors.username && taken.username && (
+                <p className="mt-1 text-sm text-red-600">That username is already taken</p>
+              )}
             </div>
 
             <div>
@@ -115,7 +134,7 @@ export function RegisterPage() {
                 Email Address
               </label>
               <input
-                {...register('email')}
+                {...register('email', { onBlur: (e) => checkAvailability('email', e.target.value) })}
                 type="email"
                 id="email"
                 className="w-full px-4 py-3 border border-gray-300 rounded-xl focus:ring-2 focus:ring-blue-500 focus:border-blue-500 transition-colors duration-200 text-gray-900 placeholder-gray-500 bg-white"
@@ -124,6 +143,9 @@ export function RegisterPage() {
               {errors.email && (
                 <p className="mt-1 text-sm text-red-600">{errors.email.message}</p>
               )}
+              {!errors.email && taken.email && (
+                <p className="mt-1 text-sm text-red-600">An account with that email already exists</p>
+              )}
             </div>
 
             <div>
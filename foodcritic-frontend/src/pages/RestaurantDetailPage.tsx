@@ -10,12 +10,13 @@ import {
   PencilIcon
 } from '@heroicons/react/24/outline';
 import { StarIcon as StarSolid } from '@heroicons/react/24/solid';
-import { googlePlacesApi, reviewApi } from '../lib/api';
+import { googlePlacesApi, restaurantApi, reviewApi, userApi } from '../lib/api';
 import { ReviewCard } from '../components/review/ReviewCard';
 import { Button } from '../components/ui/Button';
 import { LoadingSpinner } from '../components/ui/LoadingSpinner';
 import { ReviewModal } from '../components/review/ReviewModal';
 import { useAuth } from '../contexts/AuthContext';
+import type { Review } from '../types';
 import toast from 'react-hot-toast';
 
 export default function RestaurantDetailPage() {
@@ -24,6 +25,7 @@ export default function RestaurantDetailPage() {
   const queryClient = useQueryClient();
   const { user } = useAuth();
   const [showReviewModal, setShowReviewModal] = useState(false);
+  const [reviewSort, setReviewSort] = useState<'recent' | 'helpful'>('recent');
 
   // Get restaurant details from Google Places
   const { data: restaurantDetails, isLoading, error } = useQuery({
@@ -42,11 +44,40 @@ export default function RestaurantDetailPage() {
 
   // Get all reviews for this restaurant
   const { data: restaurantReviews, isLoading: reviewsLoading } = useQuery({
-    queryKey: ['restaurantReviews', placeId],
-    queryFn: () => placeId ? reviewApi.getByRestaurant(placeId) : null,
+    queryKey: ['restaurantReviews', placeId, reviewSort],
+    queryFn: () => placeId ? reviewApi.getByRestaurant(placeId, reviewSort) : null,
     enabled: !!placeId,
   });
 
+  // Reviews here the user marked helpful, and the users they follow, for the buttons on each review
+  const { data: helpfulVotes = [] } = useQuery({
+    queryKey: ['helpfulVotes', placeId],
+    queryFn: () => placeId ? reviewApi.getMyHelpfulVotes(placeId) : [],
+    enabled: !!placeId && !!user,
+  });
+
+  const { data: following = [] } = useQuery({
+    queryKey: ['following'],
+    queryFn: () => userApi.getFollowing(),
+    enabled: !!user,
+  });
+
+  // "People who liked this also liked", from co-rating similarity
+  const { data: alsoLiked } = useQuery({
+    queryKey: ['restaurantRecommendations', placeId],
+    queryFn: () => placeId ? restaurantApi.getRecommendations(placeId, 6) : [],
+    enabled: !!placeId,
+    retry: false,
+  });
+
+  // Similar restaurants nearby, from the in-memory similarity index
+  const { data: similarRestaurants } = useQuery({
+    queryKey: ['similarRestaurants', placeId],
+    queryFn: () => placeId ? restaurantApi.getSimilar(placeId) : [],
+    enabled: !!placeId,
+    retry: false,
+  });
+
   const restaurant = restaurantDetails?.result;
 
   const handleDeleteReview = async (reviewId: number) => {
@@ -66,6 +97,49 @@ export default function RestaurantDetailPage() {
   };
 
 
+  const handleToggleHelpful = async (review: Review) => {
+    if (!placeId) return;
+    if (!user) {
+      toast.error('Please log in to vote');
+      navigate('/login');
+      return;
+    }
+
+    const voted = helpfulVotes.includes(review.id);
+    try {
+      if (voted) {
+        await reviewApi.unmarkHelpful(placeId, review.id);
+      } else {
+        await reviewApi.markHelpful(placeId, review.id);
+      }
+      // Counts are written in batches on the server, so apply the vote locally instead of refetching
+      queryClient.setQueryData<number[]>(['helpfulVotes', placeId], (ids = []) =>
+        voted ? ids.filter((id) => id !== review.id) : [...ids, review.id]);
+      queryClient.setQueryData<Review[] | null>(['restaurantReviews', placeId, reviewSort], (reviews) =>
+        reviews ? reviews.map((r) => r.id === review.id ? { ...r, helpfulCount: r.helpfulCount + (voted ? -1 : 1) } : r) : reviews);
+    } catch (error) {
+      console.error('Error voting on review:', error);
+      toast.error('Failed to record your vote. Please try again.');
+    }
+  };
+
+  const handleToggleFollow = async (authorId: number) => {
+    const isFollowing = following.includes(authorId);
+    try {
+      if (isFollowing) {
+        await userApi.unfollow(authorId);
+      } else {
+        await userApi.follow(authorId);
+      }
+      queryClient.setQueryData<number[]>(['following'], (ids = []) =>
+        isFollowing ? ids.filter((id) => id !== authorId) : [...ids, authorId]);
+      queryClient.invalidateQueries({ queryKey: ['feed'] });
+    } catch (error) {
+      console.error('Error updating follow:', error);
+      toast.error('Failed to update follow. Please try again.');
+    }
+  };
+
   const renderRating = (rating?: number, user_ratings_total?: number) => {
     if (!rating) return null;
     
@@ -285,6 +359,52 @@ export default function RestaurantDetailPage() {
                     </div>
                   </div>
                 )}
+
+                {/* Similar Nearby */}
+                {similarRestaurants && similarRestaurants.length > 0 && (
+                  <div>
+                    <h3 className="text-xl font-semibold text-gray-900 mb-4">Similar Nearby</h3>
+                    <ul className="divide-y divide-gray-200">
+                      {similarRestaurants.map(({ restaurant: similar }) => (
+                        <li key={similar.id}>
+                          <button
+                            onClick={() => navigate(`/restaurant/${similar.id}`)}
+                            className="w-full text-left py-3 hover:bg-gray-50"
+                          >
+                            <div className="font-medium text-gray-900">{similar.name}</div>
+                            <div className="text-sm text-gray-600">
+                              {[similar.cuisine, similar.neighborhood].filter(Boolean).join(' · ')}
+                              {similar.averageRating ? ` · ${similar.averageRating.toFixed(1)}★` : ''}
+                            </div>
+                          </button>
+                        </li>
+                      ))}
+                    </ul>
+                  </div>
+                )}
+
+                {/* Also Liked */}
+                {alsoLiked && alsoLiked.length > 0 && (
+                  <div>
+                    <h3 className="text-xl font-semibold text-gray-900 mb-4">People Who Liked This Also Liked</h3>
+                    <ul className="divide-y divide-gray-200">
+                      {alsoLiked.map(({ restaurant: liked }) => (
+                        <li key={liked.id}>
+                          <button
+                            onClick={() => navigate(`/restaurant/${liked.id}`)}
+                            className="w-full text-left py-3 hover:bg-gray-50"
+                          >
+                            <div className="font-medium text-gray-900">{liked.name}</div>
+                            <div className="text-sm text-gray-600">
+                              {[liked.cuisine, liked.neighborhood].filter(Boolean).join(' · ')}
+                              {liked.averageRating ? ` · ${liked.averageRating.toFixed(1)}★` : ''}
+                            </div>
+                          </button>
+                        </li>
+                      ))}
+                    </ul>
+                  </div>
+                )}
               </div>
             </div>
           </div>
@@ -293,7 +413,17 @@ export default function RestaurantDetailPage() {
         {/* Restaurant Reviews Section */}
         <div className="bg-white rounded-lg shadow-lg p-6">
           <div className="flex items-center justify-between mb-6">
-            <h3 className="text-xl font-bold text-gray-900">FoodCritic Reviews</h3>
+            <div className="flex items-center space-x-4">
+              <h3 className="text-xl font-bold text-gray-900">FoodCritic Reviews</h3>
+              <select
+                value={reviewSort}
+                onChange={(e) => setReviewSort(e.target.value as 'recent' | 'helpful')}
+                className="text-sm border border-gray-300 rounded-lg px-2 py-1 text-gray-700"
+              >
+                <option value="recent">Most recent</option>
+                <option value="helpful">Most helpful</option>
+              </select>
+            </div>
             {!userReview && (
               <Button
                 onClick={() => {
@@ -326,6 +456,10 @@ export default function RestaurantDetailPage() {
                   currentUser={user}
                   onEdit={review.user.id === user?.id ? () => setShowReviewModal(true) : undefined}
                   onDelete={review.user.id === user?.id ? () => handleDeleteReview(review.id) : undefined}
+                  helpfulVoted={helpfulVotes.includes(review.id)}
+                  onToggleHelpful={() => handleToggleHelpful(review)}
+                  following={following.includes(review.user.id)}
+                  onToggleFollow={user ? () => handleToggleFollow(review.user.id) : undefined}
                 />
               ))}
             </div>
@@ -7,6 +7,26 @@ export interface User {
   createdAt: string;
 }
 
+export interface UserStats {
+  reviewCount: number;
+  averageRating: number;
+  ratingDistribution: Record<number, number>;
+  topCuisines: { cuisine: string; count: number }[];
+  firstReviewAt?: string;
+  lastReviewAt?: string;
+}
+
+export interface FeedPage {
+  reviews: Review[];
+  nextBefore?: string;
+  nextBeforeId?: number;
+}
+
+export interface RestaurantRecommendation {
+  restaurant: Restaurant;
+  score: number;
+}
+
 export interface Restaurant {
   id: string;
   name: string;
@@ -25,6 +45,15 @@ export interface Restaurant {
   createdAt: string;
   averageRating?: number;
   reviewCount?: number;
+  neighborhood?: string;
+}
+
+export interface RestaurantPage {
+  content: Restaurant[];
+  page: number;
+  size: number;
+  totalElements: number;
+  totalPages: number;
 }
 
 export interface Review {
@@ -37,6 +66,22 @@ export interface Review {
   imageUrl?: string;
   createdAt: string;
   updatedAt: string;
+  helpfulCount: number;
+}
+
+export interface ReviewStreamEvent {
+  type: 'CREATED' | 'UPDATED' | 'DELETED';
+  reviewId: number;
+  restaurantId: string;
+  restaurantName: string;
+  userId: number;
+  username: string;
+  rating: number;
+  previousRating?: number;
+  comment?: string;
+  imageUrl?: string;
+  createdAt: string;
+  updatedAt: string;
 }
 
 export interface AuthResponse {
@@ -47,6 +92,11 @@ export interface AuthResponse {
   id: number;
 }
 
+export interface AvailabilityResponse {
+  usernameAvailable?: boolean;
+  emailAvailable?: boolean;
+}
+
 export interface LoginRequest {
   username: string;
   password: string;
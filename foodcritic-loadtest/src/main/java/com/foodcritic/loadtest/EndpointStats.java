@@ -0,0 +1,65 @@
+package com.foodcritic.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one operation. Latencies are
+ * recorded in microseconds, from the intended start time when running
+ * open-loop so queueing delay is not hidden (coordinated omission).
+ */
+public class EndpointStats {
+
+    // One hour at three significant digits is plenty for HTTP calls
+    private static final long MAX_LATENCY_MICROS = 3_600_000_000L;
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    public void record(long latencyMicros, int status) {
+        recorder.recordValue(Math.min(Math.max(latencyMicros, 0), MAX_LATENCY_MICROS));
+        if (status >= 200 && status < 300) {
+            successes.increment();
+        } else {
+            failures.increment();
+        }
+        outcomes.computeIfAbsent(status > 0 ? String.valueOf(status) : "io-error", key -> new LongAdder()).increment();
+    }
+
+    /** Drops everything recorded so far; called when warm-up ends. */
+    public synchronized void reset() {
+        recorder.reset();
+        total.reset();
+        successes.reset();
+        failures.reset();
+        outcomes.clear();
+    }
+
+    /** Folds the latest interval into the running total and returns a copy of it. */
+    public synchronized Histogram snapshot() {
+        total.add(recorder.getIntervalHistogram());
+        return total.copy();
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public Map<String, Long> getOutcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+}
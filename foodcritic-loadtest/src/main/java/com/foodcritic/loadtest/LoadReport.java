@@ -0,0 +1,151 @@
+package com.foodcritic.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per operation, plus an "all" row.
+ * The JSON form carries the run's settings so two reports can be compared.
+ */
+public class LoadReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String ALL = "all";
+
+    private String label;
+    private String startedAt;
+    private double durationSeconds;
+    private Map<String, Object> settings = new LinkedHashMap<>();
+    private Map<String, Row> operations = new LinkedHashMap<>();
+
+    public static LoadReport from(LoadTestConfig config, Instant startedAt, long recordedNanos,
+                                  Map<Operation, EndpointStats> stats) {
+        LoadReport report = new LoadReport();
+        report.label = config.getLabel();
+        report.startedAt = startedAt.toString();
+        report.durationSeconds = recordedNanos / 1e9;
+        report.settings.put("baseUrl", config.getBaseUrl());
+        report.settings.put("users", config.getUsers());
+        report.settings.put("concurrency", config.getConcurrency());
+        report.settings.put("rate", config.getRate());
+        report.settings.put("thinkMs", config.getThinkTime().toMillis());
+        Map<String, Double> mix = new LinkedHashMap<>();
+        config.getMix().getWeights().forEach((operation, weight) -> mix.put(operation.getKey(), weight));
+        report.settings.put("mix", mix);
+
+        Histogram combined = new Histogram(3_600_000_000L, 3);
+        long successes = 0;
+        long failures = 0;
+        Map<String, Long> outcomes = new LinkedHashMap<>();
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            Histogram histogram = endpoint.snapshot();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            combined.add(histogram);
+            successes += endpoint.getSuccesses();
+            failures += endpoint.getFailures();
+            endpoint.getOutcomes().forEach((key, count) -> outcomes.merge(key, count, Long::sum));
+            report.operations.put(entry.getKey().getKey(), Row.of(histogram, endpoint.getSuccesses(),
+                    endpoint.getFailures(), endpoint.getOutcomes(), report.durationSeconds));
+        }
+        if (combined.getTotalCount() > 0) {
+            report.operations.put(ALL, Row.of(combined, successes, failures, outcomes, report.durationSeconds));
+        }
+        return report;
+    }
+
+    public static LoadReport read(String file) throws IOException {
+        return MAPPER.readValue(new File(file), LoadReport.class);
+    }
+
+    public void write(String file) throws IOException {
+        MAPPER.writeValue(new File(file), this);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%n%s: %.1fs recorded%n", label, durationSeconds);
+        out.printf("%-13s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.forEach((name, row) -> out.printf("%-13s %9d %9.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, row.requests, row.throughput, row.failures, row.p50Ms, row.p90Ms, row.p99Ms, row.p999Ms, row.maxMs));
+        operations.forEach((name, row) -> {
+            if (row.failures > 0) {
+                out.printf("  %s outcomes: %s%n", name, row.outcomes);
+            }
+        });
+    }
+
+    /** Prints the relative change of throughput and p50/p99 against a baseline report. */
+    public void printComparison(LoadReport baseline, PrintStream out) {
+        out.printf("%nCompared with %s (%s)%n", baseline.label, baseline.startedAt);
+        if (!settings.equals(baseline.settings)) {
+            out.println("  warning: settings differ, results may not be comparable");
+        }
+        out.printf("%-13s %10s %10s %10s%n", "operation", "req/s", "p50", "p99");
+        operations.forEach((name, row) -> {
+            Row before = baseline.operations.get(name);
+            if (before != null) {
+                out.printf("%-13s %10s %10s %10s%n", name,
+                        change(before.throughput, row.throughput),
+                        change(before.p50Ms, row.p50Ms),
+                        change(before.p99Ms, row.p99Ms));
+            }
+        });
+    }
+
+    private static String change(double before, double after) {
+        if (before == 0) {
+            return "n/a";
+        }
+        return String.format("%+.1f%%", (after - before) / before * 100);
+    }
+
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+    public String getStartedAt() { return startedAt; }
+    public void setStartedAt(String startedAt) { this.startedAt = startedAt; }
+    public double getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(double durationSeconds) { this.durationSeconds = durationSeconds; }
+    public Map<String, Object> getSettings() { return settings; }
+    public void setSettings(Map<String, Object> settings) { this.settings = settings; }
+    public Map<String, Row> getOperations() { return operations; }
+    public void setOperations(Map<String, Row> operations) { this.operations = operations; }
+
+    public static class Row {
+        public long requests;
+        public long failures;
+        public double throughput;
+        public double meanMs;
+        public double p50Ms;
+        public double p90Ms;
+        public double p99Ms;
+        public double p999Ms;
+        public double maxMs;
+        public Map<String, Long> outcomes;
+
+        static Row of(Histogram histogram, long successes, long failures, Map<String, Long> outcomes, double seconds) {
+            Row row = new Row();
+            row.requests = successes + failures;
+            row.failures = failures;
+            row.throughput = seconds > 0 ? row.requests / seconds : 0;
+            row.meanMs = histogram.getMean() / 1000.0;
+            row.p50Ms = histogram.getValueAtPercentile(50) / 1000.0;
+            row.p90Ms = histogram.getValueAtPercentile(90) / 1000.0;
+            row.p99Ms = histogram.getValueAtPercentile(99) / 1000.0;
+            row.p999Ms = histogram.getValueAtPercentile(99.9) / 1000.0;
+            row.maxMs = histogram.getMaxValue() / 1000.0;
+            row.outcomes = outcomes;
+            return row;
+        }
+    }
+}
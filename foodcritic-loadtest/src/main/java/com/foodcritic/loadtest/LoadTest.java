@@ -0,0 +1,142 @@
+package com.foodcritic.loadtest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a running backend with the configured traffic mix, then prints a
+ * per-endpoint latency report and optionally writes it as JSON.
+ *
+ *   mvn -q compile exec:java -Dexec.args="--base-url http://localhost:8080 --rate 200 --duration 120"
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        FoodCriticClient client = new FoodCriticClient(config.getBaseUrl(), config.getRequestTimeout());
+        Workload workload = new Workload(client);
+
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        System.out.printf("Preparing run %s against %s%n", runId, config.getBaseUrl());
+        workload.loadCatalog(2000);
+        workload.registerUsers(config.getUsers(), runId);
+        System.out.printf("Catalog: %d restaurants, %d users registered%n", workload.getRestaurantCount(), config.getUsers());
+
+        Instant startedAt = Instant.now();
+        long recordedNanos = run(config, workload);
+
+        LoadReport report = LoadReport.from(config, startedAt, recordedNanos, workload.getStats());
+        report.print(System.out);
+        if (config.getBaselineFile() != null) {
+            report.printComparison(LoadReport.read(config.getBaselineFile()), System.out);
+        }
+        if (config.getReportFile() != null) {
+            report.write(config.getReportFile());
+            System.out.println("Report written to " + config.getReportFile());
+        }
+        System.exit(0);
+    }
+
+    // Returns the length of the recorded window in nanoseconds
+    private static long run(LoadTestConfig config, Workload workload) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService workers = Executors.newFixedThreadPool(config.getConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Thread driver = config.getRate() > 0
+                ? openLoop(config, workload, workers, running)
+                : closedLoop(config, workload, workers, running);
+
+        System.out.printf("Warming up for %ds%n", config.getWarmup().toSeconds());
+        Thread.sleep(config.getWarmup().toMillis());
+        workload.resetStats();
+
+        System.out.printf("Recording for %ds%n", config.getDuration().toSeconds());
+        long recordStart = System.nanoTime();
+        Thread.sleep(config.getDuration().toMillis());
+        long recorded = System.nanoTime() - recordStart;
+
+        running.set(false);
+        if (driver != null) {
+            driver.join();
+        }
+        workers.shutdown();
+        workers.awaitTermination(config.getRequestTimeout().toMillis() + 1000, TimeUnit.MILLISECONDS);
+        return recorded;
+    }
+
+    // Each worker sends its next request when the previous one returns (plus optional think time)
+    private static Thread closedLoop(LoadTestConfig config, Workload workload, ExecutorService workers, AtomicBoolean running) {
+        long thinkNanos = config.getThinkTime().toNanos();
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            Random random = new Random(config.getSeed() + i);
+            workers.execute(() -> {
+                while (running.get()) {
+                    workload.execute(config.getMix().next(random), random, System.nanoTime());
+                    if (thinkNanos > 0) {
+                        LockSupport.parkNanos(thinkNanos);
+                    }
+                }
+            });
+        }
+        return null;
+    }
+
+    // Requests are scheduled at a fixed rate regardless of how fast the server answers;
+    // latency counts from the scheduled time, so a backlog shows up in the percentiles
+    private static Thread openLoop(LoadTestConfig config, Workload workload, ExecutorService workers, AtomicBoolean running) {
+        long intervalNanos = (long) (1_000_000_000L / config.getRate());
+        List<Random> randoms = new ArrayList<>();
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            randoms.add(new Random(config.getSeed() + i));
+        }
+        ThreadLocal<Random> workerRandom = new ThreadLocal<>();
+        AtomicLong nextRandom = new AtomicLong();
+        // The driver picks every operation, so it gets its own seed, the one after the workers'
+        Random driverRandom = new Random(config.getSeed() + config.getConcurrency());
+
+        Thread driver = new Thread(() -> {
+            long start = System.nanoTime();
+            for (long sent = 0; running.get(); sent++) {
+                long intended = start + sent * intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = config.getMix().next(driverRandom);
+                workers.execute(() -> {
+                    Random random = workerRandom.get();
+                    if (random == null) {
+                        random = randoms.get((int) (nextRandom.getAndIncrement() % randoms.size()));
+                        workerRandom.set(random);
+                    }
+                    if (running.get()) {
+                        workload.execute(operation, random, intended);
+                    }
+                });
+            }
+        }, "loadtest-driver");
+        driver.setDaemon(true);
+        driver.start();
+        return driver;
+    }
+}
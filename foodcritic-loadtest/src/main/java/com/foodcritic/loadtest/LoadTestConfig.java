@@ -0,0 +1,92 @@
+package com.foodcritic.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Command-line options. Everything has a default, so a bare run drives
+ * http://localhost:8080 with a read-heavy mix for one minute.
+ */
+public class LoadTestConfig {
+
+    private String baseUrl = "http://localhost:8080";
+    private int users = 50;
+    private int concurrency = 50;
+    // Target requests per second; 0 runs closed-loop (each worker fires as soon as the last call returns)
+    private double rate = 0;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration thinkTime = Duration.ZERO;
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    private TrafficMix mix = TrafficMix.parse("autocomplete=40,search=20,details=20,reviews=12,login=5,write=3");
+    private String label = "run";
+    private String reportFile;
+    private String baselineFile;
+    private long seed = 42;
+
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--help") || arg.equals("-h")) {
+                throw new IllegalArgumentException(usage());
+            }
+            if (!arg.startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Unexpected argument " + arg + "\n" + usage());
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--base-url" -> config.baseUrl = value.replaceAll("/+$", "");
+                case "--users" -> config.users = Integer.parseInt(value);
+                case "--concurrency" -> config.concurrency = Integer.parseInt(value);
+                case "--rate" -> config.rate = Double.parseDouble(value);
+                case "--warmup" -> config.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "--duration" -> config.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "--think-ms" -> config.thinkTime = Duration.ofMillis(Long.parseLong(value));
+                case "--timeout-ms" -> config.requestTimeout = Duration.ofMillis(Long.parseLong(value));
+                case "--mix" -> config.mix = TrafficMix.parse(value);
+                case "--label" -> config.label = value;
+                case "--report" -> config.reportFile = value;
+                case "--baseline" -> config.baselineFile = value;
+                case "--seed" -> config.seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option " + arg + "\n" + usage());
+            }
+        }
+        if (config.users < 1 || config.concurrency < 1) {
+            throw new IllegalArgumentException("--users and --concurrency must be at least 1");
+        }
+        return config;
+    }
+
+    public static String usage() {
+        return """
+                Usage: LoadTest [options]
+                  --base-url URL      backend to drive (default http://localhost:8080)
+                  --users N           accounts registered for the run (default 50)
+                  --concurrency N     worker threads / in-flight requests (default 50)
+                  --rate RPS          open-loop target rate; 0 = closed loop (default 0)
+                  --warmup SECONDS    traffic before recording starts (default 10)
+                  --duration SECONDS  recorded traffic (default 60)
+                  --think-ms MS       pause between a worker's requests in closed loop (default 0)
+                  --timeout-ms MS     per-request timeout (default 10000)
+                  --mix SPEC          e.g. autocomplete=40,search=20,details=20,reviews=12,login=5,write=3
+                  --label NAME        name stored in the report
+                  --report FILE       write the JSON report here
+                  --baseline FILE     compare against an earlier JSON report
+                  --seed N            seed for query and restaurant choices (default 42)
+                """;
+    }
+
+    public String getBaseUrl() { return baseUrl; }
+    public int getUsers() { return users; }
+    public int getConcurrency() { return concurrency; }
+    public double getRate() { return rate; }
+    public Duration getWarmup() { return warmup; }
+    public Duration getDuration() { return duration; }
+    public Duration getThinkTime() { return thinkTime; }
+    public Duration getRequestTimeout() { return requestTimeout; }
+    public TrafficMix getMix() { return mix; }
+    public String getLabel() { return label; }
+    public String getReportFile() { return reportFile; }
+    public String getBaselineFile() { return baselineFile; }
+    public long getSeed() { return seed; }
+}
@@ -0,0 +1,33 @@
+package com.foodcritic.loadtest;
+
+/**
+ * The request types in the traffic mix. Autocomplete is counted per
+ * keystroke, since that is what the server sees.
+ */
+public enum Operation {
+    AUTOCOMPLETE("autocomplete"),
+    SEARCH("search"),
+    DETAILS("details"),
+    REVIEWS("reviews"),
+    LOGIN("login"),
+    WRITE_REVIEW("write");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,61 @@
+package com.foodcritic.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted choice of the next operation, parsed from e.g.
+ * "autocomplete=40,search=20,details=20,reviews=12,login=5,write=3".
+ */
+public class TrafficMix {
+
+    private final Operation[] operations;
+    private final double[] cumulative;
+    private final Map<Operation, Double> weights;
+
+    public TrafficMix(Map<Operation, Double> weights) {
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Traffic mix needs at least one positive weight");
+        }
+        this.weights = new EnumMap<>(weights);
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new double[operations.length];
+        double running = 0;
+        for (int i = 0; i < operations.length; i++) {
+            running += weights.get(operations[i]) / total;
+            cumulative[i] = running;
+        }
+    }
+
+    public static TrafficMix parse(String spec) {
+        Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry '" + part + "', expected name=weight");
+            }
+            double weight = Double.parseDouble(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(pair[0]), weight);
+            }
+        }
+        return new TrafficMix(weights);
+    }
+
+    // Takes the caller's seeded Random so a run's operation sequence repeats with the same --seed
+    public Operation next(Random random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Map<Operation, Double> getWeights() {
+        return weights;
+    }
+}
@@ -0,0 +1,47 @@
+package com.foodcritic.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An account registered for the run. Workers may share users, so the token
+ * and review ids are safe to update from several threads.
+ */
+public class VirtualUser {
+
+    private final String username;
+    private final String password;
+    private volatile String token;
+
+    // restaurantId -> reviewId, so a repeat write becomes an edit like it would in the app
+    private final Map<String, Long> reviews = new ConcurrentHashMap<>();
+
+    public VirtualUser(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Long getReviewId(String restaurantId) {
+        return reviews.get(restaurantId);
+    }
+
+    public void putReviewId(String restaurantId, Long reviewId) {
+        reviews.put(restaurantId, reviewId);
+    }
+}
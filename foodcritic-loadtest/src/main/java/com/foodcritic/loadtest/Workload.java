@@ -0,0 +1,189 @@
+package com.foodcritic.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Runs one operation of the traffic mix against the backend and records it.
+ *
+ * Restaurant ids, names and cuisines come from the instance under test, so
+ * details views, searches and autocomplete prefixes hit real rows.
+ */
+public class Workload {
+
+    private static final String[] REVIEW_COMMENTS = {
+            "Great food and friendly staff.",
+            "Solid spot, would come back.",
+            "Portions were small for the price.",
+            "Best tacos I have had in a while!",
+            "Slow service but the food made up for it."
+    };
+
+    private final FoodCriticClient client;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    private final List<String> restaurantIds = new ArrayList<>();
+    private final List<String> restaurantNames = new ArrayList<>();
+    private final List<String> cuisines = new ArrayList<>();
+    private final List<VirtualUser> users = new ArrayList<>();
+
+    public Workload(FoodCriticClient client) {
+        this.client = client;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    /** Loads up to maxRestaurants from the listing endpoint, plus the cuisine list. */
+    public void loadCatalog(int maxRestaurants) {
+        for (int page = 0; restaurantIds.size() < maxRestaurants; page++) {
+            FoodCriticClient.Response response = client.get("/api/restaurants", Map.of("page", page, "size", 100), null);
+            if (!response.isSuccess()) {
+                throw new IllegalStateException("Listing restaurants failed with status " + response.status());
+            }
+            JsonNode content = client.parse(response).path("content");
+            for (JsonNode restaurant : content) {
+                restaurantIds.add(restaurant.path("id").asText());
+                restaurantNames.add(restaurant.path("name").asText(""));
+            }
+            if (content.size() < 100) {
+                break;
+            }
+        }
+        if (restaurantIds.isEmpty()) {
+            throw new IllegalStateException("The instance has no San Diego restaurants; seed some before load testing");
+        }
+
+        FoodCriticClient.Response response = client.get("/api/restaurants/cuisines", null, null);
+        client.parse(response).forEach(cuisine -> cuisines.add(cuisine.asText()));
+    }
+
+    /** Registers the run's accounts; names include the run id so reruns do not collide. */
+    public void registerUsers(int count, String runId) {
+        for (int i = 0; i < count; i++) {
+            String username = "lt" + runId + "u" + i;
+            VirtualUser user = new VirtualUser(username, "loadtest-" + runId);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("username", username);
+            body.put("email", username + "@loadtest.local");
+            body.put("password", user.getPassword());
+            FoodCriticClient.Response response = client.post("/api/auth/register", body, null);
+            if (!response.isSuccess()) {
+                throw new IllegalStateException("Registering " + username + " failed with status "
+                        + response.status() + ": " + response.body());
+            }
+            user.setToken(client.parse(response).path("token").asText(null));
+            users.add(user);
+        }
+    }
+
+    public Map<Operation, EndpointStats> getStats() {
+        return stats;
+    }
+
+    public int getRestaurantCount() {
+        return restaurantIds.size();
+    }
+
+    public void resetStats() {
+        stats.values().forEach(EndpointStats::reset);
+    }
+
+    /**
+     * Executes one operation. intendedStartNanos is when the request should
+     * have been sent; latencies are measured from it.
+     */
+    public void execute(Operation operation, Random random, long intendedStartNanos) {
+        VirtualUser user = users.get(random.nextInt(users.size()));
+        switch (operation) {
+            case AUTOCOMPLETE -> typeAhead(random, intendedStartNanos);
+            case SEARCH -> timed(operation, intendedStartNanos, () -> client.get("/api/restaurants/search", searchQuery(random), null));
+            case DETAILS -> timed(operation, intendedStartNanos, () -> client.get("/api/restaurants/" + pick(restaurantIds, random), null, null));
+            case REVIEWS -> timed(operation, intendedStartNanos, () -> random.nextInt(10) < 7
+                    ? client.get("/api/restaurants/" + pick(restaurantIds, random) + "/reviews", null, null)
+                    : client.get("/api/reviews/recent", Map.of("limit", 20), null));
+            case LOGIN -> {
+                FoodCriticClient.Response response = timed(operation, intendedStartNanos, () -> client.post("/api/auth/login",
+                        Map.of("username", user.getUsername(), "password", user.getPassword()), null));
+                if (response.isSuccess()) {
+                    user.setToken(client.parse(response).path("token").asText(user.getToken()));
+                }
+            }
+            case WRITE_REVIEW -> writeReview(user, random, intendedStartNanos);
+        }
+    }
+
+    // One request per keystroke of a real restaurant name prefix, as the search box sends them
+    private void typeAhead(Random random, long intendedStartNanos) {
+        String name = pick(restaurantNames, random).trim();
+        int length = Math.min(name.length(), 3 + random.nextInt(6));
+        long start = intendedStartNanos;
+        for (int typed = 1; typed <= length; typed++) {
+            String prefix = name.substring(0, typed);
+            timed(Operation.AUTOCOMPLETE, start, () -> client.get("/api/restaurants/autocomplete",
+                    Map.of("input", prefix, "limit", 10), null));
+            start = System.nanoTime();
+        }
+    }
+
+    private void writeReview(VirtualUser user, Random random, long intendedStartNanos) {
+        String restaurantId = pick(restaurantIds, random);
+        Map<String, Object> body = Map.of(
+                "rating", 1 + random.nextInt(5),
+                "comment", REVIEW_COMMENTS[random.nextInt(REVIEW_COMMENTS.length)]);
+        Long reviewId = user.getReviewId(restaurantId);
+        String path = "/api/restaurants/" + restaurantId + "/reviews";
+
+        FoodCriticClient.Response response = timed(Operation.WRITE_REVIEW, intendedStartNanos, () -> reviewId != null
+                ? client.put(path + "/" + reviewId, body, user.getToken())
+                : client.post(path, body, user.getToken()));
+        if (reviewId == null && response.isSuccess()) {
+            JsonNode id = client.parse(response).path("id");
+            if (id.canConvertToLong()) {
+                user.putReviewId(restaurantId, id.asLong());
+            }
+        }
+    }
+
+    private Map<String, Object> searchQuery(Random random) {
+        Map<String, Object> query = new LinkedHashMap<>();
+        switch (random.nextInt(4)) {
+            case 0 -> query.put("cuisine", cuisines.isEmpty() ? null : pick(cuisines, random));
+            case 1 -> {
+                String name = pick(restaurantNames, random);
+                query.put("name", name.substring(0, Math.min(name.length(), 4)));
+            }
+            case 2 -> {
+                query.put("minRating", 3 + random.nextInt(2));
+                query.put("sortBy", "rating");
+            }
+            default -> {
+                query.put("openNow", true);
+                query.put("priceLevel", 1 + random.nextInt(3));
+            }
+        }
+        return query;
+    }
+
+    private FoodCriticClient.Response timed(Operation operation, long intendedStartNanos, Call call) {
+        FoodCriticClient.Response response = call.run();
+        long latencyMicros = (System.nanoTime() - intendedStartNanos) / 1_000;
+        stats.get(operation).record(latencyMicros, response.status());
+        return response;
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        FoodCriticClient.Response run();
+    }
+}
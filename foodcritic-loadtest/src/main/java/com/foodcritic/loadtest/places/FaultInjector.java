@@ -0,0 +1,68 @@
+package com.foodcritic.loadtest.places;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides, per request, how long to wait and whether to fail. Failures come
+ * in the shapes Google produces: HTTP 5xx, a 200 with OVER_QUERY_LIMIT, and
+ * requests that hang past any sensible client timeout.
+ */
+public class FaultInjector {
+
+    public enum Fault { NONE, SERVER_ERROR, OVER_QUERY_LIMIT, HANG }
+
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final double quotaRate;
+    private final double hangRate;
+    private final long hangMillis;
+    private final int qpsLimit;
+
+    // Fixed one-second windows are coarse but match how the quota errors look from outside
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicLong windowCount = new AtomicLong();
+
+    public FaultInjector(LatencyDistribution latency, double errorRate, double quotaRate,
+                         double hangRate, long hangMillis, int qpsLimit) {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.quotaRate = quotaRate;
+        this.hangRate = hangRate;
+        this.hangMillis = hangMillis;
+        this.qpsLimit = qpsLimit;
+    }
+
+    public Fault nextFault() {
+        if (qpsLimit > 0 && overQps()) {
+            return Fault.OVER_QUERY_LIMIT;
+        }
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < hangRate) {
+            return Fault.HANG;
+        }
+        if (roll < hangRate + errorRate) {
+            return Fault.SERVER_ERROR;
+        }
+        if (roll < hangRate + errorRate + quotaRate) {
+            return Fault.OVER_QUERY_LIMIT;
+        }
+        return Fault.NONE;
+    }
+
+    public void delay(Fault fault) throws InterruptedException {
+        long millis = fault == Fault.HANG ? hangMillis : latency.sampleMillis(ThreadLocalRandom.current());
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private boolean overQps() {
+        long second = System.currentTimeMillis() / 1000;
+        long current = window.get();
+        if (current != second && window.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() > qpsLimit;
+    }
+}
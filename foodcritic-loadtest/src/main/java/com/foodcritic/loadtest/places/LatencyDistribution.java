@@ -0,0 +1,75 @@
+package com.foodcritic.loadtest.places;
+
+import java.util.Random;
+
+/**
+ * Injected response delay, parsed from a spec such as "fixed:50",
+ * "uniform:20-120", "normal:80,20" or "lognormal:60,0.5" (median ms, sigma).
+ * All values are milliseconds; samples are never negative.
+ */
+public abstract class LatencyDistribution {
+
+    public abstract long sampleMillis(Random random);
+
+    public static LatencyDistribution parse(String spec) {
+        String[] parts = spec.split(":", 2);
+        String kind = parts[0].trim().toLowerCase();
+        String args = parts.length > 1 ? parts[1] : "";
+        try {
+            switch (kind) {
+                case "none":
+                    return fixed(0);
+                case "fixed":
+                    return fixed(Long.parseLong(args.trim()));
+                case "uniform": {
+                    String[] range = args.split("-");
+                    long min = Long.parseLong(range[0].trim());
+                    long max = Long.parseLong(range[1].trim());
+                    return new LatencyDistribution() {
+                        @Override
+                        public long sampleMillis(Random random) {
+                            return min + (long) (random.nextDouble() * (max - min));
+                        }
+                    };
+                }
+                case "normal": {
+                    String[] values = args.split(",");
+                    double mean = Double.parseDouble(values[0].trim());
+                    double stddev = Double.parseDouble(values[1].trim());
+                    return new LatencyDistribution() {
+                        @Override
+                        public long sampleMillis(Random random) {
+                            return Math.max(0, Math.round(mean + random.nextGaussian() * stddev));
+                        }
+                    };
+                }
+                case "lognormal": {
+                    // Long right tail, the usual shape of a remote API's latency
+                    String[] values = args.split(",");
+                    double mu = Math.log(Double.parseDouble(values[0].trim()));
+                    double sigma = Double.parseDouble(values[1].trim());
+                    return new LatencyDistribution() {
+                        @Override
+                        public long sampleMillis(Random random) {
+                            return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+                        }
+                    };
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown latency distribution: " + kind);
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Bad latency spec '" + spec
+                    + "', expected fixed:MS, uniform:MIN-MAX, normal:MEAN,STDDEV or lognormal:MEDIAN,SIGMA", e);
+        }
+    }
+
+    private static LatencyDistribution fixed(long millis) {
+        return new LatencyDistribution() {
+            @Override
+            public long sampleMillis(Random random) {
+                return millis;
+            }
+        };
+    }
+}
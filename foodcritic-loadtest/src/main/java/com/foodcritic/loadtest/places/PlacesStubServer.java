@@ -0,0 +1,276 @@
+package com.foodcritic.loadtest.places;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Google Places web service, serving the endpoints
+ * GooglePlacesService calls from a deterministic synthetic catalog.
+ *
+ * Point the backend at it with
+ *   app.google.places.base-url=http://localhost:8089/maps/api/place
+ * (or GOOGLE_PLACES_BASE_URL). Any API key is accepted.
+ */
+public class PlacesStubServer {
+
+    private static final String BASE_PATH = "/maps/api/place";
+    private static final int PAGE_SIZE = 20;
+    // Google caps a search at three pages
+    private static final int MAX_RESULTS = 60;
+
+    // 1x1 transparent PNG
+    private static final byte[] PHOTO = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SyntheticPlaces places;
+    private final FaultInjector faults;
+    private final long pageTokenDelayMillis;
+    private final Map<String, AtomicLong> requestCounts = new LinkedHashMap<>();
+
+    public PlacesStubServer(SyntheticPlaces places, FaultInjector faults, long pageTokenDelayMillis) {
+        this.places = places;
+        this.faults = faults;
+        this.pageTokenDelayMillis = pageTokenDelayMillis;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "8089"));
+        SyntheticPlaces places = new SyntheticPlaces(
+                Integer.parseInt(options.getOrDefault("places", "2000")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+        FaultInjector faults = new FaultInjector(
+                LatencyDistribution.parse(options.getOrDefault("latency", "lognormal:80,0.5")),
+                Double.parseDouble(options.getOrDefault("error-rate", "0")),
+                Double.parseDouble(options.getOrDefault("quota-rate", "0")),
+                Double.parseDouble(options.getOrDefault("hang-rate", "0")),
+                Long.parseLong(options.getOrDefault("hang-ms", "30000")),
+                Integer.parseInt(options.getOrDefault("qps-limit", "0")));
+
+        PlacesStubServer stub = new PlacesStubServer(places, faults,
+                Long.parseLong(options.getOrDefault("page-token-delay-ms", "0")));
+        HttpServer server = stub.start(port, Integer.parseInt(options.getOrDefault("threads", "64")));
+        System.out.printf("Places stub listening on http://localhost:%d%s%n", server.getAddress().getPort(), BASE_PATH);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println("Requests served: " + stub.requestCounts);
+            server.stop(0);
+        }));
+    }
+
+    public HttpServer start(int port, int threads) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newFixedThreadPool(threads));
+        route(server, "/textsearch/json", this::textSearch);
+        route(server, "/nearbysearch/json", this::nearbySearch);
+        route(server, "/details/json", this::details);
+        route(server, "/autocomplete/json", this::autocomplete);
+        requestCounts.put("/photo", new AtomicLong());
+        server.createContext(BASE_PATH + "/photo", exchange -> handle(exchange, "/photo", query -> null));
+        server.start();
+        return server;
+    }
+
+    private void route(HttpServer server, String path, Endpoint endpoint) {
+        requestCounts.put(path, new AtomicLong());
+        server.createContext(BASE_PATH + path, exchange -> handle(exchange, path, endpoint));
+    }
+
+    private void handle(HttpExchange exchange, String name, Endpoint endpoint) throws IOException {
+        try (exchange) {
+            requestCounts.get(name).incrementAndGet();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+            FaultInjector.Fault fault = faults.nextFault();
+            try {
+                faults.delay(fault);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (fault == FaultInjector.Fault.SERVER_ERROR) {
+                send(exchange, 500, "text/plain", "Injected server error".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            if (fault == FaultInjector.Fault.OVER_QUERY_LIMIT) {
+                sendJson(exchange, status("OVER_QUERY_LIMIT", "You have exceeded your rate-limit for this API."));
+                return;
+            }
+            if (name.equals("/photo")) {
+                send(exchange, 200, "image/png", PHOTO);
+                return;
+            }
+            sendJson(exchange, endpoint.handle(query));
+        }
+    }
+
+    private Map<String, Object> textSearch(Map<String, String> query) {
+        String[] location = query.getOrDefault("location", "").split(",");
+        Double lat = location.length == 2 ? parseDouble(location[0]) : null;
+        Double lng = location.length == 2 ? parseDouble(location[1]) : null;
+        return page(query.getOrDefault("query", "restaurants"), lat, lng, parseDouble(query.get("radius")), 0);
+    }
+
+    private Map<String, Object> nearbySearch(Map<String, String> query) {
+        String token = query.get("pagetoken");
+        if (token == null || token.isEmpty()) {
+            String[] location = query.getOrDefault("location", "").split(",");
+            if (location.length != 2) {
+                return status("INVALID_REQUEST", "location is required");
+            }
+            return page(query.getOrDefault("keyword", ""), parseDouble(location[0]), parseDouble(location[1]),
+                    parseDouble(query.getOrDefault("radius", "5000")), 0);
+        }
+
+        String[] state;
+        try {
+            state = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            return status("INVALID_REQUEST", "Invalid page token");
+        }
+        if (state.length != 6) {
+            return status("INVALID_REQUEST", "Invalid page token");
+        }
+        // Like Google, a token is only usable a moment after it was issued
+        if (System.currentTimeMillis() - Long.parseLong(state[5]) < pageTokenDelayMillis) {
+            return status("INVALID_REQUEST", null);
+        }
+        return page(state[0], parseDouble(state[1]), parseDouble(state[2]), parseDouble(state[3]), Integer.parseInt(state[4]));
+    }
+
+    private Map<String, Object> page(String text, Double lat, Double lng, Double radius, int offset) {
+        List<SyntheticPlaces.Place> matches = places.search(text, lat, lng, radius);
+        int total = Math.min(matches.size(), MAX_RESULTS);
+        if (total == 0) {
+            return status("ZERO_RESULTS", null);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("results", matches.subList(Math.min(offset, total), Math.min(offset + PAGE_SIZE, total)).stream()
+                .map(SyntheticPlaces.Place::toSearchResult)
+                .toList());
+        if (offset + PAGE_SIZE < total) {
+            String state = String.join("|", text, String.valueOf(lat), String.valueOf(lng), String.valueOf(radius),
+                    String.valueOf(offset + PAGE_SIZE), String.valueOf(System.currentTimeMillis()));
+            response.put("next_page_token",
+                    Base64.getUrlEncoder().withoutPadding().encodeToString(state.getBytes(StandardCharsets.UTF_8)));
+        }
+        response.put("status", "OK");
+        return response;
+    }
+
+    private Map<String, Object> details(Map<String, String> query) {
+        String placeId = query.get("place_id");
+        if (placeId == null || placeId.isEmpty()) {
+            return status("INVALID_REQUEST", "place_id is required");
+        }
+        SyntheticPlaces.Place place = places.get(placeId);
+        if (place == null) {
+            return status("NOT_FOUND", null);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("result", place.toDetails());
+        response.put("status", "OK");
+        return response;
+    }
+
+    private Map<String, Object> autocomplete(Map<String, String> query) {
+        List<SyntheticPlaces.Place> matches = places.autocomplete(query.get("input"), 5);
+        if (matches.isEmpty()) {
+            return status("ZERO_RESULTS", null);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("predictions", matches.stream().map(place -> {
+            String secondary = place.address().substring(place.address().indexOf(',') + 2);
+            Map<String, Object> prediction = new LinkedHashMap<>();
+            prediction.put("description", place.name() + ", " + secondary);
+            prediction.put("place_id", place.id());
+            prediction.put("structured_formatting", Map.of("main_text", place.name(), "secondary_text", secondary));
+            prediction.put("types", List.of("restaurant", "food", "establishment"));
+            return prediction;
+        }).toList());
+        response.put("status", "OK");
+        return response;
+    }
+
+    private static Map<String, Object> status(String status, String errorMessage) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("results", List.of());
+        response.put("status", status);
+        if (errorMessage != null) {
+            response.put("error_message", errorMessage);
+        }
+        return response;
+    }
+
+    private void sendJson(HttpExchange exchange, Map<String, Object> body) throws IOException {
+        send(exchange, 200, "application/json; charset=UTF-8", objectMapper.writeValueAsBytes(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return value == null || value.isEmpty() || value.equals("null") ? null : Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("""
+                        Usage: PlacesStubServer [--port 8089] [--places 2000] [--seed 42] [--threads 64]
+                          [--latency lognormal:80,0.5 | fixed:MS | uniform:MIN-MAX | normal:MEAN,STDDEV | none]
+                          [--error-rate 0.01] [--quota-rate 0.005] [--qps-limit 100]
+                          [--hang-rate 0.001] [--hang-ms 30000] [--page-token-delay-ms 2000]""");
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        Map<String, Object> handle(Map<String, String> query);
+    }
+}
@@ -0,0 +1,189 @@
+package com.foodcritic.loadtest.places;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A deterministic catalog of fake San Diego restaurants. The same seed and
+ * size always produce the same places, ids, coordinates and hours, so runs
+ * against the stub are repeatable.
+ */
+public class SyntheticPlaces {
+
+    private static final String[] CUISINES = {
+            "mexican", "italian", "japanese", "chinese", "thai", "indian", "american",
+            "mediterranean", "korean", "vietnamese", "french", "seafood", "pizza", "vegan"
+    };
+    private static final String[] ADJECTIVES = {
+            "Golden", "Little", "Blue", "Sunny", "Harbor", "Old Town", "Coastal", "Urban",
+            "Rustic", "Lucky", "Salty", "Green", "Midnight", "Happy", "Corner"
+    };
+    private static final String[] NOUNS = {
+            "Kitchen", "Table", "Cantina", "Bistro", "House", "Grill", "Garden", "Diner",
+            "Noodle Bar", "Taqueria", "Trattoria", "Cafe", "Eatery", "Spot"
+    };
+    private static final String[] NEIGHBORHOODS = {
+            "Downtown", "La Jolla", "Gaslamp", "Mission Beach", "Pacific Beach", "Hillcrest",
+            "North Park", "South Park", "Mission Valley", "Little Italy", "Coronado", "Del Mar"
+    };
+    private static final String[] STREETS = {
+            "Main St", "University Ave", "Broadway", "India St", "Garnet Ave", "Prospect St",
+            "30th St", "Fifth Ave", "Orange Ave", "Camino del Rio"
+    };
+
+    private final List<Place> places = new ArrayList<>();
+    private final Map<String, Place> byId = new LinkedHashMap<>();
+
+    public SyntheticPlaces(int count, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < count; i++) {
+            String cuisine = CUISINES[random.nextInt(CUISINES.length)];
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + capitalize(cuisine) + " " + NOUNS[random.nextInt(NOUNS.length)];
+            String neighborhood = NEIGHBORHOODS[random.nextInt(NEIGHBORHOODS.length)];
+            String address = (100 + random.nextInt(9800)) + " " + STREETS[random.nextInt(STREETS.length)]
+                    + ", " + neighborhood + ", San Diego, CA 92" + (101 + random.nextInt(80));
+            // Inside the bounds the backend treats as San Diego
+            double lat = 32.65 + random.nextDouble() * 0.35;
+            double lng = -117.28 + random.nextDouble() * 0.25;
+            Place place = new Place(String.format("stub_%06d", i), name, cuisine, address, lat, lng,
+                    Math.round((3.0 + random.nextDouble() * 2.0) * 10) / 10.0,
+                    10 + random.nextInt(2000), 1 + random.nextInt(4),
+                    String.format("(619) 555-%04d", random.nextInt(10000)),
+                    1 + random.nextInt(3), openingPeriods(random));
+            places.add(place);
+            byId.put(place.id(), place);
+        }
+    }
+
+    public Place get(String placeId) {
+        return byId.get(placeId);
+    }
+
+    /** Places whose name or cuisine contains every word of the query, nearest first when a location is given. */
+    public List<Place> search(String query, Double lat, Double lng, Double radiusMeters) {
+        String[] words = query == null ? new String[0] : query.toLowerCase(Locale.ROOT).split("\\s+");
+        List<Place> matches = new ArrayList<>();
+        for (Place place : places) {
+            if (matchesAll(place, words) && withinRadius(place, lat, lng, radiusMeters)) {
+                matches.add(place);
+            }
+        }
+        if (lat != null && lng != null) {
+            matches.sort(Comparator.comparingDouble(place -> distanceMeters(lat, lng, place.lat(), place.lng())));
+        }
+        return matches;
+    }
+
+    public List<Place> autocomplete(String input, int limit) {
+        String prefix = input == null ? "" : input.toLowerCase(Locale.ROOT).trim();
+        List<Place> matches = new ArrayList<>();
+        for (Place place : places) {
+            if (matches.size() == limit) {
+                break;
+            }
+            if (place.name().toLowerCase(Locale.ROOT).contains(prefix)) {
+                matches.add(place);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matchesAll(Place place, String[] words) {
+        String haystack = (place.name() + " " + place.cuisine() + " restaurant restaurants food").toLowerCase(Locale.ROOT);
+        for (String word : words) {
+            if (!word.isEmpty() && !haystack.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean withinRadius(Place place, Double lat, Double lng, Double radiusMeters) {
+        return lat == null || lng == null || radiusMeters == null
+                || distanceMeters(lat, lng, place.lat(), place.lng()) <= radiusMeters;
+    }
+
+    static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 6_371_000 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    // Google's periods: day 0 = Sunday, time "HHmm"; some places close on Mondays or run past midnight
+    private static List<int[]> openingPeriods(Random random) {
+        List<int[]> periods = new ArrayList<>();
+        int open = 1000 + 100 * random.nextInt(2);
+        int close = random.nextInt(4) == 0 ? 100 : 2100 + 100 * random.nextInt(2);
+        boolean closedMonday = random.nextInt(5) == 0;
+        for (int day = 0; day < 7; day++) {
+            if (day == 1 && closedMonday) {
+                continue;
+            }
+            periods.add(new int[]{day, open, close < open ? (day + 1) % 7 : day, close});
+        }
+        return periods;
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    public record Place(String id, String name, String cuisine, String address, double lat, double lng,
+                        double rating, int userRatingsTotal, int priceLevel, String phone, int photoCount,
+                        List<int[]> periods) {
+
+        public Map<String, Object> toSearchResult() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("place_id", id);
+            result.put("name", name);
+            result.put("types", List.of(cuisine + "_restaurant", "restaurant", "food", "point_of_interest", "establishment"));
+            result.put("rating", rating);
+            result.put("user_ratings_total", userRatingsTotal);
+            result.put("price_level", priceLevel);
+            result.put("vicinity", address.substring(0, address.indexOf(',')));
+            result.put("formatted_address", address);
+            result.put("geometry", Map.of("location", Map.of("lat", lat, "lng", lng)));
+            result.put("photos", photos());
+            result.put("opening_hours", Map.of("open_now", true));
+            return result;
+        }
+
+        public Map<String, Object> toDetails() {
+            Map<String, Object> result = toSearchResult();
+            result.remove("vicinity");
+            result.put("formatted_phone_number", phone);
+            result.put("website", "https://example.com/" + id);
+            List<Map<String, Object>> googlePeriods = new ArrayList<>();
+            for (int[] period : periods) {
+                googlePeriods.add(Map.of(
+                        "open", Map.of("day", period[0], "time", String.format("%04d", period[1])),
+                        "close", Map.of("day", period[2], "time", String.format("%04d", period[3]))));
+            }
+            result.put("opening_hours", Map.of("open_now", true, "periods", googlePeriods, "weekday_text", List.of()));
+            result.put("reviews", List.of(Map.of(
+                    "author_name", "Stub Reviewer",
+                    "rating", (int) Math.round(rating),
+                    "relative_time_description", "a week ago",
+                    "text", "Synthetic review for " + name + ".",
+                    "time", 1_700_000_000L)));
+            return result;
+        }
+
+        private List<Map<String, Object>> photos() {
+            List<Map<String, Object>> photos = new ArrayList<>();
+            for (int i = 0; i < photoCount; i++) {
+                photos.add(Map.of("photo_reference", id + "_photo_" + i, "height", 600, "width", 800,
+                        "html_attributions", List.of()));
+            }
+            return photos;
+        }
+    }
+}